@@ -14,10 +14,16 @@
 
 package com.therepanic.funpay4j.client;
 
+import java.io.IOException;
+
+import org.jspecify.annotations.Nullable;
+
 import com.therepanic.funpay4j.exceptions.FunPayApiException;
 import com.therepanic.funpay4j.exceptions.InvalidCsrfTokenOrPHPSESSIDException;
 import com.therepanic.funpay4j.exceptions.InvalidGoldenKeyException;
 import com.therepanic.funpay4j.exceptions.offer.OfferAlreadyRaisedException;
+import com.therepanic.funpay4j.request.ImageSource;
+import com.therepanic.funpay4j.request.OfferTemplate;
 import com.therepanic.funpay4j.request.SaveOfferRequest;
 
 /**
@@ -38,6 +44,22 @@ public interface FunPayClient {
     void updateAvatar(String goldenKey, byte[] newAvatar)
             throws FunPayApiException, InvalidGoldenKeyException;
 
+    /**
+     * Send a request to update avatar streaming it from the source
+     *
+     * <p>The default implementation reads the whole source on heap
+     *
+     * @param goldenKey golden key which will be used to authorize the user
+     * @param newAvatar source of the avatar to be updated
+     * @throws FunPayApiException if the other api-related exception or the source can not be read
+     * @throws InvalidGoldenKeyException if the golden key is invalid
+     * @since 1.0.7
+     */
+    default void updateAvatar(String goldenKey, ImageSource newAvatar)
+            throws FunPayApiException, InvalidGoldenKeyException {
+        updateAvatar(goldenKey, readImage(newAvatar));
+    }
+
     /**
      * Send a request to raise all offers
      *
@@ -67,6 +89,41 @@ public interface FunPayClient {
             throws FunPayApiException, InvalidGoldenKeyException,
                     InvalidCsrfTokenOrPHPSESSIDException;
 
+    /**
+     * Send a request to save offer using its pre-encoded template
+     *
+     * <p>The default implementation encodes the whole offer again
+     *
+     * @param goldenKey golden key which will be used to authorize the user
+     * @param csrfToken csrf token which is required to save offer
+     * @param phpSessionId php session id which is required to save offer
+     * @param template template of the offer to be saved
+     * @param price new price of the offer, null to keep the price of the template
+     * @param amount new amount of the offer, null to keep the amount of the template
+     * @throws FunPayApiException if the other api-related exception
+     * @throws InvalidGoldenKeyException if the golden key is invalid
+     * @throws InvalidCsrfTokenOrPHPSESSIDException if the csrf token or php session id is invalid
+     * @since 1.0.7
+     */
+    default void saveOffer(
+            String goldenKey,
+            String csrfToken,
+            String phpSessionId,
+            OfferTemplate template,
+            @Nullable Double price,
+            @Nullable Integer amount)
+            throws FunPayApiException, InvalidGoldenKeyException,
+                    InvalidCsrfTokenOrPHPSESSIDException {
+        SaveOfferRequest.SaveOfferRequestBuilder request = template.getRequest().toBuilder();
+        if (price != null) {
+            request.price(price);
+        }
+        if (amount != null) {
+            request.amount(amount);
+        }
+        saveOffer(goldenKey, csrfToken, phpSessionId, request.build());
+    }
+
     /**
      * Send a request to add offer image
      *
@@ -78,4 +135,37 @@ public interface FunPayClient {
      */
     Long addOfferImage(String goldenKey, byte[] image)
             throws FunPayApiException, InvalidGoldenKeyException;
+
+    /**
+     * Send a request to add offer image streaming it from the source
+     *
+     * <p>The default implementation reads the whole source on heap
+     *
+     * @param goldenKey golden key which will be used to authorize the user
+     * @param image source of the image
+     * @return imageId
+     * @throws FunPayApiException if the other api-related exception or the source can not be read
+     * @throws InvalidGoldenKeyException if the golden key is invalid
+     * @since 1.0.7
+     */
+    default Long addOfferImage(String goldenKey, ImageSource image)
+            throws FunPayApiException, InvalidGoldenKeyException {
+        return addOfferImage(goldenKey, readImage(image));
+    }
+
+    /**
+     * Read the whole image source on heap
+     *
+     * @param image source of the image
+     * @return image bytes
+     * @throws FunPayApiException if the source can not be read
+     * @since 1.0.7
+     */
+    static byte[] readImage(ImageSource image) throws FunPayApiException {
+        try {
+            return image.toByteArray();
+        } catch (IOException e) {
+            throw new FunPayApiException(e.getLocalizedMessage());
+        }
+    }
 }
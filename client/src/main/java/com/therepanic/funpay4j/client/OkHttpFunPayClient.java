@@ -15,21 +15,32 @@
 package com.therepanic.funpay4j.client;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import okhttp3.MediaType;
 import okhttp3.MultipartBody;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
 
+import okio.BufferedSink;
+
+import org.jspecify.annotations.Nullable;
+
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.therepanic.funpay4j.exceptions.FunPayApiException;
 import com.therepanic.funpay4j.exceptions.InvalidCsrfTokenOrPHPSESSIDException;
 import com.therepanic.funpay4j.exceptions.InvalidGoldenKeyException;
 import com.therepanic.funpay4j.exceptions.offer.OfferAlreadyRaisedException;
+import com.therepanic.funpay4j.request.ImageSource;
+import com.therepanic.funpay4j.request.OfferTemplate;
 import com.therepanic.funpay4j.request.SaveOfferRequest;
 
 /**
@@ -39,6 +50,11 @@ import com.therepanic.funpay4j.request.SaveOfferRequest;
  * @since 1.0.3
  */
 public class OkHttpFunPayClient implements FunPayClient {
+    private static final Pattern RAISE_WAIT_TIME_PATTERN =
+            Pattern.compile(
+                    "Подождите\\s+(\\d+)?\\s*(сек|мин|час)",
+                    Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+
     private final OkHttpClient httpClient;
 
     private final String baseURL;
@@ -58,10 +74,17 @@ public class OkHttpFunPayClient implements FunPayClient {
     @Override
     public void updateAvatar(String goldenKey, byte[] newAvatar)
             throws FunPayApiException, InvalidGoldenKeyException {
+        updateAvatar(goldenKey, ImageSource.of(newAvatar));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void updateAvatar(String goldenKey, ImageSource newAvatar)
+            throws FunPayApiException, InvalidGoldenKeyException {
         RequestBody requestBody =
                 new MultipartBody.Builder()
                         .setType(MultipartBody.FORM)
-                        .addFormDataPart("file", "image.jpg", RequestBody.create(newAvatar))
+                        .addFormDataPart("file", "image.jpg", toRequestBody(newAvatar))
                         .build();
 
         try (Response response =
@@ -107,12 +130,14 @@ public class OkHttpFunPayClient implements FunPayClient {
                 throw new InvalidGoldenKeyException("goldenKey is invalid");
             }
 
-            if (JsonParser.parseString(response.body().string())
-                    .getAsJsonObject()
-                    .get("msg")
-                    .getAsString()
-                    .startsWith("Подождите")) {
-                throw new OfferAlreadyRaisedException("Offer already raised");
+            String msg =
+                    JsonParser.parseString(response.body().string())
+                            .getAsJsonObject()
+                            .get("msg")
+                            .getAsString();
+
+            if (msg.startsWith("Подождите")) {
+                throw new OfferAlreadyRaisedException("Offer already raised", parseWaitTime(msg));
             }
         } catch (IOException e) {
             throw new FunPayApiException(e.getLocalizedMessage());
@@ -195,11 +220,50 @@ public class OkHttpFunPayClient implements FunPayClient {
             }
         }
 
+        saveOffer(goldenKey, phpSessionId, multipartBody.build());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void saveOffer(
+            String goldenKey,
+            String csrfToken,
+            String phpSessionId,
+            OfferTemplate template,
+            @Nullable Double price,
+            @Nullable Integer amount)
+            throws FunPayApiException, InvalidGoldenKeyException {
+        OfferTemplate.Form form =
+                template.fill(csrfToken, price, amount, System.currentTimeMillis());
+
+        saveOffer(
+                goldenKey,
+                phpSessionId,
+                new RequestBody() {
+                    @Override
+                    public MediaType contentType() {
+                        return MediaType.get(form.contentType());
+                    }
+
+                    @Override
+                    public long contentLength() {
+                        return form.contentLength();
+                    }
+
+                    @Override
+                    public void writeTo(BufferedSink sink) throws IOException {
+                        form.writeTo(sink.outputStream());
+                    }
+                });
+    }
+
+    private void saveOffer(String goldenKey, String phpSessionId, RequestBody requestBody)
+            throws FunPayApiException, InvalidGoldenKeyException {
         try (Response response =
                 httpClient
                         .newCall(
                                 new Request.Builder()
-                                        .post(multipartBody.build())
+                                        .post(requestBody)
                                         .url(baseURL + "/lots/offerSave")
                                         .addHeader(
                                                 "Cookie",
@@ -247,10 +311,17 @@ public class OkHttpFunPayClient implements FunPayClient {
     @Override
     public Long addOfferImage(String goldenKey, byte[] image)
             throws FunPayApiException, InvalidGoldenKeyException {
+        return addOfferImage(goldenKey, ImageSource.of(image));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Long addOfferImage(String goldenKey, ImageSource image)
+            throws FunPayApiException, InvalidGoldenKeyException {
         RequestBody requestBody =
                 new MultipartBody.Builder()
                         .setType(MultipartBody.FORM)
-                        .addFormDataPart("file", "image.jpg", RequestBody.create(image))
+                        .addFormDataPart("file", "image.jpg", toRequestBody(image))
                         .build();
 
         try (Response response =
@@ -275,4 +346,47 @@ public class OkHttpFunPayClient implements FunPayClient {
             throw new FunPayApiException(e.getLocalizedMessage());
         }
     }
+
+    private static RequestBody toRequestBody(ImageSource image) {
+        return new RequestBody() {
+            @Override
+            public @Nullable MediaType contentType() {
+                return null;
+            }
+
+            @Override
+            public long contentLength() throws IOException {
+                return image.contentLength();
+            }
+
+            @Override
+            public boolean isOneShot() {
+                return !image.isRepeatable();
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                image.transferTo(sink);
+            }
+        };
+    }
+
+    private static @Nullable Duration parseWaitTime(String msg) {
+        Matcher matcher = RAISE_WAIT_TIME_PATTERN.matcher(msg);
+
+        if (!matcher.find()) {
+            return null;
+        }
+
+        long amount = matcher.group(1) == null ? 1 : Long.parseLong(matcher.group(1));
+
+        switch (matcher.group(2).toLowerCase(Locale.ROOT)) {
+            case "сек":
+                return Duration.ofSeconds(amount);
+            case "мин":
+                return Duration.ofMinutes(amount);
+            default:
+                return Duration.ofHours(amount);
+        }
+    }
 }
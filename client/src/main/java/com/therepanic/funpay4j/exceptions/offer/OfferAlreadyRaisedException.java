@@ -14,6 +14,10 @@
 
 package com.therepanic.funpay4j.exceptions.offer;
 
+import java.time.Duration;
+
+import org.jspecify.annotations.Nullable;
+
 /**
  * Base class for exception related to the fact that the offer already raised
  *
@@ -21,12 +25,36 @@ package com.therepanic.funpay4j.exceptions.offer;
  * @since 1.0.3
  */
 public class OfferAlreadyRaisedException extends RuntimeException {
+    private final @Nullable Duration waitTime;
+
     /**
      * Initializes a new OfferAlreadyRaisedException exception
      *
      * @param message exception message
      */
     public OfferAlreadyRaisedException(String message) {
+        this(message, null);
+    }
+
+    /**
+     * Initializes a new OfferAlreadyRaisedException exception
+     *
+     * @param message exception message
+     * @param waitTime time remaining until the offers can be raised again, can be null
+     * @since 1.0.7
+     */
+    public OfferAlreadyRaisedException(String message, @Nullable Duration waitTime) {
         super(message);
+        this.waitTime = waitTime;
+    }
+
+    /**
+     * Get the time remaining until the offers can be raised again
+     *
+     * @return wait time, null if FunPay did not report it
+     * @since 1.0.7
+     */
+    public @Nullable Duration getWaitTime() {
+        return waitTime;
     }
 }
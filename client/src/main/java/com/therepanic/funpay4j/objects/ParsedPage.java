@@ -0,0 +1,36 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.objects;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * This object represents a single parsed page of a paginated FunPay list
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+@Data
+@AllArgsConstructor
+public class ParsedPage<T> {
+    private List<T> items;
+
+    @Nullable private String continueArg;
+}
@@ -15,6 +15,7 @@
 package com.therepanic.funpay4j.parser;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.jspecify.annotations.Nullable;
 
@@ -25,6 +26,7 @@ import com.therepanic.funpay4j.exceptions.offer.OfferNotFoundException;
 import com.therepanic.funpay4j.exceptions.order.OrderNotFoundException;
 import com.therepanic.funpay4j.exceptions.user.UserNotFoundException;
 import com.therepanic.funpay4j.objects.CsrfTokenAndPHPSESSID;
+import com.therepanic.funpay4j.objects.ParsedPage;
 import com.therepanic.funpay4j.objects.game.ParsedPromoGame;
 import com.therepanic.funpay4j.objects.lot.ParsedLot;
 import com.therepanic.funpay4j.objects.offer.ParsedOffer;
@@ -177,6 +179,122 @@ public interface FunPayParser {
     List<ParsedTransaction> parseTransactions(String goldenKey, long userId, int pages)
             throws FunPayApiException, UserNotFoundException, InvalidGoldenKeyException;
 
+    /**
+     * Parse seller reviews passing each review to the visitor instead of collecting them
+     *
+     * @param userId user id by which seller reviews pages will be parsed
+     * @param pages number of pages indicating how many seller reviews will be parsed
+     * @param starsFilter number of stars by which the reviews will be parsed, can be null
+     * @param visitor visitor which will receive the seller reviews
+     * @throws FunPayApiException if the other api-related exception
+     * @throws UserNotFoundException if the user with id does not found/seller
+     */
+    void parseSellerReviews(
+            long userId, int pages, @Nullable Integer starsFilter, SellerReviewVisitor visitor)
+            throws FunPayApiException, UserNotFoundException;
+
+    /**
+     * Parse seller reviews authorized passing each review to the visitor instead of collecting
+     * them
+     *
+     * @param goldenKey golden key which will be used to authorize the user
+     * @param userId user id by which seller reviews pages will be parsed
+     * @param pages number of pages indicating how many seller reviews will be parsed
+     * @param starsFilter number of stars by which the reviews will be parsed, can be null
+     * @param visitor visitor which will receive the seller reviews
+     * @throws FunPayApiException if the other api-related exception
+     * @throws UserNotFoundException if the user with id does not found/seller
+     */
+    void parseSellerReviews(
+            String goldenKey,
+            long userId,
+            int pages,
+            @Nullable Integer starsFilter,
+            SellerReviewVisitor visitor)
+            throws FunPayApiException, UserNotFoundException;
+
+    /**
+     * Parse transactions authorized passing each transaction to the visitor instead of collecting
+     * them
+     *
+     * @param goldenKey golden key which will be used to authorize the user
+     * @param userId user id by which transactions pages will be parsed
+     * @param type type of transaction will be parsed, can be null
+     * @param pages number of pages indicating how many transactions will be parsed
+     * @param visitor visitor which will receive the transactions
+     * @throws FunPayApiException if the other api-related exception
+     * @throws UserNotFoundException if the user with id does not found/seller
+     * @throws InvalidGoldenKeyException if the golden key is incorrect
+     */
+    void parseTransactions(
+            String goldenKey,
+            long userId,
+            @Nullable ParsedTransactionType type,
+            int pages,
+            TransactionVisitor visitor)
+            throws FunPayApiException, UserNotFoundException, InvalidGoldenKeyException;
+
+    /**
+     * Parse lot asynchronously
+     *
+     * <p>Cancelling the returned future aborts the in-flight request
+     *
+     * @param lotId lot id by which lot will be parsed
+     * @return future completed with lot or exceptionally with {@link FunPayApiException}/{@link
+     *     LotNotFoundException}
+     */
+    CompletableFuture<ParsedLot> parseLotAsync(long lotId);
+
+    /**
+     * Parse a single page of seller reviews asynchronously
+     *
+     * <p>Cancelling the returned future aborts the in-flight request
+     *
+     * @param userId user id by which seller reviews page will be parsed
+     * @param starsFilter number of stars by which the reviews will be parsed, can be null
+     * @param continueArg continue token of the page, null for the first page
+     * @return future completed with seller reviews page or exceptionally with {@link
+     *     FunPayApiException}/{@link UserNotFoundException}
+     */
+    CompletableFuture<ParsedPage<ParsedSellerReview>> parseSellerReviewsPageAsync(
+            long userId, @Nullable Integer starsFilter, @Nullable String continueArg);
+
+    /**
+     * Parse a single page of seller reviews asynchronously authorized
+     *
+     * <p>Cancelling the returned future aborts the in-flight request
+     *
+     * @param goldenKey golden key which will be used to authorize the user
+     * @param userId user id by which seller reviews page will be parsed
+     * @param starsFilter number of stars by which the reviews will be parsed, can be null
+     * @param continueArg continue token of the page, null for the first page
+     * @return future completed with seller reviews page or exceptionally with {@link
+     *     FunPayApiException}/{@link UserNotFoundException}
+     */
+    CompletableFuture<ParsedPage<ParsedSellerReview>> parseSellerReviewsPageAsync(
+            String goldenKey,
+            long userId,
+            @Nullable Integer starsFilter,
+            @Nullable String continueArg);
+
+    /**
+     * Parse a single page of transactions asynchronously authorized
+     *
+     * <p>Cancelling the returned future aborts the in-flight request
+     *
+     * @param goldenKey golden key which will be used to authorize the user
+     * @param userId user id by which transactions page will be parsed
+     * @param type type of transaction will be parsed, can be null
+     * @param continueArg continue token of the page, null for the first page
+     * @return future completed with transactions page or exceptionally with {@link
+     *     FunPayApiException}/{@link UserNotFoundException}/{@link InvalidGoldenKeyException}
+     */
+    CompletableFuture<ParsedPage<ParsedTransaction>> parseTransactionsPageAsync(
+            String goldenKey,
+            long userId,
+            @Nullable ParsedTransactionType type,
+            @Nullable String continueArg);
+
     /**
      * Parse order authorized
      *
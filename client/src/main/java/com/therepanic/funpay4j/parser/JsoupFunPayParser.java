@@ -22,7 +22,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.MultipartBody;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -43,6 +46,7 @@ import com.therepanic.funpay4j.exceptions.offer.OfferNotFoundException;
 import com.therepanic.funpay4j.exceptions.order.OrderNotFoundException;
 import com.therepanic.funpay4j.exceptions.user.UserNotFoundException;
 import com.therepanic.funpay4j.objects.CsrfTokenAndPHPSESSID;
+import com.therepanic.funpay4j.objects.ParsedPage;
 import com.therepanic.funpay4j.objects.game.ParsedPromoGame;
 import com.therepanic.funpay4j.objects.game.ParsedPromoGameCounter;
 import com.therepanic.funpay4j.objects.lot.ParsedLot;
@@ -85,149 +89,155 @@ public class JsoupFunPayParser implements FunPayParser {
     /** {@inheritDoc} */
     @Override
     public ParsedLot parseLot(long lotId) throws FunPayApiException, LotNotFoundException {
-        try (Response funPayHtmlResponse =
-                httpClient
-                        .newCall(
-                                new Request.Builder()
-                                        .get()
-                                        .url(baseURL + "/lots/" + lotId + "/")
-                                        .build())
-                        .execute()) {
-            String funPayHtmlPageBody = funPayHtmlResponse.body().string();
+        try (Response funPayHtmlResponse = httpClient.newCall(createLotRequest(lotId)).execute()) {
+            return extractLot(lotId, funPayHtmlResponse);
+        } catch (IOException e) {
+            throw new FunPayApiException(e.getLocalizedMessage());
+        }
+    }
 
-            Document funPayDocument = Jsoup.parse(funPayHtmlPageBody);
+    /** {@inheritDoc} */
+    @Override
+    public CompletableFuture<ParsedLot> parseLotAsync(long lotId) {
+        return enqueue(createLotRequest(lotId), response -> extractLot(lotId, response));
+    }
 
-            if (isNonExistentFunPayPage(funPayDocument)) {
-                throw new LotNotFoundException("Lot with lotId " + lotId + " does not found");
-            }
+    private Request createLotRequest(long lotId) {
+        return new Request.Builder().get().url(baseURL + "/lots/" + lotId + "/").build();
+    }
 
-            // take the second element, since we don't need a container from the element with the
-            // page-content-full class
-            // is named contentBodyContainer because it is the container on top of the content-body
-            Element funPayContentBodyContainerElement =
-                    funPayDocument
-                            .getElementById("content-body")
-                            .getElementsByClass("container")
-                            .get(1);
-            Element funPayContentWithCdElement =
-                    funPayDocument.getElementsByClass("content-with-cd").first();
-
-            String title = funPayContentWithCdElement.selectFirst("h1").text();
-            String description = funPayContentWithCdElement.selectFirst("p").text();
-            long gameId =
-                    Long.parseLong(
-                            funPayContentBodyContainerElement
-                                    .getElementsByClass("content-with-cd-wide showcase")
-                                    .attr("data-game"));
-            List<ParsedLotCounter> lotCounters = new ArrayList<>();
-            List<ParsedPreviewOffer> previewOffers = new ArrayList<>();
+    private ParsedLot extractLot(long lotId, Response funPayHtmlResponse) throws IOException {
+        String funPayHtmlPageBody = funPayHtmlResponse.body().string();
 
-            List<Element> funPayCountersElements =
-                    funPayDocument.getElementsByClass("counter-list").first().select("a");
+        Document funPayDocument = Jsoup.parse(funPayHtmlPageBody);
 
-            for (Element counterItem : funPayCountersElements) {
-                String counterHrefAttributeValue = counterItem.attr("href");
+        if (isNonExistentFunPayPage(funPayDocument)) {
+            throw new LotNotFoundException("Lot with lotId " + lotId + " does not found");
+        }
 
-                // skip chips, as they are not supported yet
-                if (counterHrefAttributeValue.contains("chips")) continue;
+        // take the second element, since we don't need a container from the element with the
+        // page-content-full class
+        // is named contentBodyContainer because it is the container on top of the content-body
+        Element funPayContentBodyContainerElement =
+                funPayDocument
+                        .getElementById("content-body")
+                        .getElementsByClass("container")
+                        .get(1);
+        Element funPayContentWithCdElement =
+                funPayDocument.getElementsByClass("content-with-cd").first();
+
+        String title = funPayContentWithCdElement.selectFirst("h1").text();
+        String description = funPayContentWithCdElement.selectFirst("p").text();
+        long gameId =
+                Long.parseLong(
+                        funPayContentBodyContainerElement
+                                .getElementsByClass("content-with-cd-wide showcase")
+                                .attr("data-game"));
+        List<ParsedLotCounter> lotCounters = new ArrayList<>();
+        List<ParsedPreviewOffer> previewOffers = new ArrayList<>();
 
-                long counterLotId =
-                        Integer.parseInt(
-                                counterHrefAttributeValue.substring(
-                                        24, counterHrefAttributeValue.length() - 1));
+        List<Element> funPayCountersElements =
+                funPayDocument.getElementsByClass("counter-list").first().select("a");
 
-                if (lotId == counterLotId) {
-                    continue;
-                }
+        for (Element counterItem : funPayCountersElements) {
+            String counterHrefAttributeValue = counterItem.attr("href");
 
-                String counterParam = counterItem.getElementsByClass("counter-param").text();
-                int counterValue =
-                        Integer.parseInt(counterItem.getElementsByClass("counter-value").text());
+            // skip chips, as they are not supported yet
+            if (counterHrefAttributeValue.contains("chips")) continue;
 
-                lotCounters.add(
-                        ParsedLotCounter.builder()
-                                .lotId(counterLotId)
-                                .param(counterParam)
-                                .counter(counterValue)
-                                .build());
+            long counterLotId =
+                    Integer.parseInt(
+                            counterHrefAttributeValue.substring(
+                                    24, counterHrefAttributeValue.length() - 1));
+
+            if (lotId == counterLotId) {
+                continue;
             }
 
-            List<Element> funPayPreviewOffersElements =
-                    funPayContentBodyContainerElement.getElementsByClass("tc").first().select("a");
+            String counterParam = counterItem.getElementsByClass("counter-param").text();
+            int counterValue =
+                    Integer.parseInt(counterItem.getElementsByClass("counter-value").text());
 
-            for (Element previewOffer : funPayPreviewOffersElements) {
-                String previewOfferHrefAttributeValue = previewOffer.attr("href");
-                String previewOfferSellerStyleAttributeValue =
-                        previewOffer.getElementsByClass("avatar-photo").attr("style");
+            lotCounters.add(
+                    ParsedLotCounter.builder()
+                            .lotId(counterLotId)
+                            .param(counterParam)
+                            .counter(counterValue)
+                            .build());
+        }
 
-                long offerId = Long.parseLong(previewOfferHrefAttributeValue.substring(33));
-                String previewOfferShortDescription =
-                        previewOffer.getElementsByClass("tc-desc-text").text();
-                double previewOfferPrice =
-                        Double.parseDouble(
-                                previewOffer.getElementsByClass("tc-price").attr("data-s"));
-                boolean isHasPreviewOfferAutoDelivery =
-                        previewOffer.getElementsByClass("auto-dlv-icon").first() != null;
-                boolean isHasPreviewOfferPromo =
-                        previewOffer.getElementsByClass("promo-offer-icon").first() != null;
-
-                String previewSellerDataHrefAttributeValue =
-                        previewOffer.getElementsByClass("avatar-photo").attr("data-href");
-                Element previewSellerReviewCountElement =
-                        previewOffer.getElementsByClass("rating-mini-count").first();
-
-                long previewSellerUserId =
-                        Long.parseLong(
-                                previewSellerDataHrefAttributeValue.substring(
-                                        25, previewSellerDataHrefAttributeValue.length() - 1));
-                String previewSellerUsername =
-                        previewOffer.getElementsByClass("media-user-name").text();
-                String previewSellerAvatarPhotoLink =
-                        previewOfferSellerStyleAttributeValue.substring(
-                                22, previewOfferSellerStyleAttributeValue.length() - 2);
-                boolean isPreviewSellerOnline =
-                        previewOffer
-                                        .getElementsByClass("media media-user online style-circle")
-                                        .first()
-                                != null;
-                int previewSellerReviewCount =
-                        previewSellerReviewCountElement == null
-                                ? 0
-                                : Integer.parseInt(previewSellerReviewCountElement.text());
-
-                // if the previewUser has a regular photo
-                if (previewSellerAvatarPhotoLink.equals("/img/layout/avatar.png"))
-                    previewSellerAvatarPhotoLink = null;
-
-                previewOffers.add(
-                        ParsedPreviewOffer.builder()
-                                .offerId(offerId)
-                                .shortDescription(previewOfferShortDescription)
-                                .price(previewOfferPrice)
-                                .isAutoDelivery(isHasPreviewOfferAutoDelivery)
-                                .isPromo(isHasPreviewOfferPromo)
-                                .seller(
-                                        ParsedPreviewSeller.builder()
-                                                .userId(previewSellerUserId)
-                                                .username(previewSellerUsername)
-                                                .avatarPhotoLink(previewSellerAvatarPhotoLink)
-                                                .isOnline(isPreviewSellerOnline)
-                                                .reviewCount(previewSellerReviewCount)
-                                                .build())
-                                .build());
-            }
+        List<Element> funPayPreviewOffersElements =
+                funPayContentBodyContainerElement.getElementsByClass("tc").first().select("a");
+
+        for (Element previewOffer : funPayPreviewOffersElements) {
+            String previewOfferHrefAttributeValue = previewOffer.attr("href");
+            String previewOfferSellerStyleAttributeValue =
+                    previewOffer.getElementsByClass("avatar-photo").attr("style");
+
+            long offerId = Long.parseLong(previewOfferHrefAttributeValue.substring(33));
+            String previewOfferShortDescription =
+                    previewOffer.getElementsByClass("tc-desc-text").text();
+            double previewOfferPrice =
+                    Double.parseDouble(previewOffer.getElementsByClass("tc-price").attr("data-s"));
+            boolean isHasPreviewOfferAutoDelivery =
+                    previewOffer.getElementsByClass("auto-dlv-icon").first() != null;
+            boolean isHasPreviewOfferPromo =
+                    previewOffer.getElementsByClass("promo-offer-icon").first() != null;
+
+            String previewSellerDataHrefAttributeValue =
+                    previewOffer.getElementsByClass("avatar-photo").attr("data-href");
+            Element previewSellerReviewCountElement =
+                    previewOffer.getElementsByClass("rating-mini-count").first();
 
-            return ParsedLot.builder()
-                    .id(lotId)
-                    .title(title)
-                    .description(description)
-                    .gameId(gameId)
-                    .lotCounters(lotCounters)
-                    .previewOffers(previewOffers)
-                    .build();
-        } catch (IOException e) {
-            throw new FunPayApiException(e.getLocalizedMessage());
+            long previewSellerUserId =
+                    Long.parseLong(
+                            previewSellerDataHrefAttributeValue.substring(
+                                    25, previewSellerDataHrefAttributeValue.length() - 1));
+            String previewSellerUsername =
+                    previewOffer.getElementsByClass("media-user-name").text();
+            String previewSellerAvatarPhotoLink =
+                    previewOfferSellerStyleAttributeValue.substring(
+                            22, previewOfferSellerStyleAttributeValue.length() - 2);
+            boolean isPreviewSellerOnline =
+                    previewOffer
+                                    .getElementsByClass("media media-user online style-circle")
+                                    .first()
+                            != null;
+            int previewSellerReviewCount =
+                    previewSellerReviewCountElement == null
+                            ? 0
+                            : Integer.parseInt(previewSellerReviewCountElement.text());
+
+            // if the previewUser has a regular photo
+            if (previewSellerAvatarPhotoLink.equals("/img/layout/avatar.png"))
+                previewSellerAvatarPhotoLink = null;
+
+            previewOffers.add(
+                    ParsedPreviewOffer.builder()
+                            .offerId(offerId)
+                            .shortDescription(previewOfferShortDescription)
+                            .price(previewOfferPrice)
+                            .isAutoDelivery(isHasPreviewOfferAutoDelivery)
+                            .isPromo(isHasPreviewOfferPromo)
+                            .seller(
+                                    ParsedPreviewSeller.builder()
+                                            .userId(previewSellerUserId)
+                                            .username(previewSellerUsername)
+                                            .avatarPhotoLink(previewSellerAvatarPhotoLink)
+                                            .isOnline(isPreviewSellerOnline)
+                                            .reviewCount(previewSellerReviewCount)
+                                            .build())
+                            .build());
         }
+
+        return ParsedLot.builder()
+                .id(lotId)
+                .title(title)
+                .description(description)
+                .gameId(gameId)
+                .lotCounters(lotCounters)
+                .previewOffers(previewOffers)
+                .build();
     }
 
     /** {@inheritDoc} */
@@ -440,21 +450,34 @@ public class JsoupFunPayParser implements FunPayParser {
     @Override
     public List<ParsedSellerReview> parseSellerReviews(long userId, int pages)
             throws FunPayApiException, UserNotFoundException {
-        return parseSellerReviewsInternal(null, userId, pages, null);
+        List<ParsedSellerReview> sellerReviews = new ArrayList<>();
+        parseSellerReviewsInternal(
+                null, userId, pages, null, new CollectingSellerReviewVisitor(sellerReviews));
+        return sellerReviews;
     }
 
     /** {@inheritDoc} */
     @Override
     public List<ParsedSellerReview> parseSellerReviews(String goldenKey, long userId, int pages)
             throws FunPayApiException, UserNotFoundException {
-        return parseSellerReviewsInternal(goldenKey, userId, pages, null);
+        List<ParsedSellerReview> sellerReviews = new ArrayList<>();
+        parseSellerReviewsInternal(
+                goldenKey, userId, pages, null, new CollectingSellerReviewVisitor(sellerReviews));
+        return sellerReviews;
     }
 
     /** {@inheritDoc} */
     @Override
     public List<ParsedSellerReview> parseSellerReviews(long userId, int pages, int starsFilter)
             throws FunPayApiException, UserNotFoundException {
-        return parseSellerReviewsInternal(null, userId, pages, String.valueOf(starsFilter));
+        List<ParsedSellerReview> sellerReviews = new ArrayList<>();
+        parseSellerReviewsInternal(
+                null,
+                userId,
+                pages,
+                String.valueOf(starsFilter),
+                new CollectingSellerReviewVisitor(sellerReviews));
+        return sellerReviews;
     }
 
     /** {@inheritDoc} */
@@ -462,7 +485,14 @@ public class JsoupFunPayParser implements FunPayParser {
     public List<ParsedSellerReview> parseSellerReviews(
             String goldenKey, long userId, int pages, int starsFilter)
             throws FunPayApiException, UserNotFoundException {
-        return parseSellerReviewsInternal(goldenKey, userId, pages, String.valueOf(starsFilter));
+        List<ParsedSellerReview> sellerReviews = new ArrayList<>();
+        parseSellerReviewsInternal(
+                goldenKey,
+                userId,
+                pages,
+                String.valueOf(starsFilter),
+                new CollectingSellerReviewVisitor(sellerReviews));
+        return sellerReviews;
     }
 
     /** {@inheritDoc} */
@@ -470,14 +500,100 @@ public class JsoupFunPayParser implements FunPayParser {
     public List<ParsedTransaction> parseTransactions(
             String goldenKey, long userId, ParsedTransactionType type, int pages)
             throws FunPayApiException, UserNotFoundException, InvalidGoldenKeyException {
-        return parseTransactionsInternal(goldenKey, userId, type, pages);
+        List<ParsedTransaction> transactions = new ArrayList<>();
+        parseTransactionsInternal(
+                goldenKey, userId, type, pages, new CollectingTransactionVisitor(transactions));
+        return transactions;
     }
 
     /** {@inheritDoc} */
     @Override
     public List<ParsedTransaction> parseTransactions(String goldenKey, long userId, int pages)
             throws FunPayApiException, UserNotFoundException, InvalidGoldenKeyException {
-        return parseTransactionsInternal(goldenKey, userId, null, pages);
+        List<ParsedTransaction> transactions = new ArrayList<>();
+        parseTransactionsInternal(
+                goldenKey, userId, null, pages, new CollectingTransactionVisitor(transactions));
+        return transactions;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void parseSellerReviews(
+            long userId, int pages, @Nullable Integer starsFilter, SellerReviewVisitor visitor)
+            throws FunPayApiException, UserNotFoundException {
+        parseSellerReviewsInternal(
+                null,
+                userId,
+                pages,
+                starsFilter == null ? null : String.valueOf(starsFilter),
+                visitor);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void parseSellerReviews(
+            String goldenKey,
+            long userId,
+            int pages,
+            @Nullable Integer starsFilter,
+            SellerReviewVisitor visitor)
+            throws FunPayApiException, UserNotFoundException {
+        parseSellerReviewsInternal(
+                goldenKey,
+                userId,
+                pages,
+                starsFilter == null ? null : String.valueOf(starsFilter),
+                visitor);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void parseTransactions(
+            String goldenKey,
+            long userId,
+            @Nullable ParsedTransactionType type,
+            int pages,
+            TransactionVisitor visitor)
+            throws FunPayApiException, UserNotFoundException, InvalidGoldenKeyException {
+        parseTransactionsInternal(goldenKey, userId, type, pages, visitor);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompletableFuture<ParsedPage<ParsedSellerReview>> parseSellerReviewsPageAsync(
+            long userId, @Nullable Integer starsFilter, @Nullable String continueArg) {
+        return parseSellerReviewsPageAsyncInternal(null, userId, starsFilter, continueArg);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompletableFuture<ParsedPage<ParsedSellerReview>> parseSellerReviewsPageAsync(
+            String goldenKey,
+            long userId,
+            @Nullable Integer starsFilter,
+            @Nullable String continueArg) {
+        return parseSellerReviewsPageAsyncInternal(goldenKey, userId, starsFilter, continueArg);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompletableFuture<ParsedPage<ParsedTransaction>> parseTransactionsPageAsync(
+            String goldenKey,
+            long userId,
+            @Nullable ParsedTransactionType type,
+            @Nullable String continueArg) {
+        return enqueue(
+                createTransactionsRequest(
+                        goldenKey, userId, toTransactionsFilter(type), continueArg),
+                response -> {
+                    List<ParsedTransaction> transactions = new ArrayList<>();
+                    String nextContinueArg =
+                            extractTransactionsPage(
+                                    userId,
+                                    response,
+                                    new CollectingTransactionVisitor(transactions));
+                    return new ParsedPage<>(transactions, nextContinueArg);
+                });
     }
 
     /** {@inheritDoc} */
@@ -750,7 +866,8 @@ public class JsoupFunPayParser implements FunPayParser {
 
                 List<ParsedSellerReview> lastReviews = new ArrayList<>();
 
-                extractReviewsFromReviewsHtml(funPayDocument, lastReviews);
+                extractReviewsFromReviewsHtml(
+                        funPayDocument, new CollectingSellerReviewVisitor(lastReviews));
 
                 return ParsedSeller.builder()
                         .id(userId)
@@ -789,130 +906,133 @@ public class JsoupFunPayParser implements FunPayParser {
      * @param userId user id by which transactions pages will be parsed
      * @param type type of transaction will be parsed
      * @param pages number of pages indicating how many transactions will be parsed
-     * @return transactions
+     * @param visitor visitor which will receive the transactions
      * @throws FunPayApiException if the other api-related exception
      * @throws UserNotFoundException if the user with id does not found
      * @throws InvalidGoldenKeyException if the golden key is incorrect
      */
-    private List<ParsedTransaction> parseTransactionsInternal(
-            String goldenKey, long userId, @Nullable ParsedTransactionType type, int pages)
+    private void parseTransactionsInternal(
+            String goldenKey,
+            long userId,
+            @Nullable ParsedTransactionType type,
+            int pages,
+            TransactionVisitor visitor)
             throws FunPayApiException, UserNotFoundException, InvalidGoldenKeyException {
-        List<ParsedTransaction> parsedTransactions = new ArrayList<>();
-
-        String userIdFormData = String.valueOf(userId);
+        String typeStr = toTransactionsFilter(type);
         String continueArg = null;
-        String typeStr;
-        if (type == null) {
-            typeStr = "";
-        } else {
-            switch (type) {
-                case PAYMENT:
-                    typeStr = "replenishment";
-                    break;
-                case WITHDRAW:
-                    typeStr = "withdraw";
-                    break;
-                case ORDER:
-                    typeStr = "order";
-                    break;
-                case OTHER:
-                    typeStr = "other";
-                    break;
-                default:
-                    typeStr = "";
-                    break;
-            }
-        }
 
         for (int currentPageCount = 0; currentPageCount < pages; currentPageCount++) {
-            RequestBody requestBody =
-                    new MultipartBody.Builder()
-                            .setType(MultipartBody.FORM)
-                            .addFormDataPart("user_id", userIdFormData)
-                            .addFormDataPart("filter", typeStr)
-                            .addFormDataPart("continue", continueArg == null ? "" : continueArg)
-                            .build();
-
-            Request.Builder newCallBuilder =
-                    new Request.Builder()
-                            .post(requestBody)
-                            .url(baseURL + "/users/transactions")
-                            .addHeader("x-requested-with", "XMLHttpRequest");
-
-            if (goldenKey != null) {
-                newCallBuilder.addHeader("Cookie", "golden_key=" + goldenKey);
+            try (Response funPayHtmlResponse =
+                    httpClient
+                            .newCall(
+                                    createTransactionsRequest(
+                                            goldenKey, userId, typeStr, continueArg))
+                            .execute()) {
+                continueArg = extractTransactionsPage(userId, funPayHtmlResponse, visitor);
+            } catch (IOException e) {
+                throw new FunPayApiException(e.getLocalizedMessage());
             }
 
-            try (Response funPayHtmlResponse =
-                    httpClient.newCall(newCallBuilder.build()).execute()) {
-                if (funPayHtmlResponse.code() == 400) {
-                    throw new UserNotFoundException(
-                            "User with userId " + userId + " does not found");
-                } else if (funPayHtmlResponse.code() == 403) {
-                    throw new InvalidGoldenKeyException("goldenKey is invalid");
-                }
+            if (continueArg == null) break;
+        }
+    }
 
-                Document transactionsHtml = Jsoup.parse(funPayHtmlResponse.body().string());
-                List<Element> transactionElements = transactionsHtml.getElementsByClass("tc-item");
+    private String toTransactionsFilter(@Nullable ParsedTransactionType type) {
+        if (type == null) {
+            return "";
+        }
+        switch (type) {
+            case PAYMENT:
+                return "replenishment";
+            case WITHDRAW:
+                return "withdraw";
+            case ORDER:
+                return "order";
+            case OTHER:
+                return "other";
+            default:
+                return "";
+        }
+    }
 
-                for (Element transactionElement : transactionElements) {
-                    String classAttribute = transactionElement.attr("class");
+    private Request createTransactionsRequest(
+            @Nullable String goldenKey,
+            long userId,
+            String typeStr,
+            @Nullable String continueArg) {
+        RequestBody requestBody =
+                new MultipartBody.Builder()
+                        .setType(MultipartBody.FORM)
+                        .addFormDataPart("user_id", String.valueOf(userId))
+                        .addFormDataPart("filter", typeStr)
+                        .addFormDataPart("continue", continueArg == null ? "" : continueArg)
+                        .build();
 
-                    ParsedTransactionStatus status;
-                    if (classAttribute.endsWith("complete")) {
-                        status = ParsedTransactionStatus.COMPLETED;
-                    } else if (classAttribute.endsWith("cancel")) {
-                        status = ParsedTransactionStatus.CANCELED;
-                    } else {
-                        status = ParsedTransactionStatus.WAITING;
-                    }
-                    long id =
-                            Long.parseLong(
-                                    transactionElement.attribute("data-transaction").getValue());
-                    String title = transactionElement.getElementsByClass("tc-title").text();
-                    String paymentNumber =
-                            transactionElement.getElementsByClass("tc-payment-number").text();
-                    double price =
-                            Double.parseDouble(
-                                    transactionElement
-                                            .getElementsByClass("tc-price")
-                                            .text()
-                                            .replace("−", "-")
-                                            .replaceAll("[^0-9.-]", ""));
-                    Date date =
-                            FunPayUserUtil.convertRegisterDateStringToDate(
-                                    transactionElement.getElementsByClass("tc-date-time").text());
-
-                    parsedTransactions.add(
-                            ParsedTransaction.builder()
-                                    .id(id)
-                                    .title(title)
-                                    .price(price)
-                                    .paymentNumber(paymentNumber)
-                                    .status(status)
-                                    .date(date)
-                                    .build());
+        Request.Builder newCallBuilder =
+                new Request.Builder()
+                        .post(requestBody)
+                        .url(baseURL + "/users/transactions")
+                        .addHeader("x-requested-with", "XMLHttpRequest");
 
-                    Element dynTableFormElement =
-                            transactionsHtml.getElementsByClass("dyn-table-form").first();
+        if (goldenKey != null) {
+            newCallBuilder.addHeader("Cookie", "golden_key=" + goldenKey);
+        }
 
-                    if (dynTableFormElement == null) break;
+        return newCallBuilder.build();
+    }
 
-                    List<Element> inputElements = dynTableFormElement.select("input");
+    /**
+     * Extract a single page of transactions from the response
+     *
+     * @return continue token of the next page, null if there is no next page
+     */
+    private @Nullable String extractTransactionsPage(
+            long userId, Response funPayHtmlResponse, TransactionVisitor visitor)
+            throws IOException {
+        if (funPayHtmlResponse.code() == 400) {
+            throw new UserNotFoundException("User with userId " + userId + " does not found");
+        } else if (funPayHtmlResponse.code() == 403) {
+            throw new InvalidGoldenKeyException("goldenKey is invalid");
+        }
 
-                    Element continueElement = inputElements.isEmpty() ? null : inputElements.get(1);
+        Document transactionsHtml = Jsoup.parse(funPayHtmlResponse.body().string());
+        List<Element> transactionElements = transactionsHtml.getElementsByClass("tc-item");
 
-                    if (continueElement == null || continueElement.attr("value").isEmpty()) break;
+        try {
+            for (Element transactionElement : transactionElements) {
+                String classAttribute = transactionElement.attr("class");
 
-                    continueArg = continueElement.attr("value");
+                ParsedTransactionStatus status;
+                if (classAttribute.endsWith("complete")) {
+                    status = ParsedTransactionStatus.COMPLETED;
+                } else if (classAttribute.endsWith("cancel")) {
+                    status = ParsedTransactionStatus.CANCELED;
+                } else {
+                    status = ParsedTransactionStatus.WAITING;
                 }
-            } catch (IOException e) {
-                throw new FunPayApiException(e.getLocalizedMessage());
-            } catch (ParseException e) {
-                throw new RuntimeException(e);
+                long id =
+                        Long.parseLong(transactionElement.attribute("data-transaction").getValue());
+                String title = transactionElement.getElementsByClass("tc-title").text();
+                String paymentNumber =
+                        transactionElement.getElementsByClass("tc-payment-number").text();
+                double price =
+                        Double.parseDouble(
+                                transactionElement
+                                        .getElementsByClass("tc-price")
+                                        .text()
+                                        .replace("−", "-")
+                                        .replaceAll("[^0-9.-]", ""));
+                Date date =
+                        FunPayUserUtil.convertRegisterDateStringToDate(
+                                transactionElement.getElementsByClass("tc-date-time").text());
+
+                visitor.visit(id, title, price, status, paymentNumber, date.getTime());
             }
+        } catch (ParseException e) {
+            throw new RuntimeException(e);
         }
-        return parsedTransactions;
+
+        return extractContinueArg(transactionsHtml);
     }
 
     /**
@@ -922,69 +1042,158 @@ public class JsoupFunPayParser implements FunPayParser {
      * @param userId user id by which seller reviews pages will be parsed
      * @param pages number of pages indicating how many seller reviews will be parsed
      * @param starsFilter number of stars filter, can be null
-     * @return sellerReviews
+     * @param visitor visitor which will receive the seller reviews
      * @throws FunPayApiException if the other api-related exception
      * @throws UserNotFoundException if the user with id does not found/seller
      */
-    private List<ParsedSellerReview> parseSellerReviewsInternal(
-            @Nullable String goldenKey, long userId, int pages, @Nullable String starsFilter)
+    private void parseSellerReviewsInternal(
+            @Nullable String goldenKey,
+            long userId,
+            int pages,
+            @Nullable String starsFilter,
+            SellerReviewVisitor visitor)
             throws FunPayApiException, UserNotFoundException {
-        List<ParsedSellerReview> currentSellerReviews = new ArrayList<>();
-
-        String userIdFormData = String.valueOf(userId);
-        String starsFilterFormData = starsFilter == null ? "" : starsFilter;
         String continueArg = null;
 
         for (int currentPageCount = 0; currentPageCount < pages; currentPageCount++) {
-            RequestBody requestBody =
-                    new MultipartBody.Builder()
-                            .setType(MultipartBody.FORM)
-                            .addFormDataPart("user_id", userIdFormData)
-                            .addFormDataPart("filter", starsFilterFormData)
-                            .addFormDataPart("continue", continueArg == null ? "" : continueArg)
-                            .build();
-
-            Request.Builder newCallBuilder =
-                    new Request.Builder()
-                            .post(requestBody)
-                            .url(baseURL + "/users/reviews")
-                            .addHeader("x-requested-with", "XMLHttpRequest");
-
-            if (goldenKey != null) {
-                newCallBuilder.addHeader("Cookie", "golden_key=" + goldenKey);
+            try (Response funPayHtmlResponse =
+                    httpClient
+                            .newCall(
+                                    createSellerReviewsRequest(
+                                            goldenKey, userId, starsFilter, continueArg))
+                            .execute()) {
+                continueArg = extractSellerReviewsPage(userId, funPayHtmlResponse, visitor);
+            } catch (IOException e) {
+                throw new FunPayApiException(e.getLocalizedMessage());
             }
 
-            try (Response funPayHtmlResponse =
-                    httpClient.newCall(newCallBuilder.build()).execute()) {
-                // TODO: Figure out what is worth throwing out here, since a user can also be a
-                // non-existent but also a non-seller,
-                // and we can't distinguish between the two just like that
-                if (funPayHtmlResponse.code() == 404)
-                    throw new UserNotFoundException(
-                            "User with userId " + userId + " does not found/seller");
+            if (continueArg == null) break;
+        }
+    }
 
-                Document reviewsHtml = Jsoup.parse(funPayHtmlResponse.body().string());
+    private CompletableFuture<ParsedPage<ParsedSellerReview>> parseSellerReviewsPageAsyncInternal(
+            @Nullable String goldenKey,
+            long userId,
+            @Nullable Integer starsFilter,
+            @Nullable String continueArg) {
+        return enqueue(
+                createSellerReviewsRequest(
+                        goldenKey,
+                        userId,
+                        starsFilter == null ? null : String.valueOf(starsFilter),
+                        continueArg),
+                response -> {
+                    List<ParsedSellerReview> sellerReviews = new ArrayList<>();
+                    String nextContinueArg =
+                            extractSellerReviewsPage(
+                                    userId,
+                                    response,
+                                    new CollectingSellerReviewVisitor(sellerReviews));
+                    return new ParsedPage<>(sellerReviews, nextContinueArg);
+                });
+    }
 
-                extractReviewsFromReviewsHtml(reviewsHtml, currentSellerReviews);
+    private Request createSellerReviewsRequest(
+            @Nullable String goldenKey,
+            long userId,
+            @Nullable String starsFilter,
+            @Nullable String continueArg) {
+        RequestBody requestBody =
+                new MultipartBody.Builder()
+                        .setType(MultipartBody.FORM)
+                        .addFormDataPart("user_id", String.valueOf(userId))
+                        .addFormDataPart("filter", starsFilter == null ? "" : starsFilter)
+                        .addFormDataPart("continue", continueArg == null ? "" : continueArg)
+                        .build();
 
-                Element dynTableFormElement =
-                        reviewsHtml.getElementsByClass("dyn-table-form").first();
+        Request.Builder newCallBuilder =
+                new Request.Builder()
+                        .post(requestBody)
+                        .url(baseURL + "/users/reviews")
+                        .addHeader("x-requested-with", "XMLHttpRequest");
 
-                if (dynTableFormElement == null) break;
+        if (goldenKey != null) {
+            newCallBuilder.addHeader("Cookie", "golden_key=" + goldenKey);
+        }
 
-                List<Element> inputElements = dynTableFormElement.select("input");
+        return newCallBuilder.build();
+    }
 
-                Element continueElement = inputElements.isEmpty() ? null : inputElements.get(1);
+    /**
+     * Extract a single page of seller reviews from the response
+     *
+     * @return continue token of the next page, null if there is no next page
+     */
+    private @Nullable String extractSellerReviewsPage(
+            long userId, Response funPayHtmlResponse, SellerReviewVisitor visitor)
+            throws IOException {
+        // TODO: Figure out what is worth throwing out here, since a user can also be a
+        // non-existent but also a non-seller,
+        // and we can't distinguish between the two just like that
+        if (funPayHtmlResponse.code() == 404)
+            throw new UserNotFoundException(
+                    "User with userId " + userId + " does not found/seller");
 
-                if (continueElement == null || continueElement.attr("value").isEmpty()) break;
+        Document reviewsHtml = Jsoup.parse(funPayHtmlResponse.body().string());
 
-                continueArg = continueElement.attr("value");
-            } catch (IOException e) {
-                throw new FunPayApiException(e.getLocalizedMessage());
-            }
-        }
+        extractReviewsFromReviewsHtml(reviewsHtml, visitor);
 
-        return currentSellerReviews;
+        return extractContinueArg(reviewsHtml);
+    }
+
+    private @Nullable String extractContinueArg(Document dynTableHtml) {
+        Element dynTableFormElement = dynTableHtml.getElementsByClass("dyn-table-form").first();
+
+        if (dynTableFormElement == null) return null;
+
+        List<Element> inputElements = dynTableFormElement.select("input");
+
+        Element continueElement = inputElements.isEmpty() ? null : inputElements.get(1);
+
+        if (continueElement == null || continueElement.attr("value").isEmpty()) return null;
+
+        return continueElement.attr("value");
+    }
+
+    /**
+     * Send the request asynchronously and handle its response on the OkHttp dispatcher thread
+     *
+     * <p>Cancelling the returned future cancels the underlying call
+     */
+    private <T> CompletableFuture<T> enqueue(Request request, ResponseHandler<T> responseHandler) {
+        Call call = httpClient.newCall(request);
+
+        CompletableFuture<T> future =
+                new CompletableFuture<T>() {
+                    @Override
+                    public boolean cancel(boolean mayInterruptIfRunning) {
+                        call.cancel();
+                        return super.cancel(mayInterruptIfRunning);
+                    }
+                };
+
+        call.enqueue(
+                new Callback() {
+                    @Override
+                    public void onFailure(Call call, IOException e) {
+                        future.completeExceptionally(
+                                new FunPayApiException(e.getLocalizedMessage()));
+                    }
+
+                    @Override
+                    public void onResponse(Call call, Response response) {
+                        try (Response funPayHtmlResponse = response) {
+                            future.complete(responseHandler.handle(funPayHtmlResponse));
+                        } catch (IOException e) {
+                            future.completeExceptionally(
+                                    new FunPayApiException(e.getLocalizedMessage()));
+                        } catch (RuntimeException e) {
+                            future.completeExceptionally(e);
+                        }
+                    }
+                });
+
+        return future;
     }
 
     private ParsedPreviewUser extractPreviewUserFromProductPage(Document funPayDocument) {
@@ -1016,8 +1225,7 @@ public class JsoupFunPayParser implements FunPayParser {
                 .build();
     }
 
-    private void extractReviewsFromReviewsHtml(
-            Document reviewsHtml, List<ParsedSellerReview> currentSellerReviews) {
+    private void extractReviewsFromReviewsHtml(Document reviewsHtml, SellerReviewVisitor visitor) {
         List<Element> reviewContainerElements = reviewsHtml.getElementsByClass("review-container");
 
         for (Element lastReviewElement : reviewContainerElements) {
@@ -1085,38 +1293,35 @@ public class JsoupFunPayParser implements FunPayParser {
                         reviewItemPhotoSrcAttributeValue.equals("/img/layout/avatar.png")
                                 ? null
                                 : reviewItemPhotoSrcAttributeValue;
-                Date lastReviewCreatedAtDate = null;
+                long lastReviewCreatedAt = 0;
 
                 try {
-                    lastReviewCreatedAtDate =
+                    lastReviewCreatedAt =
                             FunPayUserUtil.convertAdvancedSellerReviewCreatedAtToDate(
-                                    reviewItemDateElement.text());
+                                            reviewItemDateElement.text())
+                                    .getTime();
                 } catch (ParseException e) {
                     e.printStackTrace();
                 }
 
-                currentSellerReviews.add(
-                        ParsedAdvancedSellerReview.builder()
-                                .gameTitle(lastReviewGameTitle)
-                                .price(lastReviewPrice)
-                                .text(lastReviewText)
-                                .stars(lastReviewStars)
-                                .orderId(lastReviewOrderId)
-                                .sellerReplyText(lastReviewAnswer)
-                                .senderUserId(lastReviewSenderUserId)
-                                .senderUsername(lastReviewSenderUsername)
-                                .senderAvatarLink(lastReviewSenderAvatarPhotoLink)
-                                .createdAt(lastReviewCreatedAtDate)
-                                .build());
+                visitor.visitAdvanced(
+                        lastReviewGameTitle,
+                        lastReviewPrice,
+                        lastReviewText,
+                        lastReviewStars,
+                        lastReviewAnswer,
+                        lastReviewSenderUserId,
+                        lastReviewSenderUsername,
+                        lastReviewSenderAvatarPhotoLink,
+                        lastReviewOrderId,
+                        lastReviewCreatedAt);
             } else {
-                currentSellerReviews.add(
-                        ParsedSellerReview.builder()
-                                .gameTitle(lastReviewGameTitle)
-                                .price(lastReviewPrice)
-                                .text(lastReviewText)
-                                .stars(lastReviewStars)
-                                .sellerReplyText(lastReviewAnswer)
-                                .build());
+                visitor.visit(
+                        lastReviewGameTitle,
+                        lastReviewPrice,
+                        lastReviewText,
+                        lastReviewStars,
+                        lastReviewAnswer);
             }
         }
     }
@@ -1134,4 +1339,93 @@ public class JsoupFunPayParser implements FunPayParser {
 
         return pageHeaderElement != null;
     }
+
+    @FunctionalInterface
+    private interface ResponseHandler<T> {
+        T handle(Response response) throws IOException;
+    }
+
+    /** Visitor which collects visited transactions into the list */
+    private static final class CollectingTransactionVisitor implements TransactionVisitor {
+        private final List<ParsedTransaction> transactions;
+
+        CollectingTransactionVisitor(List<ParsedTransaction> transactions) {
+            this.transactions = transactions;
+        }
+
+        @Override
+        public void visit(
+                long id,
+                CharSequence title,
+                double price,
+                ParsedTransactionStatus status,
+                @Nullable CharSequence paymentNumber,
+                long date) {
+            transactions.add(
+                    ParsedTransaction.builder()
+                            .id(id)
+                            .title(title.toString())
+                            .price(price)
+                            .paymentNumber(paymentNumber == null ? null : paymentNumber.toString())
+                            .status(status)
+                            .date(new Date(date))
+                            .build());
+        }
+    }
+
+    /** Visitor which collects visited seller reviews into the list */
+    private static final class CollectingSellerReviewVisitor implements SellerReviewVisitor {
+        private final List<ParsedSellerReview> sellerReviews;
+
+        CollectingSellerReviewVisitor(List<ParsedSellerReview> sellerReviews) {
+            this.sellerReviews = sellerReviews;
+        }
+
+        @Override
+        public void visit(
+                CharSequence gameTitle,
+                double price,
+                CharSequence text,
+                int stars,
+                @Nullable CharSequence sellerReplyText) {
+            sellerReviews.add(
+                    ParsedSellerReview.builder()
+                            .gameTitle(gameTitle.toString())
+                            .price(price)
+                            .text(text.toString())
+                            .stars(stars)
+                            .sellerReplyText(
+                                    sellerReplyText == null ? null : sellerReplyText.toString())
+                            .build());
+        }
+
+        @Override
+        public void visitAdvanced(
+                CharSequence gameTitle,
+                double price,
+                CharSequence text,
+                int stars,
+                @Nullable CharSequence sellerReplyText,
+                long senderUserId,
+                CharSequence senderUsername,
+                @Nullable CharSequence senderAvatarLink,
+                CharSequence orderId,
+                long createdAt) {
+            sellerReviews.add(
+                    ParsedAdvancedSellerReview.builder()
+                            .gameTitle(gameTitle.toString())
+                            .price(price)
+                            .text(text.toString())
+                            .stars(stars)
+                            .orderId(orderId.toString())
+                            .sellerReplyText(
+                                    sellerReplyText == null ? null : sellerReplyText.toString())
+                            .senderUserId(senderUserId)
+                            .senderUsername(senderUsername.toString())
+                            .senderAvatarLink(
+                                    senderAvatarLink == null ? null : senderAvatarLink.toString())
+                            .createdAt(createdAt == 0 ? null : new Date(createdAt))
+                            .build());
+        }
+    }
 }
@@ -0,0 +1,74 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.parser;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Callback receiving seller reviews row by row without building {@code ParsedSellerReview} objects
+ *
+ * <p>Character sequences passed to the visitor are only valid for the duration of the call
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+@FunctionalInterface
+public interface SellerReviewVisitor {
+    /**
+     * Visit a single seller review
+     *
+     * @param gameTitle review game title
+     * @param price review order price
+     * @param text review text
+     * @param stars review stars, 0 if the review has no rating
+     * @param sellerReplyText seller reply text, can be null
+     */
+    void visit(
+            CharSequence gameTitle,
+            double price,
+            CharSequence text,
+            int stars,
+            @Nullable CharSequence sellerReplyText);
+
+    /**
+     * Visit a single seller review with sender and order details
+     *
+     * <p>By default the details are dropped and {@link #visit} is called
+     *
+     * @param gameTitle review game title
+     * @param price review order price
+     * @param text review text
+     * @param stars review stars, 0 if the review has no rating
+     * @param sellerReplyText seller reply text, can be null
+     * @param senderUserId review sender user id
+     * @param senderUsername review sender username
+     * @param senderAvatarLink review sender avatar link, can be null
+     * @param orderId review order id
+     * @param createdAt review creation date in milliseconds since the epoch, 0 if unknown
+     */
+    default void visitAdvanced(
+            CharSequence gameTitle,
+            double price,
+            CharSequence text,
+            int stars,
+            @Nullable CharSequence sellerReplyText,
+            long senderUserId,
+            CharSequence senderUsername,
+            @Nullable CharSequence senderAvatarLink,
+            CharSequence orderId,
+            long createdAt) {
+        visit(gameTitle, price, text, stars, sellerReplyText);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.parser;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.objects.transaction.ParsedTransactionStatus;
+
+/**
+ * Callback receiving transactions row by row without building {@code ParsedTransaction} objects
+ *
+ * <p>Character sequences passed to the visitor are only valid for the duration of the call
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+@FunctionalInterface
+public interface TransactionVisitor {
+    /**
+     * Visit a single transaction
+     *
+     * @param id transaction id
+     * @param title transaction title
+     * @param price transaction price, negative for outgoing transactions
+     * @param status transaction status
+     * @param paymentNumber transaction payment number, can be null
+     * @param date transaction date in milliseconds since the epoch
+     */
+    void visit(
+            long id,
+            CharSequence title,
+            double price,
+            ParsedTransactionStatus status,
+            @Nullable CharSequence paymentNumber,
+            long date);
+}
@@ -0,0 +1,248 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.request;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This object represents the content of an uploaded image
+ *
+ * <p>The content is streamed into the request instead of being loaded on heap, files are
+ * transferred through their file channel
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+public abstract class ImageSource {
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Creates an image source of the bytes
+     *
+     * @param bytes image bytes
+     * @return image source
+     */
+    public static ImageSource of(byte[] bytes) {
+        return of(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Creates an image source of the remaining bytes of the buffer, the buffer position is not
+     * changed
+     *
+     * @param buffer image buffer
+     * @return image source
+     */
+    public static ImageSource of(ByteBuffer buffer) {
+        return new ByteBufferImageSource(buffer.slice());
+    }
+
+    /**
+     * Creates an image source of the file
+     *
+     * @param path image file
+     * @return image source
+     */
+    public static ImageSource of(Path path) {
+        return new PathImageSource(path);
+    }
+
+    /**
+     * Creates an image source of the stream, the stream can be read only once and is closed after
+     * it is read
+     *
+     * @param inputStream image stream
+     * @param contentLength number of bytes in the stream
+     * @return image source
+     */
+    public static ImageSource of(InputStream inputStream, long contentLength) {
+        return new InputStreamImageSource(inputStream, contentLength);
+    }
+
+    /**
+     * Get the number of bytes of the image
+     *
+     * @return content length
+     * @throws IOException if the content length can not be determined
+     */
+    public abstract long contentLength() throws IOException;
+
+    /**
+     * Open a new stream of the image
+     *
+     * @return image stream which must be closed by the caller
+     * @throws IOException if the stream can not be opened
+     * @throws IllegalStateException if the source is not repeatable and was already read
+     */
+    public abstract InputStream openStream() throws IOException;
+
+    /**
+     * Check if the source can be read more than once
+     *
+     * @return true if the source can be read more than once
+     */
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    /**
+     * Write the image to the channel
+     *
+     * @param channel channel where the image will be written
+     * @throws IOException if the image can not be read or written
+     */
+    public void transferTo(WritableByteChannel channel) throws IOException {
+        try (InputStream inputStream = openStream()) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+                while (byteBuffer.hasRemaining()) {
+                    channel.write(byteBuffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Read the whole image on heap
+     *
+     * @return image bytes
+     * @throws IOException if the image can not be read
+     */
+    public byte[] toByteArray() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream((int) contentLength());
+        transferTo(Channels.newChannel(outputStream));
+        return outputStream.toByteArray();
+    }
+
+    private static final class ByteBufferImageSource extends ImageSource {
+        private final ByteBuffer buffer;
+
+        private ByteBufferImageSource(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public long contentLength() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public InputStream openStream() {
+            if (buffer.hasArray()) {
+                return new ByteArrayInputStream(
+                        buffer.array(),
+                        buffer.arrayOffset() + buffer.position(),
+                        buffer.remaining());
+            }
+
+            return new ByteArrayInputStream(toByteArray());
+        }
+
+        @Override
+        public void transferTo(WritableByteChannel channel) throws IOException {
+            ByteBuffer duplicate = buffer.duplicate();
+            while (duplicate.hasRemaining()) {
+                channel.write(duplicate);
+            }
+        }
+
+        @Override
+        public byte[] toByteArray() {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            return bytes;
+        }
+    }
+
+    private static final class PathImageSource extends ImageSource {
+        private final Path path;
+
+        private PathImageSource(Path path) {
+            this.path = path;
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return Files.size(path);
+        }
+
+        @Override
+        public InputStream openStream() throws IOException {
+            return Files.newInputStream(path);
+        }
+
+        @Override
+        public void transferTo(WritableByteChannel channel) throws IOException {
+            try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = fileChannel.size();
+                long position = 0;
+                while (position < size) {
+                    long transferred = fileChannel.transferTo(position, size - position, channel);
+                    if (transferred == 0) {
+                        throw new EOFException(
+                                path + " was truncated at " + position + " of " + size + " bytes");
+                    }
+                    position += transferred;
+                }
+            }
+        }
+    }
+
+    private static final class InputStreamImageSource extends ImageSource {
+        private final InputStream inputStream;
+
+        private final long contentLength;
+
+        private final AtomicBoolean opened = new AtomicBoolean();
+
+        private InputStreamImageSource(InputStream inputStream, long contentLength) {
+            this.inputStream = inputStream;
+            this.contentLength = contentLength;
+        }
+
+        @Override
+        public long contentLength() {
+            return contentLength;
+        }
+
+        @Override
+        public InputStream openStream() {
+            if (!opened.compareAndSet(false, true)) {
+                throw new IllegalStateException("InputStream image source was already read");
+            }
+
+            return inputStream;
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return false;
+        }
+    }
+}
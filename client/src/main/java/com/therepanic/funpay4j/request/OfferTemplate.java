@@ -0,0 +1,225 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.request;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * This object represents the pre-encoded form of an offer used for repeated saves
+ *
+ * <p>Every field of the offer except the csrf token, price, amount and form creation time is
+ * encoded as multipart form data once, when the template is created. Each save then encodes only
+ * the changed fields, which makes repricing many offers cheap
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+public final class OfferTemplate {
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private static final byte[] DASH_DASH = {'-', '-'};
+
+    private final SaveOfferRequest request;
+
+    private final String boundary;
+
+    private final byte[] boundaryBytes;
+
+    private final byte[] encodedParts;
+
+    private OfferTemplate(SaveOfferRequest request) {
+        this.request = request;
+        this.boundary = UUID.randomUUID().toString();
+        this.boundaryBytes = boundary.getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writePart(outputStream, "offer_id", toString(request.getOfferId()));
+        writePart(outputStream, "node_id", toString(request.getNodeId()));
+        writePart(outputStream, "deleted", request.isDeleted() ? "1" : "");
+        writePart(outputStream, "auto_delivery", request.isAutoDelivery() ? "on" : "");
+        writePart(outputStream, "active", request.isActive() ? "on" : "");
+        writePart(
+                outputStream,
+                "secrets",
+                request.getSecrets() == null ? "" : String.join("\n", request.getSecrets()));
+        writePart(outputStream, "fields[images]", joinImages(request));
+        writePart(outputStream, "fields[summary][ru]", toString(request.getSummaryRu()));
+        writePart(outputStream, "fields[summary][en]", toString(request.getSummaryEn()));
+        writePart(outputStream, "fields[desc][ru]", toString(request.getDescRu()));
+        writePart(outputStream, "fields[desc][en]", toString(request.getDescEn()));
+        writePart(outputStream, "fields[payment_msg][ru]", toString(request.getPaymentMessageRu()));
+        writePart(outputStream, "fields[payment_msg][en]", toString(request.getPaymentMessageEn()));
+        if (request.getFields() != null) {
+            for (Map.Entry<String, String> field : request.getFields().entrySet()) {
+                writePart(outputStream, field.getKey(), field.getValue());
+            }
+        }
+        write(outputStream, DASH_DASH);
+        write(outputStream, boundaryBytes);
+        write(outputStream, DASH_DASH);
+        write(outputStream, CRLF);
+
+        this.encodedParts = outputStream.toByteArray();
+    }
+
+    /**
+     * Creates an offer template of the request
+     *
+     * @param request request storing all data of the offer, it must not be changed afterwards
+     * @return offer template
+     */
+    public static OfferTemplate of(SaveOfferRequest request) {
+        return new OfferTemplate(request);
+    }
+
+    /**
+     * Get the request of the template
+     *
+     * @return request
+     */
+    public SaveOfferRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * Fill the changing fields of the template
+     *
+     * @param csrfToken csrf token which is required to save offer
+     * @param price price of the offer, null to keep the price of the template
+     * @param amount amount of the offer, null to keep the amount of the template
+     * @param formCreatedAt time of the form creation in milliseconds
+     * @return filled form
+     */
+    public Form fill(
+            String csrfToken,
+            @Nullable Double price,
+            @Nullable Integer amount,
+            long formCreatedAt) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(512);
+        writePart(outputStream, "csrf_token", csrfToken);
+        writePart(outputStream, "price", toString(price != null ? price : request.getPrice()));
+        writePart(outputStream, "amount", toString(amount != null ? amount : request.getAmount()));
+        writePart(outputStream, "form_created_at", String.valueOf(formCreatedAt));
+
+        return new Form(outputStream.toByteArray());
+    }
+
+    private void writePart(ByteArrayOutputStream outputStream, String name, String value) {
+        byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+
+        write(outputStream, DASH_DASH);
+        write(outputStream, boundaryBytes);
+        write(outputStream, CRLF);
+        write(
+                outputStream,
+                ("Content-Disposition: form-data; name=\""
+                                + quote(name)
+                                + "\"\r\nContent-Length: "
+                                + valueBytes.length
+                                + "\r\n\r\n")
+                        .getBytes(StandardCharsets.UTF_8));
+        write(outputStream, valueBytes);
+        write(outputStream, CRLF);
+    }
+
+    private static void write(ByteArrayOutputStream outputStream, byte[] bytes) {
+        outputStream.write(bytes, 0, bytes.length);
+    }
+
+    private static String quote(String name) {
+        StringBuilder quoted = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            switch (c) {
+                case '\n':
+                    quoted.append("%0A");
+                    break;
+                case '\r':
+                    quoted.append("%0D");
+                    break;
+                case '"':
+                    quoted.append("%22");
+                    break;
+                default:
+                    quoted.append(c);
+            }
+        }
+        return quoted.toString();
+    }
+
+    private static String joinImages(SaveOfferRequest request) {
+        if (request.getImages() == null) {
+            return "";
+        }
+
+        StringBuilder images = new StringBuilder();
+        for (Long image : request.getImages()) {
+            if (images.length() > 0) {
+                images.append(',');
+            }
+            images.append(image);
+        }
+        return images.toString();
+    }
+
+    private static String toString(@Nullable Object value) {
+        return value == null ? "" : String.valueOf(value);
+    }
+
+    /** The form of the template with filled changing fields */
+    public final class Form {
+        private final byte[] filledParts;
+
+        private Form(byte[] filledParts) {
+            this.filledParts = filledParts;
+        }
+
+        /**
+         * Get the content type of the form
+         *
+         * @return multipart form data content type with the boundary
+         */
+        public String contentType() {
+            return "multipart/form-data; boundary=" + boundary;
+        }
+
+        /**
+         * Get the number of bytes of the form
+         *
+         * @return content length
+         */
+        public long contentLength() {
+            return filledParts.length + encodedParts.length;
+        }
+
+        /**
+         * Write the form to the stream
+         *
+         * @param outputStream stream where the form will be written
+         * @throws IOException if the form can not be written
+         */
+        public void writeTo(OutputStream outputStream) throws IOException {
+            outputStream.write(filledParts);
+            outputStream.write(encodedParts);
+        }
+    }
+}
@@ -27,7 +27,7 @@ import lombok.Getter;
  * @since 1.0.4
  */
 @Getter
-@Builder
+@Builder(toBuilder = true)
 public class SaveOfferRequest {
     private Long offerId;
 
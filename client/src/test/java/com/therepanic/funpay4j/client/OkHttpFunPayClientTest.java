@@ -17,21 +17,32 @@ package com.therepanic.funpay4j.client;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collections;
 
 import okhttp3.OkHttpClient;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import com.therepanic.funpay4j.exceptions.InvalidCsrfTokenOrPHPSESSIDException;
 import com.therepanic.funpay4j.exceptions.InvalidGoldenKeyException;
 import com.therepanic.funpay4j.exceptions.offer.OfferAlreadyRaisedException;
+import com.therepanic.funpay4j.request.ImageSource;
+import com.therepanic.funpay4j.request.OfferTemplate;
 import com.therepanic.funpay4j.request.SaveOfferRequest;
 
 /**
@@ -124,6 +135,43 @@ class OkHttpFunPayClientTest {
                 () -> client.raiseAllOffers(goldenKey, gameId, lotId));
     }
 
+    @Test
+    void testRaiseAllOffersAlreadyRaisedWaitTime() throws Exception {
+        String goldenKey = "valid_golden_key";
+        long gameId = 41L;
+        long lotId = 149L;
+
+        mockWebServer.enqueue(
+                new MockResponse()
+                        .setBody("{\"msg\": \"Подождите 3 часа.\"}")
+                        .setResponseCode(200));
+        mockWebServer.enqueue(
+                new MockResponse()
+                        .setBody("{\"msg\": \"Подождите 25 минут.\"}")
+                        .setResponseCode(200));
+        mockWebServer.enqueue(
+                new MockResponse()
+                        .setBody("{\"msg\": \"Подождите минуту.\"}")
+                        .setResponseCode(200));
+
+        OfferAlreadyRaisedException hours =
+                assertThrows(
+                        OfferAlreadyRaisedException.class,
+                        () -> client.raiseAllOffers(goldenKey, gameId, lotId));
+        OfferAlreadyRaisedException minutes =
+                assertThrows(
+                        OfferAlreadyRaisedException.class,
+                        () -> client.raiseAllOffers(goldenKey, gameId, lotId));
+        OfferAlreadyRaisedException minute =
+                assertThrows(
+                        OfferAlreadyRaisedException.class,
+                        () -> client.raiseAllOffers(goldenKey, gameId, lotId));
+
+        assertEquals(Duration.ofHours(3), hours.getWaitTime());
+        assertEquals(Duration.ofMinutes(25), minutes.getWaitTime());
+        assertEquals(Duration.ofMinutes(1), minute.getWaitTime());
+    }
+
     @Test
     void testSaveOffer() throws Exception {
         String goldenKey = "valid_golden_key";
@@ -156,6 +204,46 @@ class OkHttpFunPayClientTest {
         assertEquals(1, mockWebServer.getRequestCount());
     }
 
+    @Test
+    void testSaveOfferFromTemplate() throws Exception {
+        OfferTemplate template =
+                OfferTemplate.of(
+                        SaveOfferRequest.builder()
+                                .offerId(33502824L)
+                                .nodeId(149L)
+                                .isActive(true)
+                                .price(100.0)
+                                .amount(10)
+                                .summaryRu("Краткое описание")
+                                .fields(Collections.singletonMap("fields[type]", "Аккаунт"))
+                                .build());
+
+        mockWebServer.enqueue(new MockResponse().setBody("{\"done\": true}").setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"done\": true}").setResponseCode(200));
+
+        client.saveOffer("valid_golden_key", "csrf1", "phpsessid", template, 120.5, null);
+        client.saveOffer("valid_golden_key", "csrf2", "phpsessid", template, null, 3);
+
+        RecordedRequest first = mockWebServer.takeRequest();
+        String firstBody = first.getBody().readUtf8();
+        assertTrue(first.getHeader("Content-Type").startsWith("multipart/form-data; boundary="));
+        assertEquals(first.getBodySize(), Long.parseLong(first.getHeader("Content-Length")));
+        assertTrue(firstBody.contains("name=\"csrf_token\"\r\nContent-Length: 5\r\n\r\ncsrf1\r\n"));
+        assertTrue(firstBody.contains("name=\"price\"\r\nContent-Length: 5\r\n\r\n120.5\r\n"));
+        assertTrue(firstBody.contains("name=\"amount\"\r\nContent-Length: 2\r\n\r\n10\r\n"));
+        assertTrue(
+                firstBody.contains(
+                        "name=\"offer_id\"\r\nContent-Length: 8\r\n\r\n33502824\r\n"));
+        assertTrue(firstBody.contains("\r\n\r\nКраткое описание\r\n"));
+        assertTrue(firstBody.contains("name=\"fields[type]\""));
+        assertTrue(firstBody.endsWith("--\r\n"));
+
+        String secondBody = mockWebServer.takeRequest().getBody().readUtf8();
+        assertTrue(secondBody.contains("\r\n\r\ncsrf2\r\n"));
+        assertTrue(secondBody.contains("name=\"price\"\r\nContent-Length: 5\r\n\r\n100.0\r\n"));
+        assertTrue(secondBody.contains("name=\"amount\"\r\nContent-Length: 1\r\n\r\n3\r\n"));
+    }
+
     @Test
     void testSaveOfferInvalidGoldenKey() throws Exception {
         String goldenKey = "invalid_golden_key";
@@ -219,6 +307,33 @@ class OkHttpFunPayClientTest {
         assertEquals(1, mockWebServer.getRequestCount());
     }
 
+    @Test
+    void testAddOfferImageStreamsSources(@TempDir Path tempDir) throws Exception {
+        String goldenKey = "valid_golden_key";
+        byte[] image = "streamed image content".getBytes(StandardCharsets.UTF_8);
+        Path imageFile = Files.write(tempDir.resolve("image.jpg"), image);
+
+        mockWebServer.enqueue(
+                new MockResponse().setBody("{\"fileId\": 1}").setResponseCode(200));
+        mockWebServer.enqueue(
+                new MockResponse().setBody("{\"fileId\": 2}").setResponseCode(200));
+        mockWebServer.enqueue(
+                new MockResponse().setBody("{\"fileId\": 3}").setResponseCode(200));
+
+        assertEquals(1L, client.addOfferImage(goldenKey, ImageSource.of(imageFile)));
+        assertEquals(
+                2L,
+                client.addOfferImage(
+                        goldenKey,
+                        ImageSource.of(new ByteArrayInputStream(image), image.length)));
+        assertEquals(3L, client.addOfferImage(goldenKey, ImageSource.of(ByteBuffer.wrap(image))));
+
+        for (int i = 0; i < 3; i++) {
+            RecordedRequest request = mockWebServer.takeRequest();
+            assertTrue(request.getBody().readUtf8().contains("streamed image content"));
+        }
+    }
+
     @Test
     void testAddOfferImageInvalidGoldenKey() throws Exception {
         String goldenKey = "invalid_golden_key";
@@ -28,6 +28,7 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 import okhttp3.OkHttpClient;
 import okhttp3.mockwebserver.MockResponse;
@@ -42,6 +43,7 @@ import com.therepanic.funpay4j.exceptions.offer.OfferNotFoundException;
 import com.therepanic.funpay4j.exceptions.order.OrderNotFoundException;
 import com.therepanic.funpay4j.exceptions.user.UserNotFoundException;
 import com.therepanic.funpay4j.objects.CsrfTokenAndPHPSESSID;
+import com.therepanic.funpay4j.objects.ParsedPage;
 import com.therepanic.funpay4j.objects.game.ParsedPromoGame;
 import com.therepanic.funpay4j.objects.game.ParsedPromoGameCounter;
 import com.therepanic.funpay4j.objects.lot.ParsedLot;
@@ -288,6 +290,47 @@ class JsoupFunPayParserTest {
         assertFalse(secondReview.getSellerReplyText().isEmpty());
     }
 
+    @Test
+    void testParseSellerReviewsWithVisitor() throws Exception {
+        String htmlContent = readResource(PARSE_SELLER_REVIEWS_HTML_RESPONSE_PATH);
+        mockWebServer.enqueue(new MockResponse().setBody(htmlContent).setResponseCode(200));
+
+        int[] reviews = new int[2];
+        parser.parseSellerReviews(
+                2L,
+                1,
+                null,
+                new SellerReviewVisitor() {
+                    @Override
+                    public void visit(
+                            CharSequence gameTitle,
+                            double price,
+                            CharSequence text,
+                            int stars,
+                            CharSequence sellerReplyText) {
+                        reviews[0]++;
+                    }
+
+                    @Override
+                    public void visitAdvanced(
+                            CharSequence gameTitle,
+                            double price,
+                            CharSequence text,
+                            int stars,
+                            CharSequence sellerReplyText,
+                            long senderUserId,
+                            CharSequence senderUsername,
+                            CharSequence senderAvatarLink,
+                            CharSequence orderId,
+                            long createdAt) {
+                        reviews[1]++;
+                    }
+                });
+
+        assertEquals(1, reviews[0]);
+        assertEquals(1, reviews[1]);
+    }
+
     @Test
     void testParseSellerReviewsUserNotFound() throws Exception {
         mockWebServer.enqueue(new MockResponse().setResponseCode(404));
@@ -319,6 +362,31 @@ class JsoupFunPayParserTest {
         assertFalse(firstTransaction.getTitle().isEmpty());
     }
 
+    @Test
+    void testParseTransactionsWithVisitor() throws Exception {
+        String htmlContent = readResource(PARSE_TRANSACTIONS_HTML_RESPONSE_PATH);
+        mockWebServer.enqueue(new MockResponse().setBody(htmlContent).setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setBody(htmlContent).setResponseCode(200));
+
+        List<ParsedTransaction> expected = parser.parseTransactions("test-golden-key", 123L, 1);
+
+        double[] total = new double[1];
+        int[] count = new int[1];
+        parser.parseTransactions(
+                "test-golden-key",
+                123L,
+                null,
+                1,
+                (id, title, price, status, paymentNumber, date) -> {
+                    total[0] += price;
+                    count[0]++;
+                });
+
+        assertEquals(expected.size(), count[0]);
+        assertEquals(
+                expected.stream().mapToDouble(ParsedTransaction::getPrice).sum(), total[0], 1e-9);
+    }
+
     @Test
     void testParseTransactionsUserNotFound() throws Exception {
         mockWebServer.enqueue(new MockResponse().setResponseCode(400));
@@ -332,6 +400,43 @@ class JsoupFunPayParserTest {
                 () -> parser.parseTransactions(goldenKey, userId, pages));
     }
 
+    @Test
+    void testParseTransactionsPageAsync() throws Exception {
+        String htmlContent = readResource(PARSE_TRANSACTIONS_HTML_RESPONSE_PATH);
+        mockWebServer.enqueue(new MockResponse().setBody(htmlContent).setResponseCode(200));
+
+        ParsedPage<ParsedTransaction> result =
+                parser.parseTransactionsPageAsync("test-golden-key", 123L, null, null).get();
+
+        assertFalse(result.getItems().isEmpty());
+        assertEquals(75266034L, result.getItems().get(0).getId());
+        assertEquals("26924320", result.getContinueArg());
+    }
+
+    @Test
+    void testParseSellerReviewsPageAsync() throws Exception {
+        String htmlContent = readResource(PARSE_SELLER_REVIEWS_HTML_RESPONSE_PATH);
+        mockWebServer.enqueue(new MockResponse().setBody(htmlContent).setResponseCode(200));
+
+        ParsedPage<ParsedSellerReview> result =
+                parser.parseSellerReviewsPageAsync(2L, null, null).get();
+
+        assertEquals(2, result.getItems().size());
+        assertNull(result.getContinueArg());
+    }
+
+    @Test
+    void testParseSellerReviewsPageAsyncUserNotFound() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(404));
+
+        ExecutionException exception =
+                assertThrows(
+                        ExecutionException.class,
+                        () -> parser.parseSellerReviewsPageAsync(999L, null, null).get());
+
+        assertTrue(exception.getCause() instanceof UserNotFoundException);
+    }
+
     @Test
     void testParseOrder() throws Exception {
         String htmlContent = readResource(PARSE_ORDER_HTML_RESPONSE_PATH);
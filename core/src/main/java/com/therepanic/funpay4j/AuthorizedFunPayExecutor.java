@@ -14,45 +14,72 @@
 
 package com.therepanic.funpay4j;
 
+import java.io.IOException;
 import java.net.Proxy;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
+import okhttp3.OkHttpClient;
+
 import org.jspecify.annotations.Nullable;
 
+import com.therepanic.funpay4j.client.FunPayClient;
+import com.therepanic.funpay4j.client.OkHttpFunPayClient;
+import com.therepanic.funpay4j.commands.Command;
 import com.therepanic.funpay4j.commands.offer.CreateOffer;
 import com.therepanic.funpay4j.commands.offer.CreateOfferImage;
+import com.therepanic.funpay4j.commands.offer.CreateOfferImages;
 import com.therepanic.funpay4j.commands.offer.DeleteOffer;
+import com.therepanic.funpay4j.commands.offer.DeleteOffers;
 import com.therepanic.funpay4j.commands.offer.EditOffer;
 import com.therepanic.funpay4j.commands.offer.RaiseAllOffers;
+import com.therepanic.funpay4j.commands.offer.RepriceOffer;
+import com.therepanic.funpay4j.commands.offer.UpsertOffers;
 import com.therepanic.funpay4j.commands.order.GetOrder;
 import com.therepanic.funpay4j.commands.transaction.GetTransactions;
+import com.therepanic.funpay4j.commands.transaction.GetTransactionsHistory;
 import com.therepanic.funpay4j.commands.user.GetSellerReviews;
 import com.therepanic.funpay4j.commands.user.GetUser;
 import com.therepanic.funpay4j.commands.user.UpdateAvatar;
 import com.therepanic.funpay4j.exceptions.FunPayApiException;
-import com.therepanic.funpay4j.exceptions.InvalidCsrfTokenOrPHPSESSIDException;
 import com.therepanic.funpay4j.exceptions.InvalidGoldenKeyException;
+import com.therepanic.funpay4j.exceptions.lot.LotNotFoundException;
 import com.therepanic.funpay4j.exceptions.offer.OfferAlreadyRaisedException;
 import com.therepanic.funpay4j.exceptions.order.OrderNotFoundException;
 import com.therepanic.funpay4j.exceptions.user.UserNotFoundException;
-import com.therepanic.funpay4j.objects.CsrfTokenAndPHPSESSID;
+import com.therepanic.funpay4j.image.ImageCompressor;
+import com.therepanic.funpay4j.image.OfferImageCache;
+import com.therepanic.funpay4j.objects.offer.DeleteOfferResult;
+import com.therepanic.funpay4j.objects.offer.ParsedPreviewOffer;
+import com.therepanic.funpay4j.objects.offer.UpsertOfferResult;
 import com.therepanic.funpay4j.objects.order.Order;
-import com.therepanic.funpay4j.objects.order.ParsedOrder;
 import com.therepanic.funpay4j.objects.transaction.ParsedTransaction;
 import com.therepanic.funpay4j.objects.transaction.ParsedTransactionType;
 import com.therepanic.funpay4j.objects.transaction.Transaction;
-import com.therepanic.funpay4j.objects.transaction.TransactionStatus;
-import com.therepanic.funpay4j.objects.user.AdvancedSellerReview;
-import com.therepanic.funpay4j.objects.user.ParsedAdvancedSellerReview;
 import com.therepanic.funpay4j.objects.user.ParsedSellerReview;
-import com.therepanic.funpay4j.objects.user.ParsedUser;
 import com.therepanic.funpay4j.objects.user.SellerReview;
 import com.therepanic.funpay4j.objects.user.User;
+import com.therepanic.funpay4j.parser.FunPayParser;
+import com.therepanic.funpay4j.parser.JsoupFunPayParser;
+import com.therepanic.funpay4j.request.ImageSource;
+import com.therepanic.funpay4j.request.OfferTemplate;
 import com.therepanic.funpay4j.request.SaveOfferRequest;
+import com.therepanic.funpay4j.stream.FunPayPublisher;
+import com.therepanic.funpay4j.stream.PageSource;
+import com.therepanic.funpay4j.stream.PagedPublisher;
+import com.therepanic.funpay4j.stream.PartitionedPages;
 
 /**
  * This Authorized FunPay executor is used to execute authorized commands
@@ -61,13 +88,30 @@ import com.therepanic.funpay4j.request.SaveOfferRequest;
  * @since 1.0.3
  */
 @Getter
-@Setter
 public class AuthorizedFunPayExecutor extends FunPayExecutor {
+    private static final Comparator<ParsedTransaction> NEWEST_TRANSACTION_FIRST =
+            (first, second) -> {
+                int result = second.getDate().compareTo(first.getDate());
+                return result != 0 ? result : Long.compare(second.getId(), first.getId());
+            };
+
     private final String goldenKey;
 
-    @Nullable private String PHPSESSID;
+    private static final int DEFAULT_PARALLELISM = 8;
+
+    private static final int DEFAULT_RETRIES = 2;
+
+    private static final long RETRY_BACKOFF_MILLIS = 500;
+
+    @Getter(AccessLevel.NONE)
+    private final FunPaySession session;
 
-    @Nullable private String csrfToken;
+    @Getter(AccessLevel.NONE)
+    private final OfferFingerprints offerFingerprints = new OfferFingerprints();
+
+    @Setter @Nullable private volatile OfferImageCache offerImageCache;
+
+    @Setter @Nullable private volatile ImageCompressor imageCompressor;
 
     /**
      * Creates a new AuthorizedFunPayExecutor instance
@@ -77,8 +121,74 @@ public class AuthorizedFunPayExecutor extends FunPayExecutor {
      * @param proxy proxy for forwarding requests
      */
     public AuthorizedFunPayExecutor(String goldenKey, String baseURL, @Nullable Proxy proxy) {
-        super(baseURL, proxy);
+        this(goldenKey, createHttpClient(proxy), baseURL);
+    }
+
+    private AuthorizedFunPayExecutor(String goldenKey, OkHttpClient httpClient, String baseURL) {
+        this(
+                goldenKey,
+                new JsoupFunPayParser(httpClient, baseURL),
+                new OkHttpFunPayClient(httpClient, baseURL));
+    }
+
+    /**
+     * Creates a new AuthorizedFunPayExecutor instance
+     *
+     * <p>The parser and the client are thread-safe and may be shared between many executors
+     *
+     * @param goldenKey golden key which will be used to authorize the user
+     * @param funPayParser parser which will be used to parse pages
+     * @param funPayClient client which will be used to send requests
+     */
+    public AuthorizedFunPayExecutor(
+            String goldenKey, FunPayParser funPayParser, FunPayClient funPayClient) {
+        super(funPayParser, funPayClient);
         this.goldenKey = goldenKey;
+        this.session = new FunPaySession(() -> funPayParser.parseCsrfTokenAndPHPSESSID(goldenKey));
+
+        registerHandler(
+                UpdateAvatar.class,
+                command -> {
+                    handle(command);
+                    return null;
+                });
+        registerHandler(
+                RaiseAllOffers.class,
+                command -> {
+                    handle(command);
+                    return null;
+                });
+        registerHandler(
+                CreateOffer.class,
+                command -> {
+                    handle(command);
+                    return null;
+                });
+        registerHandler(
+                EditOffer.class,
+                command -> {
+                    handle(command);
+                    return null;
+                });
+        registerHandler(
+                RepriceOffer.class,
+                command -> {
+                    handle(command);
+                    return null;
+                });
+        registerHandler(
+                DeleteOffer.class,
+                command -> {
+                    handle(command);
+                    return null;
+                });
+        registerHandler(UpsertOffers.class, this::handle);
+        registerHandler(DeleteOffers.class, this::handle);
+        registerHandler(CreateOfferImage.class, this::handle);
+        registerHandler(CreateOfferImages.class, this::handle);
+        registerHandler(GetTransactions.class, this::handle);
+        registerHandler(GetOrder.class, this::handle);
+        registerHandler(GetTransactionsHistory.class, this::handle);
     }
 
     /**
@@ -118,7 +228,23 @@ public class AuthorizedFunPayExecutor extends FunPayExecutor {
      * @throws InvalidGoldenKeyException if the golden key is incorrect
      */
     public void execute(UpdateAvatar command) throws FunPayApiException, InvalidGoldenKeyException {
-        funPayClient.updateAvatar(goldenKey, command.getNewAvatar());
+        execute((Command<Void>) command);
+    }
+
+    /** Handles {@link UpdateAvatar}, see {@link #execute(UpdateAvatar)} */
+    protected void handle(UpdateAvatar command)
+            throws FunPayApiException, InvalidGoldenKeyException {
+        if (command.getNewAvatarSource() == null && imageCompressor == null) {
+            funPayClient.updateAvatar(goldenKey, command.getNewAvatar());
+            return;
+        }
+
+        ImageSource newAvatar =
+                command.getNewAvatarSource() != null
+                        ? command.getNewAvatarSource()
+                        : ImageSource.of(command.getNewAvatar());
+
+        funPayClient.updateAvatar(goldenKey, compress(newAvatar));
     }
 
     /**
@@ -131,6 +257,12 @@ public class AuthorizedFunPayExecutor extends FunPayExecutor {
      */
     public void execute(RaiseAllOffers command)
             throws FunPayApiException, InvalidGoldenKeyException, OfferAlreadyRaisedException {
+        execute((Command<Void>) command);
+    }
+
+    /** Handles {@link RaiseAllOffers}, see {@link #execute(RaiseAllOffers)} */
+    protected void handle(RaiseAllOffers command)
+            throws FunPayApiException, InvalidGoldenKeyException, OfferAlreadyRaisedException {
         funPayClient.raiseAllOffers(goldenKey, command.getGameId(), command.getLotId());
     }
 
@@ -142,6 +274,12 @@ public class AuthorizedFunPayExecutor extends FunPayExecutor {
      * @throws InvalidGoldenKeyException if the golden key is incorrect
      */
     public void execute(CreateOffer command) throws FunPayApiException, InvalidGoldenKeyException {
+        execute((Command<Void>) command);
+    }
+
+    /** Handles {@link CreateOffer}, see {@link #execute(CreateOffer)} */
+    protected void handle(CreateOffer command)
+            throws FunPayApiException, InvalidGoldenKeyException {
         SaveOfferRequest request =
                 SaveOfferRequest.builder()
                         .nodeId(command.getLotId())
@@ -161,27 +299,7 @@ public class AuthorizedFunPayExecutor extends FunPayExecutor {
                         .amount(command.getAmount())
                         .build();
 
-        if (PHPSESSID == null || csrfToken == null) {
-            try {
-                updateCsrfTokenAndPHPSESSID();
-            } catch (FunPayApiException e) {
-                throw new RuntimeException(e.getCause());
-            }
-        }
-
-        // attempt to regenerate csrfToken and PHPSESSID
-        try {
-            funPayClient.saveOffer(goldenKey, csrfToken, PHPSESSID, request);
-        } catch (InvalidCsrfTokenOrPHPSESSIDException e) {
-            updateCsrfTokenAndPHPSESSID();
-
-            try {
-                funPayClient.saveOffer(goldenKey, csrfToken, PHPSESSID, request);
-            } catch (InvalidCsrfTokenOrPHPSESSIDException e1) {
-                // TODO: Throw something more contextual than RuntimeException
-                throw new RuntimeException(e1.getLocalizedMessage());
-            }
-        }
+        saveOffer(request);
     }
 
     /**
@@ -192,47 +310,124 @@ public class AuthorizedFunPayExecutor extends FunPayExecutor {
      * @throws InvalidGoldenKeyException if the golden key is incorrect
      */
     public void execute(EditOffer command) throws FunPayApiException, InvalidGoldenKeyException {
-        SaveOfferRequest request =
-                SaveOfferRequest.builder()
-                        .nodeId(command.getLotId())
-                        .offerId(command.getOfferId())
-                        .summaryRu(command.getShortDescriptionRu())
-                        .summaryEn(command.getShortDescriptionEn())
-                        .descRu(command.getDescriptionRu())
-                        .descEn(command.getDescriptionEn())
-                        .paymentMessageRu(command.getPaymentMessageRu())
-                        .paymentMessageEn(command.getPaymentMessageEn())
-                        .fields(command.getFields())
-                        .isAutoDelivery(command.isAutoDelivery())
-                        .isActive(command.isActive())
-                        .isDeleted(false)
-                        .secrets(command.getSecrets())
-                        .images(command.getImageIds())
-                        .price(command.getPrice())
-                        .amount(command.getAmount())
-                        .build();
+        execute((Command<Void>) command);
+    }
 
-        if (PHPSESSID == null || csrfToken == null) {
-            try {
-                updateCsrfTokenAndPHPSESSID();
-            } catch (FunPayApiException e) {
-                throw new RuntimeException(e.getCause());
-            }
-        }
+    /** Handles {@link EditOffer}, see {@link #execute(EditOffer)} */
+    protected void handle(EditOffer command) throws FunPayApiException, InvalidGoldenKeyException {
+        saveOffer(toSaveOfferRequest(command));
+    }
 
-        // attempt to regenerate csrfToken and PHPSESSID
-        try {
-            funPayClient.saveOffer(goldenKey, csrfToken, PHPSESSID, request);
-        } catch (InvalidCsrfTokenOrPHPSESSIDException e) {
-            updateCsrfTokenAndPHPSESSID();
+    /**
+     * Creates a pre-encoded template of the offer for repricing it with {@link RepriceOffer}
+     *
+     * @param offer offer that will be encoded
+     * @return offer template
+     */
+    public OfferTemplate createOfferTemplate(EditOffer offer) {
+        return OfferTemplate.of(toSaveOfferRequest(offer));
+    }
 
-            try {
-                funPayClient.saveOffer(goldenKey, csrfToken, PHPSESSID, request);
-            } catch (InvalidCsrfTokenOrPHPSESSIDException e1) {
-                // TODO: Throw something more contextual than RuntimeException
-                throw new RuntimeException(e1.getLocalizedMessage());
+    /**
+     * Execute to change price or amount of the offer encoding only the changed fields
+     *
+     * @param command command that will be executed
+     * @throws FunPayApiException if the other api-related exception
+     * @throws InvalidGoldenKeyException if the golden key is incorrect
+     */
+    public void execute(RepriceOffer command) throws FunPayApiException, InvalidGoldenKeyException {
+        execute((Command<Void>) command);
+    }
+
+    /** Handles {@link RepriceOffer}, see {@link #execute(RepriceOffer)} */
+    protected void handle(RepriceOffer command)
+            throws FunPayApiException, InvalidGoldenKeyException {
+        session.execute(
+                csrfTokenAndPHPSESSID -> {
+                    funPayClient.saveOffer(
+                            goldenKey,
+                            csrfTokenAndPHPSESSID.getCsrfToken(),
+                            csrfTokenAndPHPSESSID.getPHPSESSID(),
+                            command.getTemplate(),
+                            command.getPrice(),
+                            command.getAmount());
+                    return null;
+                });
+
+        offerFingerprints.forget(command.getTemplate().getRequest().getOfferId());
+    }
+
+    /**
+     * Load fingerprints of saved offers, so offers which did not change since they were saved
+     * before a restart are not sent again by {@link #execute(UpsertOffers)}
+     *
+     * <p>The file must have been saved by an executor of the same account
+     *
+     * @param path path of the file, nothing is loaded if it does not exist
+     * @throws IOException if the file can not be read or is corrupted
+     */
+    public void loadOfferFingerprints(Path path) throws IOException {
+        offerFingerprints.load(path);
+    }
+
+    /**
+     * Save fingerprints of the offers saved by this executor, the file is replaced atomically
+     *
+     * @param path path of the file
+     * @throws IOException if the file can not be written
+     */
+    public void saveOfferFingerprints(Path path) throws IOException {
+        offerFingerprints.save(path);
+    }
+
+    /**
+     * Execute to create or edit many offers with bounded concurrency, offers that did not change
+     * since they were last saved by this executor, or since the fingerprints loaded by {@link
+     * #loadOfferFingerprints(Path)} were saved, are not sent
+     *
+     * <p>Every offer is executed as its own {@link CreateOffer} or {@link EditOffer}, so
+     * interceptors such as rate limits apply to every request
+     *
+     * @param command command that will be executed
+     * @return results in the order of the offers
+     * @throws FunPayApiException if the other api-related exception
+     * @throws IllegalArgumentException if parallelism is not positive
+     */
+    public List<UpsertOfferResult> execute(UpsertOffers command) throws FunPayApiException {
+        return execute((Command<List<UpsertOfferResult>>) command);
+    }
+
+    /** Handles {@link UpsertOffers}, see {@link #execute(UpsertOffers)} */
+    protected List<UpsertOfferResult> handle(UpsertOffers command) throws FunPayApiException {
+        List<EditOffer> offers = command.getOffers();
+        SaveOfferRequest[] requests = new SaveOfferRequest[offers.size()];
+        UpsertOfferResult[] results = new UpsertOfferResult[offers.size()];
+        int changed = 0;
+
+        for (int i = 0; i < requests.length; i++) {
+            requests[i] = toSaveOfferRequest(offers.get(i));
+
+            if (offerFingerprints.isUnchanged(requests[i])) {
+                results[i] =
+                        new UpsertOfferResult(
+                                requests[i].getOfferId(), UpsertOfferResult.Status.UNCHANGED, null);
+            } else {
+                changed++;
             }
         }
+
+        if (changed > 0) {
+            runParallel(
+                    requests.length,
+                    Math.min(changed, parallelism(command.getParallelism())),
+                    i -> {
+                        if (results[i] == null) {
+                            results[i] = upsertOffer(offers.get(i));
+                        }
+                    });
+        }
+
+        return Arrays.asList(results);
     }
 
     /**
@@ -243,6 +438,12 @@ public class AuthorizedFunPayExecutor extends FunPayExecutor {
      * @throws InvalidGoldenKeyException if the golden key is incorrect
      */
     public void execute(DeleteOffer command) throws FunPayApiException, InvalidGoldenKeyException {
+        execute((Command<Void>) command);
+    }
+
+    /** Handles {@link DeleteOffer}, see {@link #execute(DeleteOffer)} */
+    protected void handle(DeleteOffer command)
+            throws FunPayApiException, InvalidGoldenKeyException {
         SaveOfferRequest request =
                 SaveOfferRequest.builder()
                         .nodeId(command.getLotId())
@@ -250,27 +451,73 @@ public class AuthorizedFunPayExecutor extends FunPayExecutor {
                         .isDeleted(true)
                         .build();
 
-        if (PHPSESSID == null || csrfToken == null) {
-            try {
-                updateCsrfTokenAndPHPSESSID();
-            } catch (FunPayApiException e) {
-                throw new RuntimeException(e.getCause());
-            }
-        }
+        saveOffer(request);
+    }
 
-        // attempt to regenerate csrfToken and PHPSESSID
-        try {
-            funPayClient.saveOffer(goldenKey, csrfToken, PHPSESSID, request);
-        } catch (InvalidCsrfTokenOrPHPSESSIDException e) {
-            updateCsrfTokenAndPHPSESSID();
+    /**
+     * Execute to delete many offers of the lot with bounded concurrency
+     *
+     * <p>Every offer is executed as its own {@link DeleteOffer}, so interceptors such as rate
+     * limits apply to every request
+     *
+     * @param command command that will be executed
+     * @return results in the order of the offers
+     * @throws FunPayApiException if the other api-related exception
+     * @throws LotNotFoundException if offer ids are not set and the lot with id does not found
+     * @throws IllegalArgumentException if neither offer ids nor user id are set or parallelism is
+     *     not positive
+     */
+    public List<DeleteOfferResult> execute(DeleteOffers command)
+            throws FunPayApiException, LotNotFoundException {
+        return execute((Command<List<DeleteOfferResult>>) command);
+    }
 
-            try {
-                funPayClient.saveOffer(goldenKey, csrfToken, PHPSESSID, request);
-            } catch (InvalidCsrfTokenOrPHPSESSIDException e1) {
-                // TODO: Throw something more contextual than RuntimeException
-                throw new RuntimeException(e1.getLocalizedMessage());
+    /** Handles {@link DeleteOffers}, see {@link #execute(DeleteOffers)} */
+    protected List<DeleteOfferResult> handle(DeleteOffers command)
+            throws FunPayApiException, LotNotFoundException {
+        long lotId = command.getLotId();
+        List<Long> offerIds = command.getOfferIds();
+
+        if (offerIds == null) {
+            if (command.getUserId() == null) {
+                throw new IllegalArgumentException("Either offerIds or userId must be set");
+            }
+
+            List<ParsedPreviewOffer> previewOffers =
+                    funPayParser.parseLot(lotId).getPreviewOffers();
+            offerIds = new ArrayList<>();
+            for (ParsedPreviewOffer previewOffer : previewOffers) {
+                if (previewOffer.getSeller().getUserId() == command.getUserId()) {
+                    offerIds.add(previewOffer.getOfferId());
+                }
             }
         }
+
+        if (offerIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Validate the session once, so the concurrent deletions do not race to load it
+        session.get();
+
+        List<Long> ids = offerIds;
+        DeleteOfferResult[] results = new DeleteOfferResult[ids.size()];
+        DeleteOffers.ProgressListener progressListener = command.getProgressListener();
+        AtomicInteger completed = new AtomicInteger();
+
+        runParallel(
+                ids.size(),
+                Math.min(ids.size(), parallelism(command.getParallelism())),
+                i -> {
+                    results[i] = deleteOffer(lotId, ids.get(i));
+
+                    if (progressListener != null) {
+                        progressListener.onProgress(
+                                results[i], completed.incrementAndGet(), ids.size());
+                    }
+                });
+
+        return Arrays.asList(results);
     }
 
     /**
@@ -283,28 +530,156 @@ public class AuthorizedFunPayExecutor extends FunPayExecutor {
      */
     public Long execute(CreateOfferImage command)
             throws FunPayApiException, InvalidGoldenKeyException {
-        return funPayClient.addOfferImage(goldenKey, command.getImage());
+        return execute((Command<Long>) command);
+    }
+
+    /**
+     * Handles {@link CreateOfferImage}, see {@link #execute(CreateOfferImage)}
+     *
+     * <p>If the offer image cache is set, images which were already uploaded are not uploaded
+     * again. If the image compressor is set, images are compressed before they are uploaded
+     */
+    protected Long handle(CreateOfferImage command)
+            throws FunPayApiException, InvalidGoldenKeyException {
+        ImageSource image =
+                command.getImageSource() != null
+                        ? command.getImageSource()
+                        : ImageSource.of(command.getImage());
+        OfferImageCache cache = offerImageCache;
+
+        if (cache == null || !image.isRepeatable()) {
+            return funPayClient.addOfferImage(goldenKey, compress(image));
+        }
+
+        String contentHash;
+        try {
+            contentHash = OfferImageCache.contentHash(image);
+        } catch (IOException e) {
+            throw new FunPayApiException(e.getLocalizedMessage());
+        }
+        Long imageId = cache.get(contentHash);
+
+        if (imageId == null) {
+            imageId = funPayClient.addOfferImage(goldenKey, compress(image));
+            cache.put(contentHash, imageId);
+        }
+
+        return imageId;
     }
 
     /**
-     * Execute to get user authorized
+     * Execute to create many offer images concurrently, every image is retried on api-related
+     * exception
+     *
+     * <p>Every image is executed as its own {@link CreateOfferImage}, so interceptors such as rate
+     * limits apply to every request
      *
      * @param command command that will be executed
-     * @return user
+     * @return imageIds in the order of the images
      * @throws FunPayApiException if the other api-related exception
-     * @throws UserNotFoundException if the user with id does not found
+     * @throws InvalidGoldenKeyException if the golden key is incorrect
+     * @throws IllegalArgumentException if parallelism is not positive
      */
-    public User execute(GetUser command) throws FunPayApiException, UserNotFoundException {
-        ParsedUser user = funPayParser.parseUser(goldenKey, command.getUserId());
-        return User.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .avatarPhotoLink(user.getAvatarPhotoLink())
-                .isOnline(user.isOnline())
-                .badges(user.getBadges())
-                .lastSeenAt(user.getLastSeenAt())
-                .registeredAt(user.getRegisteredAt())
-                .build();
+    public List<Long> execute(CreateOfferImages command)
+            throws FunPayApiException, InvalidGoldenKeyException {
+        return execute((Command<List<Long>>) command);
+    }
+
+    /** Handles {@link CreateOfferImages}, see {@link #execute(CreateOfferImages)} */
+    protected List<Long> handle(CreateOfferImages command)
+            throws FunPayApiException, InvalidGoldenKeyException {
+        List<ImageSource> images = command.getImages();
+        Long[] imageIds = new Long[images.size()];
+        int retries = command.getRetries() == null ? DEFAULT_RETRIES : command.getRetries();
+
+        if (!images.isEmpty()) {
+            runParallel(
+                    images.size(),
+                    Math.min(images.size(), parallelism(command.getParallelism())),
+                    i -> imageIds[i] = createOfferImage(images.get(i), retries));
+        }
+
+        return Arrays.asList(imageIds);
+    }
+
+    private Long createOfferImage(ImageSource image, int retries) throws FunPayApiException {
+        CreateOfferImage command = new CreateOfferImage(null, image);
+
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return execute(command);
+            } catch (FunPayApiException e) {
+                if (attempt >= retries || !image.isRepeatable()) {
+                    throw e;
+                }
+            }
+
+            try {
+                Thread.sleep(RETRY_BACKOFF_MILLIS * (attempt + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FunPayApiException(e.getLocalizedMessage());
+            }
+        }
+    }
+
+    private static int parallelism(@Nullable Integer parallelism) {
+        if (parallelism == null) {
+            return DEFAULT_PARALLELISM;
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        return parallelism;
+    }
+
+    private static void runParallel(int count, int parallelism, IndexedTask task)
+            throws FunPayApiException {
+        ExecutorService executorService = Executors.newFixedThreadPool(parallelism);
+        AtomicInteger nextIndex = new AtomicInteger();
+        Runnable worker =
+                () -> {
+                    for (int i = nextIndex.getAndIncrement();
+                            i < count;
+                            i = nextIndex.getAndIncrement()) {
+                        try {
+                            task.run(i);
+                        } catch (FunPayApiException e) {
+                            nextIndex.set(count);
+                            throw new CompletionException(e);
+                        } catch (RuntimeException e) {
+                            nextIndex.set(count);
+                            throw e;
+                        }
+                    }
+                };
+
+        try {
+            CompletableFuture<?>[] workers = new CompletableFuture<?>[parallelism];
+            for (int i = 0; i < parallelism; i++) {
+                workers[i] = CompletableFuture.runAsync(worker, executorService);
+            }
+            await(CompletableFuture.allOf(workers));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+        void run(int index) throws FunPayApiException;
+    }
+
+    private ImageSource compress(ImageSource image) throws FunPayApiException {
+        ImageCompressor compressor = imageCompressor;
+
+        return compressor == null ? image : await(compressor.compressAsync(image));
+    }
+
+    /** Handles {@link GetUser} authorized */
+    @Override
+    protected User handle(GetUser command) throws FunPayApiException, UserNotFoundException {
+        return FunPayObjectMapper.toUser(funPayParser.parseUser(goldenKey, command.getUserId()));
     }
 
     /**
@@ -318,34 +693,19 @@ public class AuthorizedFunPayExecutor extends FunPayExecutor {
      */
     public List<Transaction> execute(GetTransactions command)
             throws FunPayApiException, UserNotFoundException, InvalidGoldenKeyException {
-        List<ParsedTransaction> transactions;
-        if (command.getType() != null) {
-            transactions =
-                    funPayParser.parseTransactions(
-                            goldenKey,
-                            command.getUserId(),
-                            ParsedTransactionType.valueOf(command.getType().name()),
-                            command.getPages());
-        } else {
-            transactions =
-                    funPayParser.parseTransactions(
-                            goldenKey, command.getUserId(), null, command.getPages());
-        }
-        return transactions.stream()
-                .map(
-                        parsedTransaction -> {
-                            return Transaction.builder()
-                                    .id(parsedTransaction.getId())
-                                    .title(parsedTransaction.getTitle())
-                                    .status(
-                                            TransactionStatus.valueOf(
-                                                    parsedTransaction.getStatus().name()))
-                                    .paymentNumber(parsedTransaction.getPaymentNumber())
-                                    .date(parsedTransaction.getDate())
-                                    .price(parsedTransaction.getPrice())
-                                    .build();
-                        })
-                .collect(Collectors.toList());
+        return execute((Command<List<Transaction>>) command);
+    }
+
+    /** Handles {@link GetTransactions}, see {@link #execute(GetTransactions)} */
+    protected List<Transaction> handle(GetTransactions command)
+            throws FunPayApiException, UserNotFoundException, InvalidGoldenKeyException {
+        List<ParsedTransaction> transactions =
+                funPayParser.parseTransactions(
+                        goldenKey,
+                        command.getUserId(),
+                        FunPayObjectMapper.toParsedTransactionType(command.getType()),
+                        command.getPages());
+        return FunPayObjectMapper.mapAll(transactions, FunPayObjectMapper::toTransaction);
     }
 
     /**
@@ -357,27 +717,17 @@ public class AuthorizedFunPayExecutor extends FunPayExecutor {
      * @throws OrderNotFoundException if the order with id does not found
      */
     public Order execute(GetOrder command) throws FunPayApiException, OrderNotFoundException {
-        ParsedOrder parsedOrder = funPayParser.parseOrder(goldenKey, command.getOrderId());
-        return Order.builder()
-                .id(parsedOrder.getId())
-                .statuses(parsedOrder.getStatuses())
-                .shortDescription(parsedOrder.getShortDescription())
-                .detailedDescription(parsedOrder.getDetailedDescription())
-                .price(parsedOrder.getPrice())
-                .params(parsedOrder.getParams())
-                .other(parsedOrder.getOther())
-                .build();
+        return execute((Command<Order>) command);
     }
 
-    /**
-     * Execute to get seller reviews authorized
-     *
-     * @param command command that will be executed
-     * @return seller reviews
-     * @throws FunPayApiException if the other api-related exception
-     * @throws UserNotFoundException if the user with id does not found/seller
-     */
-    public List<SellerReview> execute(GetSellerReviews command)
+    /** Handles {@link GetOrder}, see {@link #execute(GetOrder)} */
+    protected Order handle(GetOrder command) throws FunPayApiException, OrderNotFoundException {
+        return FunPayObjectMapper.toOrder(funPayParser.parseOrder(goldenKey, command.getOrderId()));
+    }
+
+    /** Handles {@link GetSellerReviews} authorized */
+    @Override
+    protected List<SellerReview> handle(GetSellerReviews command)
             throws FunPayApiException, UserNotFoundException {
         List<ParsedSellerReview> sellerReviews;
         if (command.getStarsFilter() != null) {
@@ -392,43 +742,67 @@ public class AuthorizedFunPayExecutor extends FunPayExecutor {
                     funPayParser.parseSellerReviews(
                             goldenKey, command.getUserId(), command.getPages());
         }
-        return sellerReviews.stream()
-                .map(
-                        parsedSellerReview -> {
-                            if (parsedSellerReview instanceof ParsedAdvancedSellerReview) {
-                                return AdvancedSellerReview.builder()
-                                        .senderUserId(
-                                                ((ParsedAdvancedSellerReview) parsedSellerReview)
-                                                        .getSenderUserId())
-                                        .senderUsername(
-                                                ((ParsedAdvancedSellerReview) parsedSellerReview)
-                                                        .getSenderUsername())
-                                        .senderAvatarLink(
-                                                ((ParsedAdvancedSellerReview) parsedSellerReview)
-                                                        .getSenderAvatarLink())
-                                        .orderId(
-                                                ((ParsedAdvancedSellerReview) parsedSellerReview)
-                                                        .getOrderId())
-                                        .createdAt(
-                                                ((ParsedAdvancedSellerReview) parsedSellerReview)
-                                                        .getCreatedAt())
-                                        .gameTitle(parsedSellerReview.getGameTitle())
-                                        .price(parsedSellerReview.getPrice())
-                                        .text(parsedSellerReview.getText())
-                                        .stars(parsedSellerReview.getStars())
-                                        .sellerReplyText(parsedSellerReview.getSellerReplyText())
-                                        .build();
-                            } else {
-                                return SellerReview.builder()
-                                        .gameTitle(parsedSellerReview.getGameTitle())
-                                        .price(parsedSellerReview.getPrice())
-                                        .text(parsedSellerReview.getText())
-                                        .stars(parsedSellerReview.getStars())
-                                        .sellerReplyText(parsedSellerReview.getSellerReplyText())
-                                        .build();
-                            }
-                        })
-                .collect(Collectors.toList());
+        return FunPayObjectMapper.mapAll(sellerReviews, FunPayObjectMapper::toSellerReview);
+    }
+
+    /**
+     * Execute to get transactions of all types authorized fetching every type concurrently
+     *
+     * @param command command that will be executed
+     * @return transactions
+     * @throws FunPayApiException if the other api-related exception
+     * @throws UserNotFoundException if the user with id does not found
+     * @throws InvalidGoldenKeyException if the golden key is incorrect
+     */
+    public List<Transaction> execute(GetTransactionsHistory command)
+            throws FunPayApiException, UserNotFoundException, InvalidGoldenKeyException {
+        return execute((Command<List<Transaction>>) command);
+    }
+
+    /** Handles {@link GetTransactionsHistory}, see {@link #execute(GetTransactionsHistory)} */
+    protected List<Transaction> handle(GetTransactionsHistory command)
+            throws FunPayApiException, UserNotFoundException, InvalidGoldenKeyException {
+        ParsedTransactionType[] types = ParsedTransactionType.values();
+        List<PageSource<ParsedTransaction>> partitions = new ArrayList<>(types.length);
+        for (ParsedTransactionType type : types) {
+            partitions.add(
+                    continueArg ->
+                            funPayParser.parseTransactionsPageAsync(
+                                    goldenKey, command.getUserId(), type, continueArg));
+        }
+
+        List<ParsedTransaction> transactions =
+                await(
+                        PartitionedPages.collect(
+                                partitions,
+                                command.getPages() == null ? Integer.MAX_VALUE : command.getPages(),
+                                NEWEST_TRANSACTION_FIRST));
+        return FunPayObjectMapper.mapAll(transactions, FunPayObjectMapper::toTransaction);
+    }
+
+    /**
+     * Publish transactions authorized page by page as subscriber requests them
+     *
+     * @param command command that will be published, if pages is null all pages are published
+     * @return transactions publisher
+     */
+    public FunPayPublisher<Transaction> publish(GetTransactions command) {
+        ParsedTransactionType type = FunPayObjectMapper.toParsedTransactionType(command.getType());
+        return new PagedPublisher<>(
+                continueArg ->
+                        funPayParser.parseTransactionsPageAsync(
+                                goldenKey, command.getUserId(), type, continueArg),
+                FunPayObjectMapper::toTransaction,
+                command.getPages() == null ? Integer.MAX_VALUE : command.getPages());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected PageSource<ParsedSellerReview> sellerReviewsSource(
+            long userId, @Nullable Integer starsFilter) {
+        return continueArg ->
+                funPayParser.parseSellerReviewsPageAsync(
+                        goldenKey, userId, starsFilter, continueArg);
     }
 
     /**
@@ -441,10 +815,130 @@ public class AuthorizedFunPayExecutor extends FunPayExecutor {
         //  PHPSESSID
         //  that doesn't require making such relatively expensive queries
 
-        CsrfTokenAndPHPSESSID csrfTokenAndPHPSESSID =
-                funPayParser.parseCsrfTokenAndPHPSESSID(goldenKey);
+        session.refresh();
+    }
+
+    /**
+     * Get current PHPSESSID
+     *
+     * @return PHPSESSID, null if it has not been obtained yet
+     */
+    public @Nullable String getPHPSESSID() {
+        return session.getPHPSESSID();
+    }
+
+    /**
+     * Set PHPSESSID, the current csrf-token is kept
+     *
+     * @param PHPSESSID PHPSESSID
+     */
+    public void setPHPSESSID(@Nullable String PHPSESSID) {
+        session.set(session.getCsrfToken(), PHPSESSID);
+    }
+
+    /**
+     * Get current csrf-token
+     *
+     * @return csrf-token, null if it has not been obtained yet
+     */
+    public @Nullable String getCsrfToken() {
+        return session.getCsrfToken();
+    }
+
+    /**
+     * Set csrf-token, the current PHPSESSID is kept
+     *
+     * @param csrfToken csrf-token
+     */
+    public void setCsrfToken(@Nullable String csrfToken) {
+        session.set(csrfToken, session.getPHPSESSID());
+    }
+
+    /**
+     * Save the offer with the session, refreshing the session once if FunPay rejects it
+     *
+     * @param request request storing all necessary data for saving offer
+     * @throws FunPayApiException if the other api-related exception
+     */
+    private void saveOffer(SaveOfferRequest request) throws FunPayApiException {
+        session.execute(
+                csrfTokenAndPHPSESSID -> {
+                    funPayClient.saveOffer(
+                            goldenKey,
+                            csrfTokenAndPHPSESSID.getCsrfToken(),
+                            csrfTokenAndPHPSESSID.getPHPSESSID(),
+                            request);
+                    return null;
+                });
+
+        offerFingerprints.record(request);
+    }
 
-        this.csrfToken = csrfTokenAndPHPSESSID.getCsrfToken();
-        this.PHPSESSID = csrfTokenAndPHPSESSID.getPHPSESSID();
+    private DeleteOfferResult deleteOffer(long lotId, long offerId) {
+        try {
+            execute(new DeleteOffer(lotId, offerId));
+        } catch (FunPayApiException | RuntimeException e) {
+            return new DeleteOfferResult(offerId, e);
+        }
+
+        return new DeleteOfferResult(offerId, null);
+    }
+
+    private UpsertOfferResult upsertOffer(EditOffer offer) {
+        UpsertOfferResult.Status status;
+
+        try {
+            if (offer.getOfferId() == null) {
+                status = UpsertOfferResult.Status.CREATED;
+                execute(toCreateOffer(offer));
+            } else {
+                status = UpsertOfferResult.Status.UPDATED;
+                execute(offer);
+            }
+        } catch (FunPayApiException | RuntimeException e) {
+            return new UpsertOfferResult(offer.getOfferId(), UpsertOfferResult.Status.FAILED, e);
+        }
+
+        return new UpsertOfferResult(offer.getOfferId(), status, null);
+    }
+
+    private static CreateOffer toCreateOffer(EditOffer offer) {
+        return CreateOffer.builder()
+                .lotId(offer.getLotId())
+                .shortDescriptionRu(offer.getShortDescriptionRu())
+                .shortDescriptionEn(offer.getShortDescriptionEn())
+                .descriptionRu(offer.getDescriptionRu())
+                .descriptionEn(offer.getDescriptionEn())
+                .paymentMessageRu(offer.getPaymentMessageRu())
+                .paymentMessageEn(offer.getPaymentMessageEn())
+                .fields(offer.getFields())
+                .isAutoDelivery(offer.isAutoDelivery())
+                .isActive(offer.isActive())
+                .secrets(offer.getSecrets())
+                .imageIds(offer.getImageIds())
+                .price(offer.getPrice())
+                .amount(offer.getAmount())
+                .build();
+    }
+
+    private static SaveOfferRequest toSaveOfferRequest(EditOffer command) {
+        return SaveOfferRequest.builder()
+                .nodeId(command.getLotId())
+                .offerId(command.getOfferId())
+                .summaryRu(command.getShortDescriptionRu())
+                .summaryEn(command.getShortDescriptionEn())
+                .descRu(command.getDescriptionRu())
+                .descEn(command.getDescriptionEn())
+                .paymentMessageRu(command.getPaymentMessageRu())
+                .paymentMessageEn(command.getPaymentMessageEn())
+                .fields(command.getFields())
+                .isAutoDelivery(command.isAutoDelivery())
+                .isActive(command.isActive())
+                .isDeleted(false)
+                .secrets(command.getSecrets())
+                .images(command.getImageIds())
+                .price(command.getPrice())
+                .amount(command.getAmount())
+                .build();
     }
 }
@@ -0,0 +1,808 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.commands.Command;
+import com.therepanic.funpay4j.commands.game.GetPromoGames;
+import com.therepanic.funpay4j.commands.lot.GetLot;
+import com.therepanic.funpay4j.commands.offer.CreateOffer;
+import com.therepanic.funpay4j.commands.offer.DeleteOffer;
+import com.therepanic.funpay4j.commands.offer.DeleteOffers;
+import com.therepanic.funpay4j.commands.offer.EditOffer;
+import com.therepanic.funpay4j.commands.offer.GetOffer;
+import com.therepanic.funpay4j.commands.offer.RaiseAllOffers;
+import com.therepanic.funpay4j.commands.offer.RepriceOffer;
+import com.therepanic.funpay4j.commands.offer.UpsertOffers;
+import com.therepanic.funpay4j.commands.user.GetUser;
+import com.therepanic.funpay4j.exceptions.FunPayApiException;
+import com.therepanic.funpay4j.exceptions.lot.LotNotFoundException;
+import com.therepanic.funpay4j.exceptions.offer.OfferNotFoundException;
+import com.therepanic.funpay4j.exceptions.user.UserNotFoundException;
+import com.therepanic.funpay4j.request.SaveOfferRequest;
+import com.therepanic.funpay4j.snapshot.SnapshotEntry;
+import com.therepanic.funpay4j.snapshot.SnapshotFile;
+
+/**
+ * Interceptor which caches results of {@link GetLot}, {@link GetOffer}, {@link GetUser} and {@link
+ * GetPromoGames}
+ *
+ * <p>Every command has its own time to live, and the cache is bounded by the approximate heap size
+ * of the cached results, evicting least recently used results first. Offer commands executed
+ * through the same interceptor invalidate the affected offers and lots, so it should be added to
+ * both the reading and the writing executors. Users read by an {@link AuthorizedFunPayExecutor}
+ * are specific to its account and are never cached
+ *
+ * <p>Results may be served stale for a while after their time to live, while a single background
+ * refresh with random delay updates them, so hot results never block callers on the network
+ *
+ * <p>Ids of lots, offers and users which were not found are remembered for a configurable period,
+ * so repeated probes of them fail without downloading the page
+ *
+ * <p>Cached lots, offers and users may be persisted to a {@link SnapshotFile} and loaded after a
+ * restart, see {@link #enableSnapshots}
+ *
+ * <p>Cached results are shared between callers and must not be modified
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+public final class CachingInterceptor implements CommandInterceptor, AutoCloseable {
+    /** Default time to live of {@link GetLot} results */
+    public static final Duration DEFAULT_LOT_TTL = Duration.ofSeconds(30);
+
+    /** Default time to live of {@link GetOffer} results */
+    public static final Duration DEFAULT_OFFER_TTL = Duration.ofMinutes(1);
+
+    /** Default time to live of {@link GetUser} results */
+    public static final Duration DEFAULT_USER_TTL = Duration.ofMinutes(1);
+
+    /** Default time to live of {@link GetPromoGames} results */
+    public static final Duration DEFAULT_PROMO_GAMES_TTL = Duration.ofMinutes(10);
+
+    /** Default period for which ids of not found lots, offers and users are remembered */
+    public static final Duration DEFAULT_NOT_FOUND_TTL = Duration.ofMinutes(10);
+
+    /** Default maximum random delay of background refreshes of stale results */
+    public static final Duration DEFAULT_REFRESH_JITTER = Duration.ofSeconds(1);
+
+    /** Default number of threads refreshing stale results */
+    public static final int DEFAULT_REFRESH_THREADS = 2;
+
+    private final long maxWeight;
+
+    private final LongSupplier nanoTime;
+
+    private final Map<Class<?>, Long> ttlNanos = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Long> staleTtlNanos = new ConcurrentHashMap<>();
+
+    private final ScheduledThreadPoolExecutor refreshExecutor;
+
+    private volatile long refreshJitterNanos = DEFAULT_REFRESH_JITTER.toNanos();
+
+    @Nullable private volatile SnapshotFile snapshotFile;
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<Class<?>, ExpiringIdSet> notFoundIds = new HashMap<>();
+
+    private long weight;
+
+    private long generation;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    private long notFoundHitCount;
+
+    /**
+     * Creates a new CachingInterceptor instance
+     *
+     * @param maxWeight maximum approximate size of cached results in bytes
+     */
+    public CachingInterceptor(long maxWeight) {
+        this(maxWeight, DEFAULT_REFRESH_THREADS);
+    }
+
+    /**
+     * Creates a new CachingInterceptor instance
+     *
+     * @param maxWeight maximum approximate size of cached results in bytes
+     * @param refreshThreads number of threads refreshing stale results
+     */
+    public CachingInterceptor(long maxWeight, int refreshThreads) {
+        this(maxWeight, refreshThreads, System::nanoTime);
+    }
+
+    CachingInterceptor(long maxWeight, int refreshThreads, LongSupplier nanoTime) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("maxWeight must be positive");
+        }
+        if (refreshThreads < 1) {
+            throw new IllegalArgumentException("refreshThreads must be positive");
+        }
+
+        this.maxWeight = maxWeight;
+        this.nanoTime = nanoTime;
+        this.refreshExecutor =
+                new ScheduledThreadPoolExecutor(
+                        refreshThreads,
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "funpay4j-cache-refresh");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+
+        setTtl(GetLot.class, DEFAULT_LOT_TTL);
+        setTtl(GetOffer.class, DEFAULT_OFFER_TTL);
+        setTtl(GetUser.class, DEFAULT_USER_TTL);
+        setTtl(GetPromoGames.class, DEFAULT_PROMO_GAMES_TTL);
+        setNotFoundTtl(DEFAULT_NOT_FOUND_TTL);
+    }
+
+    /**
+     * Set the time to live of the command results
+     *
+     * @param commandClass class of cached commands
+     * @param ttl time to live, zero disables caching of the command
+     */
+    public void setTtl(Class<? extends Command<?>> commandClass, Duration ttl) {
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("ttl must not be negative");
+        }
+
+        ttlNanos.put(commandClass, ttl.toNanos());
+    }
+
+    /**
+     * Set the period after the time to live during which the stale result is still returned while
+     * a single background refresh of it runs, the result expires only after this period
+     *
+     * @param commandClass class of cached commands
+     * @param staleTtl period after the time to live, zero disables serving of stale results
+     */
+    public void setStaleTtl(Class<? extends Command<?>> commandClass, Duration staleTtl) {
+        if (staleTtl.isNegative()) {
+            throw new IllegalArgumentException("staleTtl must not be negative");
+        }
+
+        staleTtlNanos.put(commandClass, staleTtl.toNanos());
+    }
+
+    /**
+     * Set the maximum random delay of background refreshes, so results which became stale at the
+     * same time are not refreshed at once
+     *
+     * @param refreshJitter maximum delay, zero refreshes immediately
+     */
+    public void setRefreshJitter(Duration refreshJitter) {
+        if (refreshJitter.isNegative()) {
+            throw new IllegalArgumentException("refreshJitter must not be negative");
+        }
+
+        this.refreshJitterNanos = refreshJitter.toNanos();
+    }
+
+    /**
+     * Set the period for which ids of not found lots, offers and users are remembered, probes of
+     * remembered ids fail without executing the command
+     *
+     * <p>Ids are kept in compact bitmaps and are forgotten after at least half of the period
+     *
+     * @param ttl period, zero disables remembering of not found ids
+     */
+    public synchronized void setNotFoundTtl(Duration ttl) {
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("ttl must not be negative");
+        }
+
+        notFoundIds.clear();
+        if (!ttl.isZero()) {
+            notFoundIds.put(GetLot.class, new ExpiringIdSet(ttl.toNanos(), nanoTime));
+            notFoundIds.put(GetOffer.class, new ExpiringIdSet(ttl.toNanos(), nanoTime));
+            notFoundIds.put(GetUser.class, new ExpiringIdSet(ttl.toNanos(), nanoTime));
+        }
+    }
+
+    @Override
+    public @Nullable Object intercept(Chain chain) throws FunPayApiException {
+        Command<?> command = chain.command();
+        Key key =
+                command instanceof GetUser && FunPayExecutor.isAuthorized(chain)
+                        ? null
+                        : keyOf(command);
+
+        if (key == null) {
+            try {
+                return chain.proceed(command);
+            } finally {
+                invalidateWrittenBy(command);
+            }
+        }
+
+        checkNotFound(key);
+
+        Long ttl = ttlNanos.get(key.commandClass);
+        if (ttl == null || ttl == 0) {
+            return proceed(chain, key);
+        }
+
+        long startGeneration;
+        synchronized (this) {
+            Entry cached = get(key);
+            if (cached != null) {
+                hitCount++;
+                if (!cached.refreshing && nanoTime.getAsLong() - cached.staleAt >= 0) {
+                    scheduleRefresh(chain, key, cached);
+                }
+                return cached.value;
+            }
+
+            missCount++;
+            startGeneration = generation;
+        }
+
+        Object result = proceed(chain, key);
+
+        if (result != null) {
+            put(key, result, startGeneration);
+        }
+
+        return result;
+    }
+
+    /**
+     * Remove the cached result of the command
+     *
+     * @param command command which result will be removed
+     */
+    public void invalidate(Command<?> command) {
+        Key key = keyOf(command);
+
+        if (key != null) {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * Remove the cached lot
+     *
+     * @param lotId lot id
+     */
+    public void invalidateLot(long lotId) {
+        invalidate(new Key(GetLot.class, lotId));
+    }
+
+    /**
+     * Remove the cached offer
+     *
+     * @param offerId offer id
+     */
+    public void invalidateOffer(long offerId) {
+        invalidate(new Key(GetOffer.class, offerId));
+    }
+
+    /**
+     * Remove the cached user
+     *
+     * @param userId user id
+     */
+    public void invalidateUser(long userId) {
+        invalidate(new Key(GetUser.class, userId));
+    }
+
+    /**
+     * Load cached lots, offers and users from the snapshot, results which expired since they were
+     * fetched are skipped
+     *
+     * @param snapshotFile snapshot file
+     * @throws IOException if the snapshot can not be read
+     */
+    public void loadSnapshot(SnapshotFile snapshotFile) throws IOException {
+        for (SnapshotEntry snapshotEntry : snapshotFile.read()) {
+            Key key = Key.ofSnapshotKey(snapshotEntry.getKey());
+
+            if (key != null) {
+                Object value = snapshotEntry.getValue();
+                store(key, value, ObjectSizes.estimate(value), snapshotEntry.getFetchedAt());
+            }
+        }
+    }
+
+    /**
+     * Save cached lots, offers and users to the snapshot
+     *
+     * @param snapshotFile snapshot file
+     * @throws IOException if the snapshot can not be written
+     */
+    public void saveSnapshot(SnapshotFile snapshotFile) throws IOException {
+        List<SnapshotEntry> snapshotEntries = new ArrayList<>();
+
+        synchronized (this) {
+            for (Map.Entry<Key, Entry> entry : entries.entrySet()) {
+                String key = entry.getKey().toSnapshotKey();
+                Entry cached = entry.getValue();
+
+                if (key != null && SnapshotFile.isSupported(cached.value)) {
+                    snapshotEntries.add(new SnapshotEntry(key, cached.fetchedAt, cached.value));
+                }
+            }
+        }
+
+        snapshotFile.write(snapshotEntries);
+    }
+
+    /**
+     * Load the snapshot now, save it periodically and when the interceptor is closed, so caches
+     * start warm after a restart
+     *
+     * @param snapshotFile snapshot file
+     * @param period period between saves
+     * @throws IOException if the snapshot can not be read
+     * @throws IllegalStateException if snapshots are already enabled
+     */
+    public void enableSnapshots(SnapshotFile snapshotFile, Duration period) throws IOException {
+        synchronized (this) {
+            if (this.snapshotFile != null) {
+                throw new IllegalStateException("Snapshots are already enabled");
+            }
+            this.snapshotFile = snapshotFile;
+        }
+
+        try {
+            loadSnapshot(snapshotFile);
+        } catch (IOException | RuntimeException e) {
+            this.snapshotFile = null;
+            throw e;
+        }
+
+        refreshExecutor.scheduleWithFixedDelay(
+                () -> {
+                    try {
+                        saveSnapshot(snapshotFile);
+                    } catch (IOException | RuntimeException e) {
+                        // a failed save must not cancel the next ones
+                    }
+                },
+                period.toNanos(),
+                period.toNanos(),
+                TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stop background refreshes and save the snapshot if snapshots are enabled, stale results are
+     * still returned until they expire
+     *
+     * @throws UncheckedIOException if the snapshot can not be written
+     */
+    @Override
+    public void close() {
+        refreshExecutor.shutdownNow();
+
+        SnapshotFile snapshotFile = this.snapshotFile;
+        if (snapshotFile != null) {
+            try {
+                saveSnapshot(snapshotFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /** Remove all cached results */
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+        weight = 0;
+
+        for (ExpiringIdSet ids : notFoundIds.values()) {
+            ids.clear();
+        }
+    }
+
+    /**
+     * Get the statistics of the cache
+     *
+     * @return cache statistics
+     */
+    public synchronized Stats getStats() {
+        long notFoundCount = 0;
+        for (ExpiringIdSet ids : notFoundIds.values()) {
+            notFoundCount += ids.size();
+        }
+
+        return new Stats(
+                hitCount,
+                missCount,
+                evictionCount,
+                entries.size(),
+                weight,
+                notFoundHitCount,
+                notFoundCount);
+    }
+
+    private synchronized @Nullable Entry get(Key key) {
+        Entry entry = entries.get(key);
+
+        if (entry == null) {
+            return null;
+        }
+
+        if (nanoTime.getAsLong() - entry.expiresAt >= 0) {
+            entries.remove(key);
+            weight -= entry.weight;
+            evictionCount++;
+            return null;
+        }
+
+        return entry;
+    }
+
+    private void put(Key key, Object value, long startGeneration) {
+        long entryWeight = ObjectSizes.estimate(value);
+
+        synchronized (this) {
+            // an invalidation raced with the command, so its result may already be stale
+            if (generation == startGeneration) {
+                store(key, value, entryWeight, System.currentTimeMillis());
+            }
+        }
+    }
+
+    private synchronized boolean store(Key key, Object value, long entryWeight, long fetchedAt) {
+        Long ttl = ttlNanos.get(key.commandClass);
+
+        if (entryWeight > maxWeight || ttl == null || ttl == 0) {
+            return false;
+        }
+
+        long now = nanoTime.getAsLong();
+        long age =
+                TimeUnit.MILLISECONDS.toNanos(Math.max(0, System.currentTimeMillis() - fetchedAt));
+        long staleAt = now + ttl - age;
+        long expiresAt = staleAt + staleTtlNanos.getOrDefault(key.commandClass, 0L);
+
+        if (expiresAt - now <= 0) {
+            return false;
+        }
+
+        Entry previous =
+                entries.put(key, new Entry(value, entryWeight, fetchedAt, staleAt, expiresAt));
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        weight += entryWeight;
+
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (weight > maxWeight && iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            iterator.remove();
+            weight -= eldest.weight;
+            evictionCount++;
+        }
+        return true;
+    }
+
+    private void scheduleRefresh(Chain chain, Key key, Entry entry) {
+        long jitter = Math.min(refreshJitterNanos, (entry.expiresAt - entry.staleAt) / 2);
+
+        try {
+            refreshExecutor.schedule(
+                    () -> refresh(chain, key, entry),
+                    jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter) : 0,
+                    TimeUnit.NANOSECONDS);
+            entry.refreshing = true;
+        } catch (RejectedExecutionException e) {
+            // closed, the stale result is returned until it expires
+        }
+    }
+
+    private void refresh(Chain chain, Key key, Entry entry) {
+        Object result = null;
+        boolean notFound = false;
+
+        try {
+            result = chain.proceed(chain.command());
+        } catch (LotNotFoundException | OfferNotFoundException | UserNotFoundException e) {
+            notFound = true;
+        } catch (FunPayApiException | RuntimeException e) {
+            // the stale result is returned until it expires, and the next hit retries the refresh
+        }
+
+        long resultWeight = result == null ? 0 : ObjectSizes.estimate(result);
+        long fetchedAt = System.currentTimeMillis();
+
+        synchronized (this) {
+            // the result was invalidated or replaced while it was refreshed
+            if (entries.get(key) != entry) {
+                return;
+            }
+
+            entry.refreshing = false;
+
+            if (notFound || (result != null && !store(key, result, resultWeight, fetchedAt))) {
+                entries.remove(key);
+                weight -= entry.weight;
+            }
+            if (notFound) {
+                rememberNotFound(key);
+            }
+        }
+    }
+
+    private synchronized void invalidate(Key key) {
+        generation++;
+
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            weight -= entry.weight;
+        }
+
+        ExpiringIdSet ids = notFoundIds.get(key.commandClass);
+        if (ids != null && key.id instanceof Long) {
+            ids.remove((Long) key.id);
+        }
+    }
+
+    private @Nullable Object proceed(Chain chain, Key key) throws FunPayApiException {
+        try {
+            return chain.proceed(chain.command());
+        } catch (LotNotFoundException | OfferNotFoundException | UserNotFoundException e) {
+            rememberNotFound(key);
+            throw e;
+        }
+    }
+
+    private synchronized void checkNotFound(Key key) {
+        ExpiringIdSet ids = notFoundIds.get(key.commandClass);
+
+        if (ids == null || !(key.id instanceof Long) || !ids.contains((Long) key.id)) {
+            return;
+        }
+
+        notFoundHitCount++;
+
+        if (key.commandClass == GetLot.class) {
+            throw new LotNotFoundException("Lot with lotId " + key.id + " does not found");
+        } else if (key.commandClass == GetOffer.class) {
+            throw new OfferNotFoundException("Offer with offerId " + key.id + " does not found");
+        } else {
+            throw new UserNotFoundException("User with userId " + key.id + " does not found");
+        }
+    }
+
+    private synchronized void rememberNotFound(Key key) {
+        ExpiringIdSet ids = notFoundIds.get(key.commandClass);
+
+        if (ids != null && key.id instanceof Long) {
+            ids.add((Long) key.id);
+        }
+    }
+
+    private synchronized void invalidateAll(Class<?> commandClass) {
+        generation++;
+
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry> entry = iterator.next();
+            if (entry.getKey().commandClass == commandClass) {
+                iterator.remove();
+                weight -= entry.getValue().weight;
+            }
+        }
+    }
+
+    void invalidateWrittenBy(Command<?> command) {
+        if (command instanceof CreateOffer) {
+            invalidateLot(((CreateOffer) command).getLotId());
+            forgetNotFoundOffers();
+        } else if (command instanceof EditOffer) {
+            invalidateOffer((EditOffer) command);
+        } else if (command instanceof UpsertOffers) {
+            for (EditOffer offer : ((UpsertOffers) command).getOffers()) {
+                invalidateOffer(offer);
+                if (offer.getOfferId() == null) {
+                    forgetNotFoundOffers();
+                }
+            }
+        } else if (command instanceof RepriceOffer) {
+            SaveOfferRequest request = ((RepriceOffer) command).getTemplate().getRequest();
+            invalidateOffer(request.getNodeId(), request.getOfferId());
+        } else if (command instanceof DeleteOffer) {
+            DeleteOffer deleteOffer = (DeleteOffer) command;
+            invalidateOffer(deleteOffer.getLotId(), deleteOffer.getOfferId());
+        } else if (command instanceof DeleteOffers) {
+            DeleteOffers deleteOffers = (DeleteOffers) command;
+            List<Long> offerIds = deleteOffers.getOfferIds();
+
+            invalidateLot(deleteOffers.getLotId());
+            if (offerIds == null) {
+                // offers are resolved from the lot page, so any cached offer may be gone
+                invalidateAll(GetOffer.class);
+            } else {
+                for (Long offerId : offerIds) {
+                    invalidateOffer(offerId);
+                }
+            }
+        } else if (command instanceof RaiseAllOffers) {
+            invalidateLot(((RaiseAllOffers) command).getLotId());
+        }
+    }
+
+    private synchronized void forgetNotFoundOffers() {
+        // created offers get ids that may have been probed before
+        ExpiringIdSet ids = notFoundIds.get(GetOffer.class);
+        if (ids != null) {
+            ids.clear();
+        }
+    }
+
+    private void invalidateOffer(EditOffer offer) {
+        invalidateOffer(offer.getLotId(), offer.getOfferId());
+    }
+
+    private void invalidateOffer(@Nullable Long lotId, @Nullable Long offerId) {
+        if (lotId != null) {
+            invalidateLot(lotId);
+        }
+        if (offerId != null) {
+            invalidateOffer(offerId.longValue());
+        }
+    }
+
+    private static @Nullable Key keyOf(Command<?> command) {
+        if (command instanceof GetLot) {
+            return new Key(GetLot.class, ((GetLot) command).getLotId());
+        } else if (command instanceof GetOffer) {
+            return new Key(GetOffer.class, ((GetOffer) command).getOfferId());
+        } else if (command instanceof GetUser) {
+            return new Key(GetUser.class, ((GetUser) command).getUserId());
+        } else if (command instanceof GetPromoGames) {
+            return new Key(GetPromoGames.class, ((GetPromoGames) command).getQuery());
+        }
+
+        return null;
+    }
+
+    /** Statistics of the cache */
+    @Getter
+    @AllArgsConstructor
+    public static final class Stats {
+        private final long hitCount;
+
+        private final long missCount;
+
+        /** Number of results removed because they expired or the cache was full */
+        private final long evictionCount;
+
+        private final int size;
+
+        /** Approximate size of cached results in bytes */
+        private final long weight;
+
+        /** Number of commands which failed with remembered not found ids */
+        private final long notFoundHitCount;
+
+        /** Number of remembered not found ids */
+        private final long notFoundCount;
+    }
+
+    private static final class Entry {
+        private final Object value;
+
+        private final long weight;
+
+        private final long fetchedAt;
+
+        private final long staleAt;
+
+        private final long expiresAt;
+
+        private boolean refreshing;
+
+        private Entry(Object value, long weight, long fetchedAt, long staleAt, long expiresAt) {
+            this.value = value;
+            this.weight = weight;
+            this.fetchedAt = fetchedAt;
+            this.staleAt = staleAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Key {
+        private final Class<?> commandClass;
+
+        @Nullable private final Object id;
+
+        private Key(Class<?> commandClass, @Nullable Object id) {
+            this.commandClass = commandClass;
+            this.id = id;
+        }
+
+        private static @Nullable Key ofSnapshotKey(String snapshotKey) {
+            int separator = snapshotKey.indexOf(':');
+            if (separator < 0) {
+                return null;
+            }
+
+            long id;
+            try {
+                id = Long.parseLong(snapshotKey.substring(separator + 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+
+            switch (snapshotKey.substring(0, separator)) {
+                case "lot":
+                    return new Key(GetLot.class, id);
+                case "offer":
+                    return new Key(GetOffer.class, id);
+                case "user":
+                    return new Key(GetUser.class, id);
+                default:
+                    return null;
+            }
+        }
+
+        private @Nullable String toSnapshotKey() {
+            if (commandClass == GetLot.class) {
+                return "lot:" + id;
+            } else if (commandClass == GetOffer.class) {
+                return "offer:" + id;
+            } else if (commandClass == GetUser.class) {
+                return "user:" + id;
+            }
+            return null;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return commandClass == other.commandClass && Objects.equals(id, other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * commandClass.hashCode() + Objects.hashCode(id);
+        }
+    }
+}
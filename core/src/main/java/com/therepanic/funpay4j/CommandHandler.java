@@ -0,0 +1,39 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.exceptions.FunPayApiException;
+
+/**
+ * Handler which executes commands of a single type
+ *
+ * @param <C> type of the command
+ * @param <R> type of the command result
+ * @author therepanic
+ * @since 1.0.7
+ */
+@FunctionalInterface
+public interface CommandHandler<C, R> {
+    /**
+     * Handle the command
+     *
+     * @param command command that will be handled
+     * @return result of the command, null for commands without result
+     * @throws FunPayApiException if the other api-related exception
+     */
+    @Nullable R handle(C command) throws FunPayApiException;
+}
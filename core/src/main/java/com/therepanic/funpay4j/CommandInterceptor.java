@@ -0,0 +1,61 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.commands.Command;
+import com.therepanic.funpay4j.exceptions.FunPayApiException;
+
+/**
+ * Interceptor which observes, modifies or short-circuits commands executed by {@link
+ * FunPayExecutor}
+ *
+ * <p>Interceptors are called in the order they were added. An interceptor either returns the result
+ * of {@link Chain#proceed} or produces the result itself without calling it
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+@FunctionalInterface
+public interface CommandInterceptor {
+    /**
+     * Intercept the command
+     *
+     * @param chain chain of the remaining interceptors and the command handler
+     * @return result of the command, null for commands without result
+     * @throws FunPayApiException if the other api-related exception
+     */
+    @Nullable Object intercept(Chain chain) throws FunPayApiException;
+
+    /** Remaining part of the interceptor chain */
+    interface Chain {
+        /**
+         * Get the command being executed
+         *
+         * @return command
+         */
+        Command<?> command();
+
+        /**
+         * Pass the command to the next interceptor or to the command handler
+         *
+         * @param command command that will be executed, may differ from {@link #command()}
+         * @return result of the command, null for commands without result
+         * @throws FunPayApiException if the other api-related exception
+         */
+        @Nullable Object proceed(Command<?> command) throws FunPayApiException;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Set of primitive long ids which forgets ids after a period
+ *
+ * <p>Ids are kept in two generations of {@link LongBitmap}, and the older generation is dropped
+ * every half of the period, so an id is remembered for at least half of the period and at most the
+ * whole period
+ *
+ * <p>This class is not thread-safe
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+final class ExpiringIdSet {
+    private final long halfPeriodNanos;
+
+    private final LongSupplier nanoTime;
+
+    private LongBitmap current = new LongBitmap();
+
+    private LongBitmap previous = new LongBitmap();
+
+    private long rotateAt;
+
+    /**
+     * Creates a new ExpiringIdSet instance
+     *
+     * @param periodNanos period after which ids are forgotten in nanoseconds
+     * @param nanoTime source of the current time in nanoseconds
+     */
+    ExpiringIdSet(long periodNanos, LongSupplier nanoTime) {
+        this.halfPeriodNanos = Math.max(1, periodNanos / 2);
+        this.nanoTime = nanoTime;
+        this.rotateAt = nanoTime.getAsLong() + halfPeriodNanos;
+    }
+
+    /**
+     * Add the id to the set
+     *
+     * @param id id
+     */
+    void add(long id) {
+        rotate();
+        current.add(id);
+    }
+
+    /**
+     * Check if the id is in the set
+     *
+     * @param id id
+     * @return true if the id is in the set
+     */
+    boolean contains(long id) {
+        rotate();
+        return current.contains(id) || previous.contains(id);
+    }
+
+    /**
+     * Remove the id from the set
+     *
+     * @param id id
+     */
+    void remove(long id) {
+        current.remove(id);
+        previous.remove(id);
+    }
+
+    /**
+     * Get the number of ids in the set, ids in both generations are counted twice
+     *
+     * @return number of ids
+     */
+    long size() {
+        rotate();
+        return current.size() + previous.size();
+    }
+
+    /** Remove all ids from the set */
+    void clear() {
+        current.clear();
+        previous.clear();
+    }
+
+    private void rotate() {
+        long now = nanoTime.getAsLong();
+
+        if (now - rotateAt < 0) {
+            return;
+        }
+
+        if (now - rotateAt >= halfPeriodNanos) {
+            current.clear();
+        }
+
+        LongBitmap dropped = previous;
+        dropped.clear();
+        previous = current;
+        current = dropped;
+        rotateAt = now + halfPeriodNanos;
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import java.net.Proxy;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import okhttp3.OkHttpClient;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.client.FunPayClient;
+import com.therepanic.funpay4j.client.OkHttpFunPayClient;
+import com.therepanic.funpay4j.commands.Command;
+import com.therepanic.funpay4j.exceptions.FunPayApiException;
+import com.therepanic.funpay4j.parser.FunPayParser;
+import com.therepanic.funpay4j.parser.JsoupFunPayParser;
+
+/**
+ * This FunPay account pool is used to execute commands on behalf of many accounts
+ *
+ * <p>All accounts share a single http client, parser and client, so connections and threads scale
+ * with the number of concurrent requests rather than with the number of accounts. Each account
+ * keeps its own session and, optionally, its own rate limit
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+public class FunPayAccountPool {
+    private final FunPayParser funPayParser;
+
+    private final FunPayClient funPayClient;
+
+    private final ConcurrentMap<String, AuthorizedFunPayExecutor> accounts =
+            new ConcurrentHashMap<>();
+
+    private final CopyOnWriteArrayList<CommandInterceptor> interceptors =
+            new CopyOnWriteArrayList<>();
+
+    private final Map<AuthorizedFunPayExecutor, CommandInterceptor> rateLimits =
+            new IdentityHashMap<>();
+
+    /**
+     * Creates a new FunPayAccountPool instance
+     *
+     * @param baseURL base URL of the primary server
+     * @param proxy proxy for forwarding requests
+     */
+    public FunPayAccountPool(String baseURL, @Nullable Proxy proxy) {
+        this(FunPayExecutor.createHttpClient(proxy), baseURL);
+    }
+
+    private FunPayAccountPool(OkHttpClient httpClient, String baseURL) {
+        this(
+                new JsoupFunPayParser(httpClient, baseURL),
+                new OkHttpFunPayClient(httpClient, baseURL));
+    }
+
+    /**
+     * Creates a new FunPayAccountPool instance
+     *
+     * @param funPayParser parser which will be shared by all accounts
+     * @param funPayClient client which will be shared by all accounts
+     */
+    public FunPayAccountPool(FunPayParser funPayParser, FunPayClient funPayClient) {
+        this.funPayParser = funPayParser;
+        this.funPayClient = funPayClient;
+    }
+
+    /** Creates a new FunPayAccountPool instance */
+    public FunPayAccountPool() {
+        this(FunPayURL.BASE_URL, null);
+    }
+
+    /**
+     * Add the account without rate limit
+     *
+     * @param accountId id by which commands will be routed to the account
+     * @param goldenKey golden key which will be used to authorize the account
+     * @return executor of the account
+     * @throws IllegalArgumentException if the account with id is already added
+     */
+    public AuthorizedFunPayExecutor addAccount(String accountId, String goldenKey) {
+        return addAccount(accountId, goldenKey, null);
+    }
+
+    /**
+     * Add the account with its own rate limit
+     *
+     * <p>Only commands which pass all interceptors of the pool take a permit
+     *
+     * @param accountId id by which commands will be routed to the account
+     * @param goldenKey golden key which will be used to authorize the account
+     * @param permitsPerSecond number of commands allowed per second for the account
+     * @param burst number of commands allowed without waiting for the account
+     * @return executor of the account
+     * @throws IllegalArgumentException if the account with id is already added
+     */
+    public AuthorizedFunPayExecutor addAccount(
+            String accountId, String goldenKey, double permitsPerSecond, int burst) {
+        return addAccount(accountId, goldenKey, new RateLimitInterceptor(permitsPerSecond, burst));
+    }
+
+    private synchronized AuthorizedFunPayExecutor addAccount(
+            String accountId, String goldenKey, @Nullable CommandInterceptor rateLimit) {
+        if (accounts.containsKey(accountId)) {
+            throw new IllegalArgumentException("Account " + accountId + " is already added");
+        }
+
+        AuthorizedFunPayExecutor executor =
+                new AuthorizedFunPayExecutor(goldenKey, funPayParser, funPayClient);
+
+        for (CommandInterceptor interceptor : interceptors) {
+            executor.addInterceptor(interceptor);
+        }
+        // the rate limit is the last interceptor, so commands answered by the others take no permit
+        if (rateLimit != null) {
+            executor.addInterceptor(rateLimit);
+            rateLimits.put(executor, rateLimit);
+        }
+
+        accounts.put(accountId, executor);
+
+        return executor;
+    }
+
+    /**
+     * Remove the account
+     *
+     * @param accountId id of the account
+     * @return executor of the removed account, null if the account was not added
+     */
+    public synchronized @Nullable AuthorizedFunPayExecutor removeAccount(String accountId) {
+        AuthorizedFunPayExecutor executor = accounts.remove(accountId);
+
+        if (executor != null) {
+            rateLimits.remove(executor);
+        }
+
+        return executor;
+    }
+
+    /**
+     * Get the executor of the account
+     *
+     * @param accountId id of the account
+     * @return executor of the account
+     * @throws IllegalArgumentException if the account with id is not added
+     */
+    public AuthorizedFunPayExecutor getAccount(String accountId) {
+        AuthorizedFunPayExecutor executor = accounts.get(accountId);
+
+        if (executor == null) {
+            throw new IllegalArgumentException("Account " + accountId + " is not added");
+        }
+
+        return executor;
+    }
+
+    /**
+     * Get ids of the added accounts
+     *
+     * @return unmodifiable view of the account ids
+     */
+    public Set<String> getAccountIds() {
+        return Collections.unmodifiableSet(accounts.keySet());
+    }
+
+    /**
+     * Execute the command on behalf of the account
+     *
+     * @param accountId id of the account
+     * @param command command that will be executed
+     * @param <R> type of the command result
+     * @return result of the command, null for commands without result
+     * @throws FunPayApiException if the other api-related exception
+     * @throws IllegalArgumentException if the account with id is not added or the command is not
+     *     supported
+     */
+    public <R> R execute(String accountId, Command<R> command) throws FunPayApiException {
+        return getAccount(accountId).execute(command);
+    }
+
+    /**
+     * Add the interceptor to the end of the interceptor chain of every current and future account
+     *
+     * <p>The interceptor is called before the rate limit of the account, so commands it answers
+     * without proceeding take no permit
+     *
+     * @param interceptor interceptor that will be called for every executed command
+     */
+    public synchronized void addInterceptor(CommandInterceptor interceptor) {
+        interceptors.add(interceptor);
+
+        for (AuthorizedFunPayExecutor executor : accounts.values()) {
+            CommandInterceptor rateLimit = rateLimits.get(executor);
+
+            if (rateLimit == null) {
+                executor.addInterceptor(interceptor);
+            } else {
+                executor.addInterceptorBefore(interceptor, rateLimit);
+            }
+        }
+    }
+}
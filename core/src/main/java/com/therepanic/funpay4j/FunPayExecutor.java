@@ -15,8 +15,15 @@
 package com.therepanic.funpay4j;
 
 import java.net.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import okhttp3.OkHttpClient;
 
@@ -24,10 +31,13 @@ import org.jspecify.annotations.Nullable;
 
 import com.therepanic.funpay4j.client.FunPayClient;
 import com.therepanic.funpay4j.client.OkHttpFunPayClient;
+import com.therepanic.funpay4j.commands.Command;
 import com.therepanic.funpay4j.commands.game.GetPromoGames;
 import com.therepanic.funpay4j.commands.lot.GetLot;
+import com.therepanic.funpay4j.commands.lot.GetLots;
 import com.therepanic.funpay4j.commands.offer.GetOffer;
 import com.therepanic.funpay4j.commands.user.GetSellerReviews;
+import com.therepanic.funpay4j.commands.user.GetSellerReviewsHistory;
 import com.therepanic.funpay4j.commands.user.GetUser;
 import com.therepanic.funpay4j.exceptions.FunPayApiException;
 import com.therepanic.funpay4j.exceptions.lot.LotNotFoundException;
@@ -35,21 +45,18 @@ import com.therepanic.funpay4j.exceptions.offer.OfferNotFoundException;
 import com.therepanic.funpay4j.exceptions.user.UserNotFoundException;
 import com.therepanic.funpay4j.objects.game.ParsedPromoGame;
 import com.therepanic.funpay4j.objects.game.PromoGame;
-import com.therepanic.funpay4j.objects.game.PromoGameCounter;
 import com.therepanic.funpay4j.objects.lot.Lot;
-import com.therepanic.funpay4j.objects.lot.LotCounter;
-import com.therepanic.funpay4j.objects.lot.ParsedLot;
 import com.therepanic.funpay4j.objects.offer.Offer;
-import com.therepanic.funpay4j.objects.offer.ParsedOffer;
-import com.therepanic.funpay4j.objects.offer.PreviewOffer;
-import com.therepanic.funpay4j.objects.user.*;
-import com.therepanic.funpay4j.objects.user.AdvancedSellerReview;
-import com.therepanic.funpay4j.objects.user.PreviewSeller;
-import com.therepanic.funpay4j.objects.user.Seller;
+import com.therepanic.funpay4j.objects.user.ParsedAdvancedSellerReview;
+import com.therepanic.funpay4j.objects.user.ParsedSellerReview;
 import com.therepanic.funpay4j.objects.user.SellerReview;
 import com.therepanic.funpay4j.objects.user.User;
 import com.therepanic.funpay4j.parser.FunPayParser;
 import com.therepanic.funpay4j.parser.JsoupFunPayParser;
+import com.therepanic.funpay4j.stream.FunPayPublisher;
+import com.therepanic.funpay4j.stream.PageSource;
+import com.therepanic.funpay4j.stream.PagedPublisher;
+import com.therepanic.funpay4j.stream.PartitionedPages;
 
 /**
  * This FunPay executor is used to execute commands
@@ -58,10 +65,19 @@ import com.therepanic.funpay4j.parser.JsoupFunPayParser;
  * @since 1.0.0
  */
 public class FunPayExecutor {
+    private static final Comparator<ParsedSellerReview> NEWEST_SELLER_REVIEW_FIRST =
+            Comparator.comparing(
+                    FunPayExecutor::getCreatedAt,
+                    Comparator.nullsLast(Comparator.<Date>reverseOrder()));
+
     protected final FunPayParser funPayParser;
 
     protected final FunPayClient funPayClient;
 
+    private final Map<Class<?>, CommandHandler<?, ?>> handlers = new HashMap<>();
+
+    private volatile CommandInterceptor[] interceptors = new CommandInterceptor[0];
+
     /**
      * Creates a new FunPayExecutor instance
      *
@@ -69,16 +85,33 @@ public class FunPayExecutor {
      * @param proxy proxy for forwarding requests
      */
     public FunPayExecutor(String baseURL, @Nullable Proxy proxy) {
-        OkHttpClient httpClient;
+        this(createHttpClient(proxy), baseURL);
+    }
 
-        if (proxy == null) {
-            httpClient = new OkHttpClient();
-        } else {
-            httpClient = new OkHttpClient.Builder().proxy(proxy).build();
-        }
+    private FunPayExecutor(OkHttpClient httpClient, String baseURL) {
+        this(
+                new JsoupFunPayParser(httpClient, baseURL),
+                new OkHttpFunPayClient(httpClient, baseURL));
+    }
 
-        this.funPayParser = new JsoupFunPayParser(httpClient, baseURL);
-        this.funPayClient = new OkHttpFunPayClient(httpClient, baseURL);
+    /**
+     * Creates a new FunPayExecutor instance
+     *
+     * <p>The parser and the client are thread-safe and may be shared between many executors
+     *
+     * @param funPayParser parser which will be used to parse pages
+     * @param funPayClient client which will be used to send requests
+     */
+    public FunPayExecutor(FunPayParser funPayParser, FunPayClient funPayClient) {
+        this.funPayParser = funPayParser;
+        this.funPayClient = funPayClient;
+
+        registerHandler(GetLot.class, this::handle);
+        registerHandler(GetPromoGames.class, this::handle);
+        registerHandler(GetOffer.class, this::handle);
+        registerHandler(GetUser.class, this::handle);
+        registerHandler(GetSellerReviews.class, this::handle);
+        registerHandler(GetSellerReviewsHistory.class, this::handle);
     }
 
     /** Creates a new FunPayExecutor instance */
@@ -104,6 +137,55 @@ public class FunPayExecutor {
         this(FunPayURL.BASE_URL, proxy);
     }
 
+    /**
+     * Execute the command through the registered interceptors
+     *
+     * @param command command that will be executed
+     * @param <R> type of the command result
+     * @return result of the command, null for commands without result
+     * @throws FunPayApiException if the other api-related exception
+     * @throws IllegalArgumentException if the command is not supported by this executor
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R execute(Command<R> command) throws FunPayApiException {
+        return (R) new InterceptorChain(interceptors, 0, command).proceed(command);
+    }
+
+    /**
+     * Add the interceptor to the end of the interceptor chain
+     *
+     * @param interceptor interceptor that will be called for every executed command
+     */
+    public synchronized void addInterceptor(CommandInterceptor interceptor) {
+        CommandInterceptor[] newInterceptors = Arrays.copyOf(interceptors, interceptors.length + 1);
+        newInterceptors[interceptors.length] = interceptor;
+        interceptors = newInterceptors;
+    }
+
+    /**
+     * Add the interceptor right before the other interceptor, or to the end of the interceptor
+     * chain if the other interceptor is not added
+     *
+     * @param interceptor interceptor that will be called for every executed command
+     * @param next interceptor before which the interceptor will be called
+     */
+    synchronized void addInterceptorBefore(
+            CommandInterceptor interceptor, CommandInterceptor next) {
+        int index = Arrays.asList(interceptors).indexOf(next);
+
+        if (index < 0) {
+            addInterceptor(interceptor);
+            return;
+        }
+
+        CommandInterceptor[] newInterceptors = new CommandInterceptor[interceptors.length + 1];
+        System.arraycopy(interceptors, 0, newInterceptors, 0, index);
+        newInterceptors[index] = interceptor;
+        System.arraycopy(
+                interceptors, index, newInterceptors, index + 1, interceptors.length - index);
+        interceptors = newInterceptors;
+    }
+
     /**
      * Execute to get lot
      *
@@ -113,60 +195,12 @@ public class FunPayExecutor {
      * @throws LotNotFoundException if the lot with id does not found
      */
     public Lot execute(GetLot command) throws FunPayApiException, LotNotFoundException {
-        ParsedLot parsedLot = funPayParser.parseLot(command.getLotId());
-        return Lot.builder()
-                .id(parsedLot.getId())
-                .gameId(parsedLot.getGameId())
-                .title(parsedLot.getTitle())
-                .description(parsedLot.getDescription())
-                .lotCounters(
-                        parsedLot.getLotCounters().stream()
-                                .map(
-                                        parsedLotCounter -> {
-                                            return LotCounter.builder()
-                                                    .lotId(parsedLotCounter.getLotId())
-                                                    .param(parsedLotCounter.getParam())
-                                                    .counter(parsedLotCounter.getCounter())
-                                                    .build();
-                                        })
-                                .collect(Collectors.toList()))
-                .previewOffers(
-                        parsedLot.getPreviewOffers().stream()
-                                .map(
-                                        parsedPreviewOffer -> {
-                                            ParsedPreviewSeller previewSeller =
-                                                    parsedPreviewOffer.getSeller();
-                                            return PreviewOffer.builder()
-                                                    .offerId(parsedPreviewOffer.getOfferId())
-                                                    .shortDescription(
-                                                            parsedPreviewOffer
-                                                                    .getShortDescription())
-                                                    .price(parsedPreviewOffer.getPrice())
-                                                    .isAutoDelivery(
-                                                            parsedPreviewOffer.isAutoDelivery())
-                                                    .isPromo(parsedPreviewOffer.isPromo())
-                                                    .seller(
-                                                            PreviewSeller.builder()
-                                                                    .userId(
-                                                                            previewSeller
-                                                                                    .getUserId())
-                                                                    .username(
-                                                                            previewSeller
-                                                                                    .getUsername())
-                                                                    .avatarPhotoLink(
-                                                                            previewSeller
-                                                                                    .getAvatarPhotoLink())
-                                                                    .isOnline(
-                                                                            previewSeller
-                                                                                    .isOnline())
-                                                                    .reviewCount(
-                                                                            previewSeller
-                                                                                    .getReviewCount())
-                                                                    .build())
-                                                    .build();
-                                        })
-                                .collect(Collectors.toList()))
-                .build();
+        return execute((Command<Lot>) command);
+    }
+
+    /** Handles {@link GetLot}, see {@link #execute(GetLot)} */
+    protected Lot handle(GetLot command) throws FunPayApiException, LotNotFoundException {
+        return FunPayObjectMapper.toLot(funPayParser.parseLot(command.getLotId()));
     }
 
     /**
@@ -177,30 +211,13 @@ public class FunPayExecutor {
      * @throws FunPayApiException if the other api-related exception
      */
     public List<PromoGame> execute(GetPromoGames command) throws FunPayApiException {
+        return execute((Command<List<PromoGame>>) command);
+    }
+
+    /** Handles {@link GetPromoGames}, see {@link #execute(GetPromoGames)} */
+    protected List<PromoGame> handle(GetPromoGames command) throws FunPayApiException {
         List<ParsedPromoGame> promoGame = funPayParser.parsePromoGames(command.getQuery());
-        return promoGame.stream()
-                .map(
-                        parsedPromoGame -> {
-                            return PromoGame.builder()
-                                    .lotId(parsedPromoGame.getLotId())
-                                    .title(parsedPromoGame.getTitle())
-                                    .promoGameCounters(
-                                            parsedPromoGame.getPromoGameCounters().stream()
-                                                    .map(
-                                                            parsedPromoGameCounter -> {
-                                                                return PromoGameCounter.builder()
-                                                                        .lotId(
-                                                                                parsedPromoGameCounter
-                                                                                        .getLotId())
-                                                                        .title(
-                                                                                parsedPromoGameCounter
-                                                                                        .getTitle())
-                                                                        .build();
-                                                            })
-                                                    .collect(Collectors.toList()))
-                                    .build();
-                        })
-                .collect(Collectors.toList());
+        return FunPayObjectMapper.mapAll(promoGame, FunPayObjectMapper::toPromoGame);
     }
 
     /**
@@ -212,24 +229,12 @@ public class FunPayExecutor {
      * @throws OfferNotFoundException if the offer with id does not found
      */
     public Offer execute(GetOffer command) throws FunPayApiException, OfferNotFoundException {
-        ParsedOffer offer = funPayParser.parseOffer(command.getOfferId());
-        return Offer.builder()
-                .id(offer.getId())
-                .shortDescription(offer.getShortDescription())
-                .detailedDescription(offer.getDetailedDescription())
-                .isAutoDelivery(offer.isAutoDelivery())
-                .price(offer.getPrice())
-                .attachmentLinks(offer.getAttachmentLinks())
-                .parameters(offer.getParameters())
-                .seller(
-                        PreviewSeller.builder()
-                                .userId(offer.getSeller().getUserId())
-                                .username(offer.getSeller().getUsername())
-                                .avatarPhotoLink(offer.getSeller().getAvatarPhotoLink())
-                                .isOnline(offer.getSeller().isOnline())
-                                .reviewCount(offer.getSeller().getReviewCount())
-                                .build())
-                .build();
+        return execute((Command<Offer>) command);
+    }
+
+    /** Handles {@link GetOffer}, see {@link #execute(GetOffer)} */
+    protected Offer handle(GetOffer command) throws FunPayApiException, OfferNotFoundException {
+        return FunPayObjectMapper.toOffer(funPayParser.parseOffer(command.getOfferId()));
     }
 
     /**
@@ -241,96 +246,12 @@ public class FunPayExecutor {
      * @throws UserNotFoundException if the user with id does not found
      */
     public User execute(GetUser command) throws FunPayApiException, UserNotFoundException {
-        ParsedUser user = funPayParser.parseUser(command.getUserId());
-        if (user instanceof ParsedSeller) {
-            return Seller.builder()
-                    .id(user.getId())
-                    .username(user.getUsername())
-                    .avatarPhotoLink(user.getAvatarPhotoLink())
-                    .isOnline(user.isOnline())
-                    .badges(user.getBadges())
-                    .lastSeenAt(user.getLastSeenAt())
-                    .registeredAt(user.getRegisteredAt())
-                    .rating(((ParsedSeller) user).getRating())
-                    .reviewCount(((ParsedSeller) user).getReviewCount())
-                    .previewOffers(
-                            ((ParsedSeller) user)
-                                    .getPreviewOffers().stream()
-                                            .map(
-                                                    parsedPreviewOffer -> {
-                                                        ParsedPreviewSeller previewSeller =
-                                                                parsedPreviewOffer.getSeller();
-                                                        return PreviewOffer.builder()
-                                                                .offerId(
-                                                                        parsedPreviewOffer
-                                                                                .getOfferId())
-                                                                .shortDescription(
-                                                                        parsedPreviewOffer
-                                                                                .getShortDescription())
-                                                                .price(
-                                                                        parsedPreviewOffer
-                                                                                .getPrice())
-                                                                .isAutoDelivery(
-                                                                        parsedPreviewOffer
-                                                                                .isAutoDelivery())
-                                                                .isPromo(
-                                                                        parsedPreviewOffer
-                                                                                .isPromo())
-                                                                .seller(
-                                                                        PreviewSeller.builder()
-                                                                                .userId(
-                                                                                        previewSeller
-                                                                                                .getUserId())
-                                                                                .username(
-                                                                                        previewSeller
-                                                                                                .getUsername())
-                                                                                .avatarPhotoLink(
-                                                                                        previewSeller
-                                                                                                .getAvatarPhotoLink())
-                                                                                .isOnline(
-                                                                                        previewSeller
-                                                                                                .isOnline())
-                                                                                .reviewCount(
-                                                                                        previewSeller
-                                                                                                .getReviewCount())
-                                                                                .build())
-                                                                .build();
-                                                    })
-                                            .collect(Collectors.toList()))
-                    .lastReviews(
-                            ((ParsedSeller) user)
-                                    .getLastReviews().stream()
-                                            .map(
-                                                    parsedSellerReview -> {
-                                                        return SellerReview.builder()
-                                                                .gameTitle(
-                                                                        parsedSellerReview
-                                                                                .getGameTitle())
-                                                                .price(
-                                                                        parsedSellerReview
-                                                                                .getPrice())
-                                                                .text(parsedSellerReview.getText())
-                                                                .stars(
-                                                                        parsedSellerReview
-                                                                                .getStars())
-                                                                .sellerReplyText(
-                                                                        parsedSellerReview
-                                                                                .getSellerReplyText())
-                                                                .build();
-                                                    })
-                                            .collect(Collectors.toList()))
-                    .build();
-        } else {
-            return User.builder()
-                    .id(user.getId())
-                    .username(user.getUsername())
-                    .avatarPhotoLink(user.getAvatarPhotoLink())
-                    .isOnline(user.isOnline())
-                    .badges(user.getBadges())
-                    .lastSeenAt(user.getLastSeenAt())
-                    .registeredAt(user.getRegisteredAt())
-                    .build();
-        }
+        return execute((Command<User>) command);
+    }
+
+    /** Handles {@link GetUser}, see {@link #execute(GetUser)} */
+    protected User handle(GetUser command) throws FunPayApiException, UserNotFoundException {
+        return FunPayObjectMapper.toSellerOrUser(funPayParser.parseUser(command.getUserId()));
     }
 
     /**
@@ -343,6 +264,12 @@ public class FunPayExecutor {
      */
     public List<SellerReview> execute(GetSellerReviews command)
             throws FunPayApiException, UserNotFoundException {
+        return execute((Command<List<SellerReview>>) command);
+    }
+
+    /** Handles {@link GetSellerReviews}, see {@link #execute(GetSellerReviews)} */
+    protected List<SellerReview> handle(GetSellerReviews command)
+            throws FunPayApiException, UserNotFoundException {
         List<ParsedSellerReview> sellerReviews;
         if (command.getStarsFilter() != null) {
             sellerReviews =
@@ -352,42 +279,199 @@ public class FunPayExecutor {
             sellerReviews =
                     funPayParser.parseSellerReviews(command.getUserId(), command.getPages());
         }
-        return sellerReviews.stream()
-                .map(
-                        parsedSellerReview -> {
-                            if (parsedSellerReview instanceof ParsedAdvancedSellerReview) {
-                                return AdvancedSellerReview.builder()
-                                        .senderUserId(
-                                                ((ParsedAdvancedSellerReview) parsedSellerReview)
-                                                        .getSenderUserId())
-                                        .senderUsername(
-                                                ((ParsedAdvancedSellerReview) parsedSellerReview)
-                                                        .getSenderUsername())
-                                        .senderAvatarLink(
-                                                ((ParsedAdvancedSellerReview) parsedSellerReview)
-                                                        .getSenderAvatarLink())
-                                        .orderId(
-                                                ((ParsedAdvancedSellerReview) parsedSellerReview)
-                                                        .getOrderId())
-                                        .createdAt(
-                                                ((ParsedAdvancedSellerReview) parsedSellerReview)
-                                                        .getCreatedAt())
-                                        .gameTitle(parsedSellerReview.getGameTitle())
-                                        .price(parsedSellerReview.getPrice())
-                                        .text(parsedSellerReview.getText())
-                                        .stars(parsedSellerReview.getStars())
-                                        .sellerReplyText(parsedSellerReview.getSellerReplyText())
-                                        .build();
-                            } else {
-                                return SellerReview.builder()
-                                        .gameTitle(parsedSellerReview.getGameTitle())
-                                        .price(parsedSellerReview.getPrice())
-                                        .text(parsedSellerReview.getText())
-                                        .stars(parsedSellerReview.getStars())
-                                        .sellerReplyText(parsedSellerReview.getSellerReplyText())
-                                        .build();
-                            }
-                        })
-                .collect(Collectors.toList());
+        return FunPayObjectMapper.mapAll(sellerReviews, FunPayObjectMapper::toSellerReview);
+    }
+
+    /**
+     * Execute to get seller reviews fetching every stars filter concurrently
+     *
+     * @param command command that will be executed
+     * @return seller reviews
+     * @throws FunPayApiException if the other api-related exception
+     * @throws UserNotFoundException if the user with id does not found/seller
+     */
+    public List<SellerReview> execute(GetSellerReviewsHistory command)
+            throws FunPayApiException, UserNotFoundException {
+        return execute((Command<List<SellerReview>>) command);
+    }
+
+    /** Handles {@link GetSellerReviewsHistory}, see {@link #execute(GetSellerReviewsHistory)} */
+    protected List<SellerReview> handle(GetSellerReviewsHistory command)
+            throws FunPayApiException, UserNotFoundException {
+        List<PageSource<ParsedSellerReview>> partitions = new ArrayList<>(5);
+        for (int stars = 1; stars <= 5; stars++) {
+            partitions.add(sellerReviewsSource(command.getUserId(), stars));
+        }
+
+        List<ParsedSellerReview> sellerReviews =
+                await(
+                        PartitionedPages.collect(
+                                partitions,
+                                command.getPages() == null ? Integer.MAX_VALUE : command.getPages(),
+                                NEWEST_SELLER_REVIEW_FIRST));
+        return FunPayObjectMapper.mapAll(sellerReviews, FunPayObjectMapper::toSellerReview);
+    }
+
+    /**
+     * Publish lots one by one as subscriber requests them
+     *
+     * @param command command that will be published
+     * @return lots publisher
+     */
+    public FunPayPublisher<Lot> publish(GetLots command) {
+        return new PagedPublisher<>(
+                PageSource.ofItems(command.getLotIds(), funPayParser::parseLotAsync),
+                FunPayObjectMapper::toLot,
+                Integer.MAX_VALUE);
+    }
+
+    /**
+     * Publish seller reviews page by page as subscriber requests them
+     *
+     * @param command command that will be published, if pages is null all pages are published
+     * @return seller reviews publisher
+     */
+    public FunPayPublisher<SellerReview> publish(GetSellerReviews command) {
+        return new PagedPublisher<>(
+                sellerReviewsSource(command.getUserId(), command.getStarsFilter()),
+                FunPayObjectMapper::toSellerReview,
+                command.getPages() == null ? Integer.MAX_VALUE : command.getPages());
+    }
+
+    /**
+     * Creates a source of seller reviews pages
+     *
+     * @param userId user id by which seller reviews pages will be parsed
+     * @param starsFilter number of stars by which the reviews will be parsed, can be null
+     * @return seller reviews page source
+     */
+    protected PageSource<ParsedSellerReview> sellerReviewsSource(
+            long userId, @Nullable Integer starsFilter) {
+        return continueArg ->
+                funPayParser.parseSellerReviewsPageAsync(userId, starsFilter, continueArg);
+    }
+
+    /**
+     * Register the handler of commands with the class
+     *
+     * <p>The handler registered last for the class wins, so subclasses may replace handlers
+     *
+     * @param commandClass class of commands
+     * @param handler handler of commands
+     * @param <C> type of the command
+     * @param <R> type of the command result
+     */
+    protected <C extends Command<R>, R> void registerHandler(
+            Class<C> commandClass, CommandHandler<C, R> handler) {
+        handlers.put(commandClass, handler);
+    }
+
+    @SuppressWarnings("unchecked")
+    private @Nullable Object dispatch(Command<?> command) throws FunPayApiException {
+        for (Class<?> commandClass = command.getClass();
+                commandClass != null;
+                commandClass = commandClass.getSuperclass()) {
+            CommandHandler<Object, ?> handler =
+                    (CommandHandler<Object, ?>) handlers.get(commandClass);
+
+            if (handler != null) {
+                return handler.handle(command);
+            }
+        }
+
+        throw new IllegalArgumentException(
+                "Command " + command.getClass().getName() + " is not supported by this executor");
+    }
+
+    /**
+     * Creates a new http client
+     *
+     * @param proxy proxy for forwarding requests, can be null
+     * @return http client
+     */
+    protected static OkHttpClient createHttpClient(@Nullable Proxy proxy) {
+        if (proxy == null) {
+            return new OkHttpClient();
+        }
+
+        return new OkHttpClient.Builder().proxy(proxy).build();
+    }
+
+    /**
+     * Wait for the future and rethrow its failure as is
+     *
+     * @param future future that will be waited for
+     * @param <T> type of the result
+     * @return result of the future
+     * @throws FunPayApiException if the future failed with api-related exception or the thread was
+     *     interrupted
+     */
+    protected static <T> T await(CompletableFuture<T> future) throws FunPayApiException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new FunPayApiException(e.getLocalizedMessage());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof FunPayApiException) {
+                throw (FunPayApiException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new FunPayApiException(cause.getLocalizedMessage());
+        }
+    }
+
+    private static @Nullable Date getCreatedAt(ParsedSellerReview sellerReview) {
+        if (sellerReview instanceof ParsedAdvancedSellerReview) {
+            return ((ParsedAdvancedSellerReview) sellerReview).getCreatedAt();
+        }
+        return null;
+    }
+
+    /**
+     * Check whether the chain belongs to an authorized executor, whose reads may be specific to its
+     * account
+     */
+    static boolean isAuthorized(CommandInterceptor.Chain chain) {
+        return chain instanceof InterceptorChain
+                && ((InterceptorChain) chain).executor() instanceof AuthorizedFunPayExecutor;
+    }
+
+    private final class InterceptorChain implements CommandInterceptor.Chain {
+        private final CommandInterceptor[] interceptors;
+
+        private final int index;
+
+        private final Command<?> command;
+
+        private InterceptorChain(CommandInterceptor[] interceptors, int index, Command<?> command) {
+            this.interceptors = interceptors;
+            this.index = index;
+            this.command = command;
+        }
+
+        private FunPayExecutor executor() {
+            return FunPayExecutor.this;
+        }
+
+        @Override
+        public Command<?> command() {
+            return command;
+        }
+
+        @Override
+        public @Nullable Object proceed(Command<?> command) throws FunPayApiException {
+            if (index == interceptors.length) {
+                return dispatch(command);
+            }
+
+            return interceptors[index].intercept(
+                    new InterceptorChain(interceptors, index + 1, command));
+        }
     }
 }
@@ -0,0 +1,261 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.objects.game.ParsedPromoGame;
+import com.therepanic.funpay4j.objects.game.ParsedPromoGameCounter;
+import com.therepanic.funpay4j.objects.game.PromoGame;
+import com.therepanic.funpay4j.objects.game.PromoGameCounter;
+import com.therepanic.funpay4j.objects.lot.Lot;
+import com.therepanic.funpay4j.objects.lot.LotCounter;
+import com.therepanic.funpay4j.objects.lot.ParsedLot;
+import com.therepanic.funpay4j.objects.lot.ParsedLotCounter;
+import com.therepanic.funpay4j.objects.offer.Offer;
+import com.therepanic.funpay4j.objects.offer.ParsedOffer;
+import com.therepanic.funpay4j.objects.offer.ParsedPreviewOffer;
+import com.therepanic.funpay4j.objects.offer.PreviewOffer;
+import com.therepanic.funpay4j.objects.order.Order;
+import com.therepanic.funpay4j.objects.order.ParsedOrder;
+import com.therepanic.funpay4j.objects.transaction.ParsedTransaction;
+import com.therepanic.funpay4j.objects.transaction.ParsedTransactionStatus;
+import com.therepanic.funpay4j.objects.transaction.ParsedTransactionType;
+import com.therepanic.funpay4j.objects.transaction.Transaction;
+import com.therepanic.funpay4j.objects.transaction.TransactionStatus;
+import com.therepanic.funpay4j.objects.transaction.TransactionType;
+import com.therepanic.funpay4j.objects.user.AdvancedSellerReview;
+import com.therepanic.funpay4j.objects.user.ParsedAdvancedSellerReview;
+import com.therepanic.funpay4j.objects.user.ParsedPreviewSeller;
+import com.therepanic.funpay4j.objects.user.ParsedSeller;
+import com.therepanic.funpay4j.objects.user.ParsedSellerReview;
+import com.therepanic.funpay4j.objects.user.ParsedUser;
+import com.therepanic.funpay4j.objects.user.PreviewSeller;
+import com.therepanic.funpay4j.objects.user.Seller;
+import com.therepanic.funpay4j.objects.user.SellerReview;
+import com.therepanic.funpay4j.objects.user.User;
+
+/**
+ * Maps parsed FunPay objects to the objects returned by executors
+ *
+ * <p>The mapping calls constructors directly, sizes lists up front and maps enums with switches
+ * instead of streams, builders and {@code valueOf(name())} lookups. This only removes the
+ * intermediate builder and stream objects; the effect on allocation and latency has not been
+ * measured
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+final class FunPayObjectMapper {
+    private FunPayObjectMapper() {}
+
+    /**
+     * Map every parsed item into a list of exactly the same size
+     *
+     * @param parsedItems parsed items
+     * @param mapper function which maps a single item
+     * @param <P> type of parsed items
+     * @param <T> type of mapped items
+     * @return mapped items
+     */
+    static <P, T> List<T> mapAll(List<P> parsedItems, Function<? super P, ? extends T> mapper) {
+        List<T> items = new ArrayList<>(parsedItems.size());
+        for (int i = 0; i < parsedItems.size(); i++) {
+            items.add(mapper.apply(parsedItems.get(i)));
+        }
+        return items;
+    }
+
+    static Lot toLot(ParsedLot parsedLot) {
+        List<ParsedLotCounter> parsedLotCounters = parsedLot.getLotCounters();
+        List<LotCounter> lotCounters = new ArrayList<>(parsedLotCounters.size());
+        for (int i = 0; i < parsedLotCounters.size(); i++) {
+            ParsedLotCounter parsedLotCounter = parsedLotCounters.get(i);
+            lotCounters.add(
+                    new LotCounter(
+                            parsedLotCounter.getLotId(),
+                            parsedLotCounter.getParam(),
+                            parsedLotCounter.getCounter()));
+        }
+
+        return new Lot(
+                parsedLot.getId(),
+                parsedLot.getGameId(),
+                parsedLot.getTitle(),
+                parsedLot.getDescription(),
+                lotCounters,
+                mapAll(parsedLot.getPreviewOffers(), FunPayObjectMapper::toPreviewOffer));
+    }
+
+    static PromoGame toPromoGame(ParsedPromoGame parsedPromoGame) {
+        List<ParsedPromoGameCounter> parsedPromoGameCounters =
+                parsedPromoGame.getPromoGameCounters();
+        List<PromoGameCounter> promoGameCounters = new ArrayList<>(parsedPromoGameCounters.size());
+        for (int i = 0; i < parsedPromoGameCounters.size(); i++) {
+            ParsedPromoGameCounter parsedPromoGameCounter = parsedPromoGameCounters.get(i);
+            promoGameCounters.add(
+                    new PromoGameCounter(
+                            parsedPromoGameCounter.getLotId(), parsedPromoGameCounter.getTitle()));
+        }
+
+        return new PromoGame(
+                parsedPromoGame.getLotId(), parsedPromoGame.getTitle(), promoGameCounters);
+    }
+
+    static Offer toOffer(ParsedOffer offer) {
+        return new Offer(
+                offer.getId(),
+                offer.getShortDescription(),
+                offer.getDetailedDescription(),
+                offer.getParameters(),
+                offer.getPrice(),
+                offer.getAttachmentLinks(),
+                offer.isAutoDelivery(),
+                toPreviewSeller(offer.getSeller()));
+    }
+
+    static PreviewOffer toPreviewOffer(ParsedPreviewOffer parsedPreviewOffer) {
+        return new PreviewOffer(
+                parsedPreviewOffer.getOfferId(),
+                parsedPreviewOffer.getShortDescription(),
+                parsedPreviewOffer.getPrice(),
+                parsedPreviewOffer.isAutoDelivery(),
+                parsedPreviewOffer.isPromo(),
+                toPreviewSeller(parsedPreviewOffer.getSeller()));
+    }
+
+    static PreviewSeller toPreviewSeller(ParsedPreviewSeller previewSeller) {
+        PreviewSeller seller = new PreviewSeller(previewSeller.getReviewCount());
+        seller.setUserId(previewSeller.getUserId());
+        seller.setUsername(previewSeller.getUsername());
+        seller.setAvatarPhotoLink(previewSeller.getAvatarPhotoLink());
+        seller.setOnline(previewSeller.isOnline());
+        return seller;
+    }
+
+    /** Maps the parsed user to {@link Seller} if it is a seller, otherwise to {@link User} */
+    static User toSellerOrUser(ParsedUser user) {
+        if (!(user instanceof ParsedSeller)) {
+            return toUser(user);
+        }
+
+        ParsedSeller parsedSeller = (ParsedSeller) user;
+        Seller seller =
+                new Seller(
+                        parsedSeller.getRating(),
+                        parsedSeller.getReviewCount(),
+                        mapAll(parsedSeller.getPreviewOffers(), FunPayObjectMapper::toPreviewOffer),
+                        mapAll(parsedSeller.getLastReviews(), FunPayObjectMapper::toSellerReview));
+        seller.setId(parsedSeller.getId());
+        seller.setUsername(parsedSeller.getUsername());
+        seller.setAvatarPhotoLink(parsedSeller.getAvatarPhotoLink());
+        seller.setOnline(parsedSeller.isOnline());
+        seller.setBadges(parsedSeller.getBadges());
+        seller.setLastSeenAt(parsedSeller.getLastSeenAt());
+        seller.setRegisteredAt(parsedSeller.getRegisteredAt());
+        return seller;
+    }
+
+    static User toUser(ParsedUser user) {
+        return new User(
+                user.getId(),
+                user.getUsername(),
+                user.getAvatarPhotoLink(),
+                user.isOnline(),
+                user.getBadges(),
+                user.getLastSeenAt(),
+                user.getRegisteredAt());
+    }
+
+    static SellerReview toSellerReview(ParsedSellerReview parsedSellerReview) {
+        SellerReview sellerReview;
+        if (parsedSellerReview instanceof ParsedAdvancedSellerReview) {
+            ParsedAdvancedSellerReview parsedAdvancedSellerReview =
+                    (ParsedAdvancedSellerReview) parsedSellerReview;
+            sellerReview =
+                    new AdvancedSellerReview(
+                            parsedAdvancedSellerReview.getSenderUserId(),
+                            parsedAdvancedSellerReview.getSenderUsername(),
+                            parsedAdvancedSellerReview.getSenderAvatarLink(),
+                            parsedAdvancedSellerReview.getOrderId(),
+                            parsedAdvancedSellerReview.getCreatedAt());
+        } else {
+            sellerReview = new SellerReview();
+        }
+
+        sellerReview.setGameTitle(parsedSellerReview.getGameTitle());
+        sellerReview.setPrice(parsedSellerReview.getPrice());
+        sellerReview.setText(parsedSellerReview.getText());
+        sellerReview.setStars(parsedSellerReview.getStars());
+        sellerReview.setSellerReplyText(parsedSellerReview.getSellerReplyText());
+        return sellerReview;
+    }
+
+    static Transaction toTransaction(ParsedTransaction parsedTransaction) {
+        return new Transaction(
+                parsedTransaction.getId(),
+                parsedTransaction.getTitle(),
+                parsedTransaction.getPrice(),
+                toTransactionStatus(parsedTransaction.getStatus()),
+                parsedTransaction.getPaymentNumber(),
+                parsedTransaction.getDate());
+    }
+
+    static TransactionStatus toTransactionStatus(ParsedTransactionStatus status) {
+        switch (status) {
+            case COMPLETED:
+                return TransactionStatus.COMPLETED;
+            case CANCELED:
+                return TransactionStatus.CANCELED;
+            case WAITING:
+                return TransactionStatus.WAITING;
+            default:
+                throw new IllegalArgumentException("Unknown transaction status " + status);
+        }
+    }
+
+    static @Nullable ParsedTransactionType toParsedTransactionType(@Nullable TransactionType type) {
+        if (type == null) {
+            return null;
+        }
+        switch (type) {
+            case PAYMENT:
+                return ParsedTransactionType.PAYMENT;
+            case WITHDRAW:
+                return ParsedTransactionType.WITHDRAW;
+            case ORDER:
+                return ParsedTransactionType.ORDER;
+            case OTHER:
+                return ParsedTransactionType.OTHER;
+            default:
+                throw new IllegalArgumentException("Unknown transaction type " + type);
+        }
+    }
+
+    static Order toOrder(ParsedOrder parsedOrder) {
+        return new Order(
+                parsedOrder.getId(),
+                parsedOrder.getStatuses(),
+                parsedOrder.getShortDescription(),
+                parsedOrder.getDetailedDescription(),
+                parsedOrder.getParams(),
+                parsedOrder.getPrice(),
+                parsedOrder.getOther());
+    }
+}
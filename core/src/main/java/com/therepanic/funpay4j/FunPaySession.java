@@ -0,0 +1,323 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.exceptions.FunPayApiException;
+import com.therepanic.funpay4j.exceptions.InvalidCsrfTokenOrPHPSESSIDException;
+import com.therepanic.funpay4j.objects.CsrfTokenAndPHPSESSID;
+
+/**
+ * Session of the authorized user holding csrf-token and PHPSESSID
+ *
+ * <p>Csrf-token and PHPSESSID are always read and replaced together. Only one refresh runs at a
+ * time, threads which need the session during the refresh wait for its result instead of starting
+ * their own. The session is refreshed proactively once it is older than {@code maxAge -
+ * refreshAhead}: the refresh runs on the refresh executor while callers keep using the current
+ * session until {@code maxAge} is reached
+ *
+ * <p>FunPay does not expose the session lifetime, so the default ages are conservative. A session
+ * rejected by FunPay earlier is refreshed by {@link #execute} anyway
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+public class FunPaySession {
+    /** Default age after which the session is no longer used without refreshing it */
+    public static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(20);
+
+    /** Default time before {@link #DEFAULT_MAX_AGE} when the proactive refresh starts */
+    public static final Duration DEFAULT_REFRESH_AHEAD = Duration.ofMinutes(2);
+
+    private static final ExecutorService DEFAULT_REFRESH_EXECUTOR =
+            Executors.newCachedThreadPool(
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "funpay4j-session-refresh");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    private final Loader loader;
+
+    private final long maxAgeNanos;
+
+    private final long refreshAfterNanos;
+
+    private final Executor refreshExecutor;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile @Nullable Entry current;
+
+    /**
+     * Creates a new FunPaySession instance
+     *
+     * @param loader loader of a new csrf-token and PHPSESSID
+     * @param maxAge age after which the session is no longer used without refreshing it
+     * @param refreshAhead time before max age when the proactive refresh starts
+     * @param refreshExecutor executor which runs proactive refreshes
+     */
+    public FunPaySession(
+            Loader loader, Duration maxAge, Duration refreshAhead, Executor refreshExecutor) {
+        if (maxAge.isNegative() || maxAge.isZero()) {
+            throw new IllegalArgumentException("maxAge must be positive");
+        }
+        if (refreshAhead.isNegative() || refreshAhead.compareTo(maxAge) > 0) {
+            throw new IllegalArgumentException("refreshAhead must be between zero and maxAge");
+        }
+
+        this.loader = loader;
+        this.refreshExecutor = refreshExecutor;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.refreshAfterNanos = maxAge.minus(refreshAhead).toNanos();
+    }
+
+    /**
+     * Creates a new FunPaySession instance, proactive refreshes run on a shared daemon executor
+     *
+     * @param loader loader of a new csrf-token and PHPSESSID
+     * @param maxAge age after which the session is no longer used without refreshing it
+     * @param refreshAhead time before max age when the proactive refresh starts
+     */
+    public FunPaySession(Loader loader, Duration maxAge, Duration refreshAhead) {
+        this(loader, maxAge, refreshAhead, DEFAULT_REFRESH_EXECUTOR);
+    }
+
+    /**
+     * Creates a new FunPaySession instance with default ages
+     *
+     * @param loader loader of a new csrf-token and PHPSESSID
+     */
+    public FunPaySession(Loader loader) {
+        this(loader, DEFAULT_MAX_AGE, DEFAULT_REFRESH_AHEAD);
+    }
+
+    /**
+     * Get the session, loading or refreshing it if needed
+     *
+     * @return csrf-token and PHPSESSID
+     * @throws FunPayApiException if the other api-related exception
+     */
+    public CsrfTokenAndPHPSESSID get() throws FunPayApiException {
+        return acquire().value;
+    }
+
+    /**
+     * Execute the call with the session
+     *
+     * <p>If FunPay rejects the session, it is refreshed and the call is retried exactly once. When
+     * several threads hit the rejection at the same time only one of them refreshes the session
+     *
+     * @param call call that will be executed
+     * @param <T> type of the call result
+     * @return result of the call
+     * @throws FunPayApiException if the other api-related exception
+     * @throws InvalidCsrfTokenOrPHPSESSIDException if FunPay rejects the refreshed session too
+     */
+    public <T> T execute(Call<T> call) throws FunPayApiException {
+        Entry entry = acquire();
+
+        try {
+            return call.call(entry.value);
+        } catch (InvalidCsrfTokenOrPHPSESSIDException e) {
+            return call.call(replace(entry).value);
+        }
+    }
+
+    /**
+     * Load a new session unconditionally
+     *
+     * @return new csrf-token and PHPSESSID
+     * @throws FunPayApiException if the other api-related exception
+     */
+    public CsrfTokenAndPHPSESSID refresh() throws FunPayApiException {
+        refreshLock.lock();
+        try {
+            return load().value;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Replace the session with the given csrf-token and PHPSESSID
+     *
+     * <p>The session is used only when both values are present, otherwise it will be loaded
+     *
+     * @param csrfToken csrf-token, can be null
+     * @param PHPSESSID PHPSESSID, can be null
+     */
+    public void set(@Nullable String csrfToken, @Nullable String PHPSESSID) {
+        refreshLock.lock();
+        try {
+            current = new Entry(new CsrfTokenAndPHPSESSID(csrfToken, PHPSESSID), System.nanoTime());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Get the current csrf-token without loading it
+     *
+     * @return csrf-token, null if there is no session yet
+     */
+    public @Nullable String getCsrfToken() {
+        Entry entry = current;
+        return entry == null ? null : entry.csrfToken;
+    }
+
+    /**
+     * Get the current PHPSESSID without loading it
+     *
+     * @return PHPSESSID, null if there is no session yet
+     */
+    public @Nullable String getPHPSESSID() {
+        Entry entry = current;
+        return entry == null ? null : entry.PHPSESSID;
+    }
+
+    private Entry acquire() throws FunPayApiException {
+        Entry entry = current;
+
+        if (entry == null || !entry.isComplete()) {
+            return replace(entry);
+        }
+
+        long age = System.nanoTime() - entry.obtainedAt;
+
+        if (age < refreshAfterNanos) {
+            return entry;
+        }
+
+        if (age < maxAgeNanos) {
+            // The session is still usable, so it is refreshed in the background and nobody waits
+            refreshInBackground(entry);
+            return entry;
+        }
+
+        return replace(entry);
+    }
+
+    private void refreshInBackground(Entry seen) {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(
+                    () -> {
+                        refreshLock.lock();
+                        try {
+                            if (current == seen) {
+                                load();
+                            }
+                        } catch (FunPayApiException | RuntimeException e) {
+                            // Keep using the current session, a later call retries the refresh
+                        } finally {
+                            refreshLock.unlock();
+                            refreshing.set(false);
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+        }
+    }
+
+    /** Replace the seen entry unless another thread has already done it while this one waited */
+    private Entry replace(@Nullable Entry seen) throws FunPayApiException {
+        refreshLock.lock();
+        try {
+            Entry entry = current;
+
+            if (entry != seen
+                    && entry != null
+                    && entry.isComplete()
+                    && System.nanoTime() - entry.obtainedAt < maxAgeNanos) {
+                return entry;
+            }
+
+            return load();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Entry load() throws FunPayApiException {
+        Entry entry = new Entry(loader.load(), System.nanoTime());
+        current = entry;
+        return entry;
+    }
+
+    /** Loader of a new csrf-token and PHPSESSID */
+    @FunctionalInterface
+    public interface Loader {
+        /**
+         * Load a new csrf-token and PHPSESSID
+         *
+         * @return csrf-token and PHPSESSID
+         * @throws FunPayApiException if the other api-related exception
+         */
+        CsrfTokenAndPHPSESSID load() throws FunPayApiException;
+    }
+
+    /**
+     * Call which requires the session
+     *
+     * @param <T> type of the call result
+     */
+    @FunctionalInterface
+    public interface Call<T> {
+        /**
+         * Execute the call
+         *
+         * @param csrfTokenAndPHPSESSID csrf-token and PHPSESSID of the session
+         * @return result of the call
+         * @throws FunPayApiException if the other api-related exception
+         */
+        T call(CsrfTokenAndPHPSESSID csrfTokenAndPHPSESSID) throws FunPayApiException;
+    }
+
+    private static final class Entry {
+        private final @Nullable String csrfToken;
+
+        private final @Nullable String PHPSESSID;
+
+        private final CsrfTokenAndPHPSESSID value;
+
+        private final long obtainedAt;
+
+        private Entry(CsrfTokenAndPHPSESSID value, long obtainedAt) {
+            this.csrfToken = value.getCsrfToken();
+            this.PHPSESSID = value.getPHPSESSID();
+            this.value = value;
+            this.obtainedAt = obtainedAt;
+        }
+
+        private boolean isComplete() {
+            return csrfToken != null && PHPSESSID != null;
+        }
+    }
+}
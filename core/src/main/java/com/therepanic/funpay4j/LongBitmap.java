@@ -0,0 +1,182 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Compact set of primitive long ids
+ *
+ * <p>Ids are split into chunks of 65536 consecutive ids. A sparse chunk stores its ids as a sorted
+ * array of 2 bytes per id, and a chunk with more than 4096 ids switches to a bitmap of 8 KB, so
+ * dense id ranges cost about one bit per id
+ *
+ * <p>This class is not thread-safe
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+final class LongBitmap {
+    private static final int ARRAY_LIMIT = 4096;
+
+    private static final int BITMAP_WORDS = 1024;
+
+    private final Map<Long, Chunk> chunks = new HashMap<>();
+
+    private long size;
+
+    /**
+     * Add the id to the set
+     *
+     * @param id id
+     * @return true if the id was not in the set
+     */
+    boolean add(long id) {
+        Chunk chunk = chunks.computeIfAbsent(id >>> 16, high -> new Chunk());
+
+        if (chunk.add((char) id)) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Check if the id is in the set
+     *
+     * @param id id
+     * @return true if the id is in the set
+     */
+    boolean contains(long id) {
+        Chunk chunk = chunks.get(id >>> 16);
+
+        return chunk != null && chunk.contains((char) id);
+    }
+
+    /**
+     * Remove the id from the set
+     *
+     * @param id id
+     * @return true if the id was in the set
+     */
+    boolean remove(long id) {
+        Chunk chunk = chunks.get(id >>> 16);
+
+        if (chunk == null || !chunk.remove((char) id)) {
+            return false;
+        }
+
+        if (chunk.cardinality == 0) {
+            chunks.remove(id >>> 16);
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Get the number of ids in the set
+     *
+     * @return number of ids
+     */
+    long size() {
+        return size;
+    }
+
+    /** Remove all ids from the set */
+    void clear() {
+        chunks.clear();
+        size = 0;
+    }
+
+    private static final class Chunk {
+        private char[] values = new char[4];
+
+        private long @Nullable [] bits;
+
+        private int cardinality;
+
+        private boolean add(char low) {
+            if (bits != null) {
+                long mask = 1L << low;
+                if ((bits[low >>> 6] & mask) != 0) {
+                    return false;
+                }
+                bits[low >>> 6] |= mask;
+                cardinality++;
+                return true;
+            }
+
+            int index = Arrays.binarySearch(values, 0, cardinality, low);
+            if (index >= 0) {
+                return false;
+            }
+
+            if (cardinality == ARRAY_LIMIT) {
+                toBitmap();
+                return add(low);
+            }
+
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, cardinality * 2));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = low;
+            cardinality++;
+            return true;
+        }
+
+        private boolean contains(char low) {
+            if (bits != null) {
+                return (bits[low >>> 6] & (1L << low)) != 0;
+            }
+
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        private boolean remove(char low) {
+            if (bits != null) {
+                long mask = 1L << low;
+                if ((bits[low >>> 6] & mask) == 0) {
+                    return false;
+                }
+                bits[low >>> 6] &= ~mask;
+                cardinality--;
+                return true;
+            }
+
+            int index = Arrays.binarySearch(values, 0, cardinality, low);
+            if (index < 0) {
+                return false;
+            }
+
+            System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+            cardinality--;
+            return true;
+        }
+
+        private void toBitmap() {
+            bits = new long[BITMAP_WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                bits[values[i] >>> 6] |= 1L << values[i];
+            }
+            values = new char[0];
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Approximate heap size of FunPay objects, used as the weight of cached results
+ *
+ * <p>The estimate assumes 16 bytes of object header and 8 bytes per reference or primitive field.
+ * Only fields of this library's classes are walked, other objects are counted by their header
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+final class ObjectSizes {
+    private static final int OBJECT_HEADER = 16;
+
+    private static final int FIELD = 8;
+
+    private static final String PACKAGE_PREFIX = "com.therepanic.funpay4j.";
+
+    private static final ClassValue<Field[]> FIELDS =
+            new ClassValue<Field[]>() {
+                @Override
+                protected Field[] computeValue(Class<?> type) {
+                    List<Field> fields = new ArrayList<>();
+                    for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                        for (Field field : c.getDeclaredFields()) {
+                            if (!Modifier.isStatic(field.getModifiers())) {
+                                field.setAccessible(true);
+                                fields.add(field);
+                            }
+                        }
+                    }
+                    return fields.toArray(new Field[0]);
+                }
+            };
+
+    private ObjectSizes() {}
+
+    /**
+     * Estimate the size of the object including everything it references
+     *
+     * @param value object, can be null
+     * @return approximate size in bytes
+     */
+    static long estimate(@Nullable Object value) {
+        return estimate(value, new IdentityHashMap<>());
+    }
+
+    private static long estimate(@Nullable Object value, Map<Object, Boolean> visited) {
+        if (value == null || visited.put(value, Boolean.TRUE) != null) {
+            return 0;
+        }
+
+        if (value instanceof String) {
+            return OBJECT_HEADER + 24 + 2L * ((String) value).length();
+        } else if (value instanceof Collection) {
+            long size = OBJECT_HEADER + FIELD;
+            for (Object element : (Collection<?>) value) {
+                size += FIELD + estimate(element, visited);
+            }
+            return size;
+        } else if (value instanceof Map) {
+            long size = OBJECT_HEADER + FIELD;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += OBJECT_HEADER + 2 * FIELD;
+                size += estimate(entry.getKey(), visited) + estimate(entry.getValue(), visited);
+            }
+            return size;
+        } else if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            long size = OBJECT_HEADER + (long) length * FIELD;
+            if (!value.getClass().getComponentType().isPrimitive()) {
+                for (int i = 0; i < length; i++) {
+                    size += estimate(Array.get(value, i), visited);
+                }
+            }
+            return size;
+        } else if (!value.getClass().getName().startsWith(PACKAGE_PREFIX)
+                || value instanceof Enum) {
+            return OBJECT_HEADER + FIELD;
+        }
+
+        long size = OBJECT_HEADER;
+        for (Field field : FIELDS.get(value.getClass())) {
+            size += FIELD;
+            if (!field.getType().isPrimitive()) {
+                try {
+                    size += estimate(field.get(value), visited);
+                } catch (IllegalAccessException e) {
+                    // counted as a reference only
+                }
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.request.SaveOfferRequest;
+
+/**
+ * Content fingerprints of the last saved offers by offer id
+ *
+ * <p>Fingerprints are kept in memory and can be saved to and loaded from a file, so offers which
+ * did not change are skipped after a restart too
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+final class OfferFingerprints {
+    private static final int MAGIC = 0x46504f46;
+
+    private static final byte VERSION = 1;
+
+    private static final int FINGERPRINT_LENGTH = 32;
+
+    private final ConcurrentMap<Long, byte[]> fingerprints = new ConcurrentHashMap<>();
+
+    /**
+     * Check if the request has the same content as the last saved request of the offer
+     *
+     * @param request save offer request
+     * @return true if the offer was saved with the same content
+     */
+    boolean isUnchanged(SaveOfferRequest request) {
+        if (request.getOfferId() == null) {
+            return false;
+        }
+
+        byte[] fingerprint = fingerprints.get(request.getOfferId());
+
+        return fingerprint != null && Arrays.equals(fingerprint, fingerprint(request));
+    }
+
+    /**
+     * Remember the content of the saved request
+     *
+     * @param request save offer request that was successfully saved
+     */
+    void record(SaveOfferRequest request) {
+        if (request.getOfferId() == null) {
+            return;
+        }
+
+        if (request.isDeleted()) {
+            fingerprints.remove(request.getOfferId());
+        } else {
+            fingerprints.put(request.getOfferId(), fingerprint(request));
+        }
+    }
+
+    /**
+     * Forget the content of the offer, so the next request of the offer is never skipped
+     *
+     * @param offerId offer id, can be null
+     */
+    void forget(@Nullable Long offerId) {
+        if (offerId != null) {
+            fingerprints.remove(offerId);
+        }
+    }
+
+    /**
+     * Load fingerprints from the file, fingerprints recorded since the start are kept
+     *
+     * @param path path of the file
+     * @throws IOException if the file can not be read or is corrupted
+     */
+    void load(Path path) throws IOException {
+        try (DataInputStream in =
+                new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 65536))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IOException("File " + path + " is not an offer fingerprints file");
+            }
+
+            int size = in.readInt();
+            if (size < 0) {
+                throw new IOException("Offer fingerprints " + path + " are corrupted");
+            }
+
+            for (int i = 0; i < size; i++) {
+                long offerId = in.readLong();
+                byte[] fingerprint = new byte[FINGERPRINT_LENGTH];
+                in.readFully(fingerprint);
+                fingerprints.putIfAbsent(offerId, fingerprint);
+            }
+        } catch (NoSuchFileException e) {
+            // nothing was saved yet
+        } catch (EOFException e) {
+            throw new IOException("Offer fingerprints " + path + " are corrupted", e);
+        }
+    }
+
+    /**
+     * Replace the content of the file with the fingerprints
+     *
+     * @param path path of the file
+     * @throws IOException if the file can not be written
+     */
+    void save(Path path) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+
+        Map<Long, byte[]> snapshot = new TreeMap<>(fingerprints);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out =
+                    new DataOutputStream(
+                            new BufferedOutputStream(Files.newOutputStream(temporary), 65536))) {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<Long, byte[]> entry : snapshot.entrySet()) {
+                    out.writeLong(entry.getKey());
+                    out.write(entry.getValue());
+                }
+            }
+
+            Files.move(
+                    temporary,
+                    path,
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static byte[] fingerprint(SaveOfferRequest request) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        try (DataOutputStream out =
+                new DataOutputStream(new DigestOutputStream(NullOutputStream.INSTANCE, digest))) {
+            writeLong(out, request.getNodeId());
+            writeString(out, request.getSummaryRu());
+            writeString(out, request.getSummaryEn());
+            writeString(out, request.getDescRu());
+            writeString(out, request.getDescEn());
+            writeString(out, request.getPaymentMessageRu());
+            writeString(out, request.getPaymentMessageEn());
+            writeFields(out, request.getFields());
+            out.writeBoolean(request.isAutoDelivery());
+            out.writeBoolean(request.isActive());
+            writeSecrets(out, request.getSecrets());
+            writeImages(out, request.getImages());
+            out.writeBoolean(request.getPrice() != null);
+            if (request.getPrice() != null) out.writeDouble(request.getPrice());
+            out.writeBoolean(request.getAmount() != null);
+            if (request.getAmount() != null) out.writeInt(request.getAmount());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return digest.digest();
+    }
+
+    private static void writeLong(DataOutputStream out, @Nullable Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeLong(value);
+    }
+
+    private static void writeString(DataOutputStream out, @Nullable String value)
+            throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeFields(DataOutputStream out, @Nullable Map<String, String> fields)
+            throws IOException {
+        if (fields == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        out.writeInt(fields.size());
+        for (Map.Entry<String, String> field : new TreeMap<>(fields).entrySet()) {
+            writeString(out, field.getKey());
+            writeString(out, field.getValue());
+        }
+    }
+
+    private static void writeSecrets(DataOutputStream out, @Nullable List<String> secrets)
+            throws IOException {
+        if (secrets == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        out.writeInt(secrets.size());
+        for (String secret : secrets) {
+            writeString(out, secret);
+        }
+    }
+
+    private static void writeImages(DataOutputStream out, @Nullable List<Long> images)
+            throws IOException {
+        if (images == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        out.writeInt(images.size());
+        for (Long image : images) {
+            writeLong(out, image);
+        }
+    }
+
+    private static final class NullOutputStream extends OutputStream {
+        private static final NullOutputStream INSTANCE = new NullOutputStream();
+
+        @Override
+        public void write(int b) {}
+
+        @Override
+        public void write(byte[] b, int off, int len) {}
+    }
+}
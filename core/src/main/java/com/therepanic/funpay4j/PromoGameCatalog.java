@@ -0,0 +1,310 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.objects.game.PromoGame;
+import com.therepanic.funpay4j.objects.game.PromoGameCounter;
+
+/**
+ * Immutable in-memory search index of promo games
+ *
+ * <p>Titles are normalized to lower case words. Words of game titles and of their counter titles
+ * are kept in sorted arrays for prefix lookup, and game titles are indexed by trigrams for
+ * substring lookup
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+final class PromoGameCatalog {
+    private static final int EXACT_SCORE = 5;
+
+    private static final int TITLE_PREFIX_SCORE = 4;
+
+    private static final int WORD_PREFIX_SCORE = 3;
+
+    private static final int SUBSTRING_SCORE = 2;
+
+    private static final int COUNTER_SCORE = 1;
+
+    private final PromoGame[] games;
+
+    private final String[] titles;
+
+    private final WordIndex titleWords;
+
+    private final WordIndex counterWords;
+
+    private final Map<Long, int[]> trigrams;
+
+    private PromoGameCatalog(PromoGame[] games) {
+        this.games = games;
+        this.titles = new String[games.length];
+
+        Map<Long, List<Integer>> trigramLists = new HashMap<>();
+        List<String> titleWordList = new ArrayList<>();
+        List<Integer> titleWordGames = new ArrayList<>();
+        List<String> counterWordList = new ArrayList<>();
+        List<Integer> counterWordGames = new ArrayList<>();
+
+        for (int i = 0; i < games.length; i++) {
+            titles[i] = normalize(games[i].getTitle());
+
+            for (String word : words(titles[i])) {
+                titleWordList.add(word);
+                titleWordGames.add(i);
+            }
+
+            List<PromoGameCounter> counters = games[i].getPromoGameCounters();
+            if (counters != null) {
+                for (PromoGameCounter counter : counters) {
+                    for (String word : words(normalize(counter.getTitle()))) {
+                        counterWordList.add(word);
+                        counterWordGames.add(i);
+                    }
+                }
+            }
+
+            for (int j = 0; j + 3 <= titles[i].length(); j++) {
+                List<Integer> list =
+                        trigramLists.computeIfAbsent(trigram(titles[i], j), k -> new ArrayList<>());
+                if (list.isEmpty() || list.get(list.size() - 1) != i) {
+                    list.add(i);
+                }
+            }
+        }
+
+        this.titleWords = new WordIndex(titleWordList, titleWordGames);
+        this.counterWords = new WordIndex(counterWordList, counterWordGames);
+        this.trigrams = new HashMap<>(trigramLists.size() * 2);
+        for (Map.Entry<Long, List<Integer>> entry : trigramLists.entrySet()) {
+            trigrams.put(entry.getKey(), toArray(entry.getValue()));
+        }
+    }
+
+    /**
+     * Creates a catalog of the promo games
+     *
+     * @param games promo games
+     * @return catalog
+     */
+    static PromoGameCatalog of(Collection<PromoGame> games) {
+        return new PromoGameCatalog(games.toArray(new PromoGame[0]));
+    }
+
+    /**
+     * Get the number of games in the catalog
+     *
+     * @return number of games
+     */
+    int size() {
+        return games.length;
+    }
+
+    /**
+     * Search games matching the query
+     *
+     * <p>Games are ranked by exact title match, title prefix match, word prefix match, substring
+     * match and match of counter titles, and then by title length
+     *
+     * @param query query, every word of which must match
+     * @param limit maximum number of games
+     * @return matching games, best first
+     */
+    List<PromoGame> search(String query, int limit) {
+        String normalizedQuery = normalize(query);
+        int[] scores = new int[games.length];
+
+        if (normalizedQuery.isEmpty()) {
+            Arrays.fill(scores, COUNTER_SCORE);
+        } else {
+            String[] queryWords = words(normalizedQuery);
+
+            titleWords.match(queryWords, scores, WORD_PREFIX_SCORE);
+            counterWords.match(queryWords, scores, COUNTER_SCORE);
+            matchSubstring(normalizedQuery, scores);
+
+            for (int i = 0; i < games.length; i++) {
+                if (scores[i] == 0) {
+                    continue;
+                }
+                if (titles[i].equals(normalizedQuery)) {
+                    scores[i] = EXACT_SCORE;
+                } else if (titles[i].startsWith(normalizedQuery)) {
+                    scores[i] = TITLE_PREFIX_SCORE;
+                }
+            }
+        }
+
+        List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < games.length; i++) {
+            if (scores[i] > 0) {
+                matches.add(i);
+            }
+        }
+
+        matches.sort(
+                Comparator.<Integer>comparingInt(i -> -scores[i])
+                        .thenComparingInt(i -> titles[i].length())
+                        .thenComparing(i -> titles[i]));
+
+        List<PromoGame> result = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = 0; i < matches.size() && i < limit; i++) {
+            result.add(games[matches.get(i)]);
+        }
+        return result;
+    }
+
+    private void matchSubstring(String query, int[] scores) {
+        if (query.length() < 3) {
+            return;
+        }
+
+        int @Nullable [] candidates = null;
+        for (int j = 0; j + 3 <= query.length(); j++) {
+            int[] postings = trigrams.get(trigram(query, j));
+            if (postings == null) {
+                return;
+            }
+            if (candidates == null || postings.length < candidates.length) {
+                candidates = postings;
+            }
+        }
+
+        for (int i : candidates) {
+            if (scores[i] < SUBSTRING_SCORE && titles[i].contains(query)) {
+                scores[i] = SUBSTRING_SCORE;
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = true;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (c == 'ё') {
+                c = 'е';
+            }
+
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+                space = false;
+            } else if (!space) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+
+        int length = normalized.length();
+        if (length > 0 && normalized.charAt(length - 1) == ' ') {
+            normalized.setLength(length - 1);
+        }
+        return normalized.toString();
+    }
+
+    private static String[] words(String normalized) {
+        return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+    }
+
+    private static long trigram(String text, int index) {
+        return ((long) text.charAt(index) << 32)
+                | ((long) text.charAt(index + 1) << 16)
+                | text.charAt(index + 2);
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    /** Sorted words with the games they belong to */
+    private static final class WordIndex {
+        private final String[] words;
+
+        private final int[] games;
+
+        private WordIndex(List<String> words, List<Integer> games) {
+            Integer[] order = new Integer[words.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(words::get));
+
+            this.words = new String[order.length];
+            this.games = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                this.words[i] = words.get(order[i]);
+                this.games[i] = games.get(order[i]);
+            }
+        }
+
+        /**
+         * Raise the score of games which have a word starting with every query word
+         *
+         * @param queryWords query words
+         * @param scores scores of games
+         * @param score score of matching games
+         */
+        private void match(String[] queryWords, int[] scores, int score) {
+            // number of leading query words matched by each game
+            int[] matchedWords = new int[scores.length];
+
+            for (int q = 0; q < queryWords.length; q++) {
+                String queryWord = queryWords[q];
+                for (int i = lowerBound(queryWord);
+                        i < words.length && words[i].startsWith(queryWord);
+                        i++) {
+                    if (matchedWords[games[i]] == q) {
+                        matchedWords[games[i]] = q + 1;
+                    }
+                }
+            }
+
+            for (int i = 0; i < scores.length; i++) {
+                if (matchedWords[i] >= queryWords.length && scores[i] < score) {
+                    scores[i] = score;
+                }
+            }
+        }
+
+        private int lowerBound(String word) {
+            int low = 0;
+            int high = words.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (words[middle].compareTo(word) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.commands.Command;
+import com.therepanic.funpay4j.commands.game.GetPromoGames;
+import com.therepanic.funpay4j.exceptions.FunPayApiException;
+import com.therepanic.funpay4j.objects.game.PromoGame;
+
+/**
+ * Local index of promo games answering searches without requests to FunPay
+ *
+ * <p>The index is built by crawling promo games for every seed query, and it is rebuilt in the
+ * background when it is older than the maximum age, while searches keep using the previous index.
+ * Added as an interceptor to the executor, it answers {@link GetPromoGames} commands from the index
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+public final class PromoGameIndex implements CommandInterceptor, AutoCloseable {
+    /** Default seed queries, every latin and cyrillic letter and digit */
+    public static final List<String> DEFAULT_SEED_QUERIES = defaultSeedQueries();
+
+    /** Default maximum age of the index */
+    public static final Duration DEFAULT_MAX_AGE = Duration.ofHours(1);
+
+    private final FunPayExecutor executor;
+
+    private final long maxAgeNanos;
+
+    private final LongSupplier nanoTime;
+
+    private final ExecutorService refreshExecutor;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private final Object buildLock = new Object();
+
+    private volatile List<String> seedQueries = DEFAULT_SEED_QUERIES;
+
+    @Nullable private volatile PromoGameCatalog catalog;
+
+    private volatile long nextRefreshAt;
+
+    /**
+     * Creates a new PromoGameIndex instance
+     *
+     * @param executor executor crawling promo games
+     * @param maxAge age after which the index is rebuilt
+     */
+    public PromoGameIndex(FunPayExecutor executor, Duration maxAge) {
+        this(executor, maxAge, System::nanoTime);
+    }
+
+    /**
+     * Creates a new PromoGameIndex instance
+     *
+     * @param executor executor crawling promo games
+     */
+    public PromoGameIndex(FunPayExecutor executor) {
+        this(executor, DEFAULT_MAX_AGE);
+    }
+
+    PromoGameIndex(FunPayExecutor executor, Duration maxAge, LongSupplier nanoTime) {
+        if (maxAge.isNegative() || maxAge.isZero()) {
+            throw new IllegalArgumentException("maxAge must be positive");
+        }
+
+        this.executor = executor;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.nanoTime = nanoTime;
+        this.refreshExecutor =
+                Executors.newSingleThreadExecutor(
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "funpay4j-promo-game-index");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+    }
+
+    /**
+     * Set the queries for which promo games are crawled, together they should match every game
+     *
+     * @param seedQueries seed queries
+     */
+    public void setSeedQueries(List<String> seedQueries) {
+        this.seedQueries = new ArrayList<>(seedQueries);
+    }
+
+    /**
+     * Search promo games, the index is built on the first search
+     *
+     * @param query query, every word of which must match a word of the game title or its counters
+     * @param limit maximum number of games
+     * @return matching games, best first
+     * @throws FunPayApiException if the index is not built and the crawl failed
+     */
+    public List<PromoGame> search(String query, int limit) throws FunPayApiException {
+        PromoGameCatalog catalog = this.catalog;
+
+        if (catalog == null) {
+            synchronized (buildLock) {
+                catalog = this.catalog;
+                if (catalog == null) {
+                    catalog = build();
+                }
+            }
+        } else if (nanoTime.getAsLong() - nextRefreshAt >= 0) {
+            refreshInBackground();
+        }
+
+        return catalog.search(query, limit);
+    }
+
+    /**
+     * Crawl promo games and rebuild the index now
+     *
+     * @throws FunPayApiException if the crawl failed, the previous index is kept
+     */
+    public void refresh() throws FunPayApiException {
+        build();
+    }
+
+    /**
+     * Get the number of indexed games
+     *
+     * @return number of games, zero if the index is not built
+     */
+    public int size() {
+        PromoGameCatalog catalog = this.catalog;
+        return catalog == null ? 0 : catalog.size();
+    }
+
+    @Override
+    public @Nullable Object intercept(Chain chain) throws FunPayApiException {
+        Command<?> command = chain.command();
+
+        if (command instanceof GetPromoGames && !(command instanceof CrawlPromoGames)) {
+            return search(((GetPromoGames) command).getQuery(), Integer.MAX_VALUE);
+        }
+
+        return chain.proceed(command);
+    }
+
+    /** Stop background rebuilds of the index */
+    @Override
+    public void close() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private PromoGameCatalog build() throws FunPayApiException {
+        Map<Long, PromoGame> games = new LinkedHashMap<>();
+
+        for (String seedQuery : seedQueries) {
+            for (PromoGame game : executor.execute(new CrawlPromoGames(seedQuery))) {
+                games.putIfAbsent(game.getLotId(), game);
+            }
+        }
+
+        PromoGameCatalog catalog = PromoGameCatalog.of(games.values());
+        this.nextRefreshAt = nanoTime.getAsLong() + maxAgeNanos;
+        this.catalog = catalog;
+        return catalog;
+    }
+
+    private void refreshInBackground() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(
+                    () -> {
+                        try {
+                            refresh();
+                        } catch (FunPayApiException | RuntimeException e) {
+                            // the previous index is used, and the rebuild is retried later
+                            nextRefreshAt = nanoTime.getAsLong() + maxAgeNanos / 10;
+                        } finally {
+                            refreshing.set(false);
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+        }
+    }
+
+    private static List<String> defaultSeedQueries() {
+        List<String> seedQueries = new ArrayList<>();
+        for (char c = 'a'; c <= 'z'; c++) {
+            seedQueries.add(String.valueOf(c));
+        }
+        for (char c = 'а'; c <= 'я'; c++) {
+            seedQueries.add(String.valueOf(c));
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            seedQueries.add(String.valueOf(c));
+        }
+        return Collections.unmodifiableList(seedQueries);
+    }
+
+    /** Promo games command sent by the crawl, which the index passes through */
+    private static final class CrawlPromoGames extends GetPromoGames {
+        private CrawlPromoGames(String query) {
+            super(query);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.commands.offer.RaiseAllOffers;
+import com.therepanic.funpay4j.exceptions.FunPayApiException;
+import com.therepanic.funpay4j.exceptions.InvalidGoldenKeyException;
+import com.therepanic.funpay4j.exceptions.offer.OfferAlreadyRaisedException;
+
+/**
+ * This raise scheduler is used to keep offers of many accounts raised
+ *
+ * <p>Every scheduled lot is raised as soon as FunPay allows it. When FunPay reports that offers
+ * are already raised, the next raise is scheduled after the reported wait time instead of polling.
+ * The wait time reported after a successful raise gives the raise cooldown of the game, so later
+ * successful raises of the game are followed directly by a raise after that cooldown. Until the
+ * cooldown is known, the next raise is attempted after {@code retryDelay}. At most {@code
+ * maxConcurrentRaises} raises are executed at the same time
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+public class RaiseScheduler implements AutoCloseable {
+    /** Default delay after a failed raise or a successful raise with an unknown cooldown */
+    public static final Duration DEFAULT_RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final ScheduledThreadPoolExecutor scheduledExecutor;
+
+    private final Duration retryDelay;
+
+    private final ConcurrentMap<Key, Raise> raises = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Long, Duration> cooldowns = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new RaiseScheduler instance
+     *
+     * @param maxConcurrentRaises maximum number of raises executed at the same time
+     * @param retryDelay delay after a failed raise, or after a successful raise while the cooldown
+     *     of the game is not known yet
+     */
+    public RaiseScheduler(int maxConcurrentRaises, Duration retryDelay) {
+        if (maxConcurrentRaises < 1) {
+            throw new IllegalArgumentException("maxConcurrentRaises must be positive");
+        }
+        if (retryDelay.isNegative() || retryDelay.isZero()) {
+            throw new IllegalArgumentException("retryDelay must be positive");
+        }
+
+        this.scheduledExecutor =
+                new ScheduledThreadPoolExecutor(
+                        maxConcurrentRaises,
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "funpay4j-raise-scheduler");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        this.scheduledExecutor.setRemoveOnCancelPolicy(true);
+        this.retryDelay = retryDelay;
+    }
+
+    /**
+     * Creates a new RaiseScheduler instance
+     *
+     * @param maxConcurrentRaises maximum number of raises executed at the same time
+     */
+    public RaiseScheduler(int maxConcurrentRaises) {
+        this(maxConcurrentRaises, DEFAULT_RETRY_DELAY);
+    }
+
+    /**
+     * Schedule the lot of the account to be raised now and whenever it can be raised again
+     *
+     * <p>Scheduling the same lot of the same account again replaces the previous schedule
+     *
+     * @param executor executor of the account
+     * @param gameId game id of the lot
+     * @param lotId lot id
+     * @throws IllegalStateException if the scheduler is closed
+     */
+    public void schedule(AuthorizedFunPayExecutor executor, long gameId, long lotId) {
+        if (scheduledExecutor.isShutdown()) {
+            throw new IllegalStateException("RaiseScheduler is closed");
+        }
+
+        Key key = new Key(executor, lotId);
+        Raise raise = new Raise(key, gameId);
+        Raise previous = raises.put(key, raise);
+
+        if (previous != null) {
+            previous.cancel();
+        }
+
+        raise.scheduleAfter(Duration.ZERO);
+    }
+
+    /**
+     * Stop raising the lot of the account
+     *
+     * @param executor executor of the account
+     * @param lotId lot id
+     * @return true if the lot was scheduled
+     */
+    public boolean cancel(AuthorizedFunPayExecutor executor, long lotId) {
+        Raise raise = raises.remove(new Key(executor, lotId));
+
+        if (raise == null) {
+            return false;
+        }
+
+        raise.cancel();
+        return true;
+    }
+
+    /**
+     * Get the time of the next raise of the lot of the account
+     *
+     * @param executor executor of the account
+     * @param lotId lot id
+     * @return next raise time, null if the lot is not scheduled
+     */
+    public @Nullable Instant getNextRaiseTime(AuthorizedFunPayExecutor executor, long lotId) {
+        Raise raise = raises.get(new Key(executor, lotId));
+
+        return raise == null ? null : raise.nextRaiseTime;
+    }
+
+    /** Stop raising all lots */
+    @Override
+    public void close() {
+        scheduledExecutor.shutdownNow();
+        raises.clear();
+    }
+
+    private final class Raise implements Runnable {
+        private final Key key;
+
+        private final long gameId;
+
+        private volatile @Nullable Instant nextRaiseTime;
+
+        private @Nullable Instant raisedAt;
+
+        private @Nullable ScheduledFuture<?> future;
+
+        private boolean cancelled;
+
+        private Raise(Key key, long gameId) {
+            this.key = key;
+            this.gameId = gameId;
+        }
+
+        @Override
+        public void run() {
+            Duration delay;
+            Instant startedAt = Instant.now();
+
+            try {
+                key.executor.execute(
+                        RaiseAllOffers.builder().gameId(gameId).lotId(key.lotId).build());
+                raisedAt = startedAt;
+                delay = cooldowns.getOrDefault(gameId, retryDelay);
+            } catch (OfferAlreadyRaisedException e) {
+                Duration waitTime = e.getWaitTime();
+                if (waitTime == null) {
+                    delay = retryDelay;
+                } else {
+                    if (raisedAt != null) {
+                        // measured from the start of the raise, so the cooldown is never short
+                        cooldowns.put(
+                                gameId, Duration.between(raisedAt, Instant.now()).plus(waitTime));
+                        raisedAt = null;
+                    }
+                    delay = waitTime;
+                }
+            } catch (InvalidGoldenKeyException e) {
+                raises.remove(key, this);
+                nextRaiseTime = null;
+                return;
+            } catch (FunPayApiException | RuntimeException e) {
+                delay = retryDelay;
+            }
+
+            scheduleAfter(delay);
+        }
+
+        private synchronized void scheduleAfter(Duration delay) {
+            if (cancelled || scheduledExecutor.isShutdown()) {
+                return;
+            }
+
+            nextRaiseTime = Instant.now().plus(delay);
+            future = scheduledExecutor.schedule(this, delay.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        private synchronized void cancel() {
+            cancelled = true;
+            nextRaiseTime = null;
+
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    private static final class Key {
+        private final AuthorizedFunPayExecutor executor;
+
+        private final long lotId;
+
+        private Key(AuthorizedFunPayExecutor executor, long lotId) {
+            this.executor = executor;
+            this.lotId = lotId;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return executor == other.executor && lotId == other.lotId;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(executor) + Long.hashCode(lotId);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.exceptions.FunPayApiException;
+
+/**
+ * Interceptor which limits the rate of executed commands
+ *
+ * <p>Commands are allowed in bursts of up to {@code burst} commands, after which the caller waits
+ * until the next permit is available. Waiting is done outside of the lock, so the interceptor may
+ * be shared between threads
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+public final class RateLimitInterceptor implements CommandInterceptor {
+    private final long nanosPerPermit;
+
+    private final long burstNanos;
+
+    private long nextPermitNanos;
+
+    /**
+     * Creates a new RateLimitInterceptor instance
+     *
+     * @param permitsPerSecond number of commands allowed per second
+     * @param burst number of commands allowed without waiting
+     */
+    public RateLimitInterceptor(double permitsPerSecond, int burst) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be positive");
+        }
+
+        this.nanosPerPermit = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = (burst - 1) * nanosPerPermit;
+        this.nextPermitNanos = System.nanoTime();
+    }
+
+    @Override
+    public @Nullable Object intercept(Chain chain) throws FunPayApiException {
+        long waitNanos = reserve();
+
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FunPayApiException(e.getLocalizedMessage());
+            }
+        }
+
+        return chain.proceed(chain.command());
+    }
+
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+
+        if (nextPermitNanos - now < 0) {
+            nextPermitNanos = now;
+        }
+
+        long waitNanos = nextPermitNanos - burstNanos - now;
+        nextPermitNanos += nanosPerPermit;
+
+        return Math.max(0, waitNanos);
+    }
+}
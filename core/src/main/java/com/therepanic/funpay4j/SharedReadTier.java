@@ -0,0 +1,189 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.commands.Command;
+import com.therepanic.funpay4j.commands.game.GetPromoGames;
+import com.therepanic.funpay4j.commands.lot.GetLot;
+import com.therepanic.funpay4j.commands.offer.GetOffer;
+import com.therepanic.funpay4j.commands.user.GetUser;
+import com.therepanic.funpay4j.exceptions.FunPayApiException;
+
+/**
+ * Read tier which serves public pages to many executors from a single cache
+ *
+ * <p>Lots, offers, promo games and, for executors without golden key, users look the same for
+ * every account, so the attached executors read them through one unauthorized executor. Concurrent
+ * reads of the same page wait for a single request and the results are cached by a shared {@link
+ * CachingInterceptor}. Authorized reads, such as users of {@link AuthorizedFunPayExecutor} or
+ * orders, stay with their executors
+ *
+ * <p>Offer commands executed by the attached executors invalidate the shared cache, so a single
+ * tier is meant to be shared by all executors of the JVM
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+public final class SharedReadTier implements AutoCloseable {
+    private final FunPayExecutor publicExecutor;
+
+    private final CachingInterceptor cachingInterceptor;
+
+    private final ConcurrentMap<List<Object>, CompletableFuture<@Nullable Object>> inFlight =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new SharedReadTier instance
+     *
+     * @param publicExecutor unauthorized executor which will read public pages
+     * @param cachingInterceptor cache of public pages, it is added to the public executor
+     */
+    public SharedReadTier(FunPayExecutor publicExecutor, CachingInterceptor cachingInterceptor) {
+        this.publicExecutor = publicExecutor;
+        this.cachingInterceptor = cachingInterceptor;
+
+        publicExecutor.addInterceptor(cachingInterceptor);
+    }
+
+    /**
+     * Creates a new SharedReadTier instance
+     *
+     * @param maxWeight maximum approximate size of cached pages in bytes
+     */
+    public SharedReadTier(long maxWeight) {
+        this(new FunPayExecutor(), new CachingInterceptor(maxWeight));
+    }
+
+    /**
+     * Route public reads of the executor through this tier
+     *
+     * @param executor executor which will be attached
+     */
+    public void attach(FunPayExecutor executor) {
+        executor.addInterceptor(new Attachment(executor instanceof AuthorizedFunPayExecutor));
+    }
+
+    /**
+     * Route public reads of every current and future account of the pool through this tier
+     *
+     * @param accountPool pool which accounts will be attached
+     */
+    public void attach(FunPayAccountPool accountPool) {
+        accountPool.addInterceptor(new Attachment(true));
+    }
+
+    /**
+     * Get the cache of public pages
+     *
+     * @return caching interceptor
+     */
+    public CachingInterceptor getCachingInterceptor() {
+        return cachingInterceptor;
+    }
+
+    /** Stop background work of the shared cache */
+    @Override
+    public void close() {
+        cachingInterceptor.close();
+    }
+
+    private @Nullable Object read(List<Object> key, Command<?> command) throws FunPayApiException {
+        CompletableFuture<@Nullable Object> flight = new CompletableFuture<>();
+        CompletableFuture<@Nullable Object> running = inFlight.putIfAbsent(key, flight);
+
+        if (running != null) {
+            return join(running);
+        }
+
+        try {
+            Object result = publicExecutor.execute(command);
+            flight.complete(result);
+            return result;
+        } catch (FunPayApiException | RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static @Nullable Object join(CompletableFuture<@Nullable Object> flight)
+            throws FunPayApiException {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            // the flight belongs to another caller, so it is not cancelled
+            Thread.currentThread().interrupt();
+            throw new FunPayApiException(e.getLocalizedMessage());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof FunPayApiException) {
+                throw (FunPayApiException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new FunPayApiException(cause.getLocalizedMessage());
+        }
+    }
+
+    private static @Nullable List<Object> keyOf(Command<?> command, boolean authorized) {
+        if (command instanceof GetLot) {
+            return Arrays.asList(GetLot.class, ((GetLot) command).getLotId());
+        } else if (command instanceof GetOffer) {
+            return Arrays.asList(GetOffer.class, ((GetOffer) command).getOfferId());
+        } else if (command instanceof GetPromoGames) {
+            return Arrays.asList(GetPromoGames.class, ((GetPromoGames) command).getQuery());
+        } else if (command instanceof GetUser && !authorized) {
+            return Arrays.asList(GetUser.class, ((GetUser) command).getUserId());
+        }
+
+        return null;
+    }
+
+    private final class Attachment implements CommandInterceptor {
+        private final boolean authorized;
+
+        private Attachment(boolean authorized) {
+            this.authorized = authorized;
+        }
+
+        @Override
+        public @Nullable Object intercept(Chain chain) throws FunPayApiException {
+            Command<?> command = chain.command();
+            List<Object> key = keyOf(command, authorized);
+
+            if (key != null) {
+                return read(key, command);
+            }
+
+            try {
+                return chain.proceed(command);
+            } finally {
+                cachingInterceptor.invalidateWrittenBy(command);
+            }
+        }
+    }
+}
@@ -14,11 +14,16 @@
 
 package com.therepanic.funpay4j.commands.game;
 
+import java.util.List;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
+import com.therepanic.funpay4j.commands.Command;
+import com.therepanic.funpay4j.objects.game.PromoGame;
+
 /**
  * Use this command to get promo games
  *
@@ -29,6 +34,6 @@ import lombok.Setter;
 @Setter
 @Builder
 @AllArgsConstructor
-public class GetPromoGames {
+public class GetPromoGames implements Command<List<PromoGame>> {
     private String query;
 }
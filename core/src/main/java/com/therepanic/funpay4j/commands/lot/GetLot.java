@@ -19,6 +19,9 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
+import com.therepanic.funpay4j.commands.Command;
+import com.therepanic.funpay4j.objects.lot.Lot;
+
 /**
  * Use this command to get lot
  *
@@ -29,6 +32,6 @@ import lombok.Setter;
 @Setter
 @Builder
 @AllArgsConstructor
-public class GetLot {
+public class GetLot implements Command<Lot> {
     private Long lotId;
 }
@@ -24,6 +24,8 @@ import lombok.Setter;
 
 import org.jspecify.annotations.Nullable;
 
+import com.therepanic.funpay4j.commands.Command;
+
 /**
  * Use this command to create offer
  *
@@ -34,7 +36,7 @@ import org.jspecify.annotations.Nullable;
 @Setter
 @Builder
 @AllArgsConstructor
-public class CreateOffer {
+public class CreateOffer implements Command<Void> {
     private Long lotId;
 
     @Nullable private String shortDescriptionRu;
@@ -19,9 +19,17 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.commands.Command;
+import com.therepanic.funpay4j.request.ImageSource;
+
 /**
  * Use this command to create offer image
  *
+ * <p>Set {@code imageSource} to stream the image from a file, stream or buffer instead of the
+ * image bytes
+ *
  * @author therepanic
  * @since 1.0.4
  */
@@ -29,6 +37,17 @@ import lombok.Setter;
 @Setter
 @Builder
 @AllArgsConstructor
-public class CreateOfferImage {
+public class CreateOfferImage implements Command<Long> {
     private byte[] image;
+
+    @Nullable private ImageSource imageSource;
+
+    /**
+     * Creates a new CreateOfferImage command
+     *
+     * @param image image to be created
+     */
+    public CreateOfferImage(byte[] image) {
+        this(image, null);
+    }
 }
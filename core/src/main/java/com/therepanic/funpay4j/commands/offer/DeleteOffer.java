@@ -19,6 +19,8 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
+import com.therepanic.funpay4j.commands.Command;
+
 /**
  * Use this command to delete offer
  *
@@ -29,7 +31,7 @@ import lombok.Setter;
 @Setter
 @Builder
 @AllArgsConstructor
-public class DeleteOffer {
+public class DeleteOffer implements Command<Void> {
     private Long lotId;
 
     private Long offerId;
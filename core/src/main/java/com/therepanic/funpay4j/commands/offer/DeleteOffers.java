@@ -0,0 +1,65 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.commands.offer;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.commands.Command;
+import com.therepanic.funpay4j.objects.offer.DeleteOfferResult;
+
+/**
+ * Use this command to delete many offers of the lot concurrently
+ *
+ * <p>If offer ids are not set, all offers of the user with user id which are listed in the lot are
+ * deleted
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+public class DeleteOffers implements Command<List<DeleteOfferResult>> {
+    private Long lotId;
+
+    @Nullable private List<Long> offerIds;
+
+    @Nullable private Long userId;
+
+    @Nullable private Integer parallelism;
+
+    @Nullable private ProgressListener progressListener;
+
+    /** Listener of the deletion progress, it is called from the deleting threads */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Called after every offer is deleted or failed to be deleted
+         *
+         * @param result result of the offer
+         * @param completed number of offers which are completed
+         * @param total number of offers to delete
+         */
+        void onProgress(DeleteOfferResult result, int completed, int total);
+    }
+}
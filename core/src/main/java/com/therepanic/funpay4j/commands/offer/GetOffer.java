@@ -19,6 +19,9 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
+import com.therepanic.funpay4j.commands.Command;
+import com.therepanic.funpay4j.objects.offer.Offer;
+
 /**
  * Use this command to get offer
  *
@@ -29,6 +32,6 @@ import lombok.Setter;
 @Setter
 @Builder
 @AllArgsConstructor
-public class GetOffer {
+public class GetOffer implements Command<Offer> {
     private Long offerId;
 }
@@ -0,0 +1,46 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.commands.offer;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.commands.Command;
+import com.therepanic.funpay4j.objects.offer.UpsertOfferResult;
+
+/**
+ * Use this command to create or edit many offers, skipping offers that did not change since they
+ * were last saved
+ *
+ * <p>Offers with null offer id are created
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+public class UpsertOffers implements Command<List<UpsertOfferResult>> {
+    private List<EditOffer> offers;
+
+    @Nullable private Integer parallelism;
+}
@@ -19,6 +19,9 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
+import com.therepanic.funpay4j.commands.Command;
+import com.therepanic.funpay4j.objects.order.Order;
+
 /**
  * Use this command to get order
  *
@@ -29,7 +32,7 @@ import lombok.Setter;
 @Setter
 @Builder
 @AllArgsConstructor
-public class GetOrder {
+public class GetOrder implements Command<Order> {
 
     private String orderId;
 }
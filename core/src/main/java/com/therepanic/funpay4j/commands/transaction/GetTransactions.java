@@ -14,6 +14,8 @@
 
 package com.therepanic.funpay4j.commands.transaction;
 
+import java.util.List;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -21,6 +23,8 @@ import lombok.Setter;
 
 import org.jspecify.annotations.Nullable;
 
+import com.therepanic.funpay4j.commands.Command;
+import com.therepanic.funpay4j.objects.transaction.Transaction;
 import com.therepanic.funpay4j.objects.transaction.TransactionType;
 
 /**
@@ -33,7 +37,7 @@ import com.therepanic.funpay4j.objects.transaction.TransactionType;
 @Setter
 @Builder
 @AllArgsConstructor
-public class GetTransactions {
+public class GetTransactions implements Command<List<Transaction>> {
     private Long userId;
 
     @Nullable private TransactionType type;
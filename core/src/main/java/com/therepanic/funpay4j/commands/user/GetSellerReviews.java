@@ -14,6 +14,8 @@
 
 package com.therepanic.funpay4j.commands.user;
 
+import java.util.List;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -21,6 +23,9 @@ import lombok.Setter;
 
 import org.jspecify.annotations.Nullable;
 
+import com.therepanic.funpay4j.commands.Command;
+import com.therepanic.funpay4j.objects.user.SellerReview;
+
 /**
  * Use this command to get seller reviews
  *
@@ -31,7 +36,7 @@ import org.jspecify.annotations.Nullable;
 @Setter
 @Builder
 @AllArgsConstructor
-public class GetSellerReviews {
+public class GetSellerReviews implements Command<List<SellerReview>> {
     private Long userId;
 
     private Integer pages;
@@ -0,0 +1,49 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.commands.user;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.commands.Command;
+import com.therepanic.funpay4j.objects.user.SellerReview;
+
+/**
+ * Use this command to get seller reviews fetched concurrently stars filter by stars filter
+ *
+ * <p>Reviews are ordered from newest to oldest, reviews without creation date keep their position
+ * within their stars filter. FunPay has no filter for reviews without rating, so such reviews are
+ * not returned
+ *
+ * <p>Pages is the number of pages fetched for each stars filter, if null all pages are fetched
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+public class GetSellerReviewsHistory implements Command<List<SellerReview>> {
+    private Long userId;
+
+    @Nullable private Integer pages;
+}
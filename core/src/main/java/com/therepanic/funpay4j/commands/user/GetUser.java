@@ -19,6 +19,9 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
+import com.therepanic.funpay4j.commands.Command;
+import com.therepanic.funpay4j.objects.user.User;
+
 /**
  * Use this command to get user
  *
@@ -29,6 +32,6 @@ import lombok.Setter;
 @Setter
 @Builder
 @AllArgsConstructor
-public class GetUser {
+public class GetUser implements Command<User> {
     private Long userId;
 }
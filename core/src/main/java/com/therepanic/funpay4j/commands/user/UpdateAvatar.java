@@ -19,9 +19,17 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.commands.Command;
+import com.therepanic.funpay4j.request.ImageSource;
+
 /**
  * Use this command to update user avatar
  *
+ * <p>Set {@code newAvatarSource} to stream the avatar from a file, stream or buffer instead of
+ * the avatar bytes
+ *
  * @author therepanic
  * @since 1.0.3
  */
@@ -29,6 +37,17 @@ import lombok.Setter;
 @Setter
 @Builder
 @AllArgsConstructor
-public class UpdateAvatar {
+public class UpdateAvatar implements Command<Void> {
     private byte[] newAvatar;
+
+    @Nullable private ImageSource newAvatarSource;
+
+    /**
+     * Creates a new UpdateAvatar command
+     *
+     * @param newAvatar avatar to be updated
+     */
+    public UpdateAvatar(byte[] newAvatar) {
+        this(newAvatar, null);
+    }
 }
@@ -0,0 +1,254 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.history;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Block of points of a time series compressed with delta-of-delta timestamps and XOR-encoded
+ * values
+ *
+ * <p>Points sampled at a steady interval with slowly changing values take about two bits each
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+final class Chunk {
+    /** Object headers and fields of the chunk and its words array */
+    private static final int OVERHEAD = 96;
+
+    private long[] words = new long[2];
+
+    private int bitLength;
+
+    private int count;
+
+    private long firstTimestamp;
+
+    private long lastTimestamp;
+
+    private long lastDelta;
+
+    private long lastValueBits;
+
+    private int lastLeading = -1;
+
+    private int lastTrailing;
+
+    void append(long timestamp, double value) {
+        long valueBits = Double.doubleToRawLongBits(value);
+
+        if (count == 0) {
+            write(timestamp, 64);
+            write(valueBits, 64);
+            firstTimestamp = timestamp;
+        } else {
+            long delta = timestamp - lastTimestamp;
+            writeDeltaOfDelta(delta - lastDelta);
+            writeXor(valueBits ^ lastValueBits);
+            lastDelta = delta;
+        }
+
+        lastTimestamp = timestamp;
+        lastValueBits = valueBits;
+        count++;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long firstTimestamp() {
+        return firstTimestamp;
+    }
+
+    long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    /**
+     * Get the approximate heap size of the chunk
+     *
+     * @return size in bytes
+     */
+    long sizeInBytes() {
+        return OVERHEAD + words.length * 8L;
+    }
+
+    long[] words() {
+        return Arrays.copyOf(words, (bitLength + 63) >>> 6);
+    }
+
+    /**
+     * Decode the points of the chunk within the range
+     *
+     * @param words encoded points
+     * @param count number of encoded points
+     * @param from first included timestamp
+     * @param to last included timestamp
+     * @param points points to which decoded points are added
+     */
+    static void decode(long[] words, int count, long from, long to, List<DataPoint> points) {
+        Reader reader = new Reader(words);
+        long timestamp = 0;
+        long delta = 0;
+        long valueBits = 0;
+
+        for (int i = 0; i < count; i++) {
+            if (i == 0) {
+                timestamp = reader.read(64);
+                valueBits = reader.read(64);
+            } else {
+                delta += reader.readDeltaOfDelta();
+                timestamp += delta;
+                valueBits ^= reader.readXor();
+            }
+
+            if (timestamp > to) {
+                return;
+            }
+            if (timestamp >= from) {
+                points.add(new DataPoint(timestamp, Double.longBitsToDouble(valueBits)));
+            }
+        }
+    }
+
+    private void writeDeltaOfDelta(long deltaOfDelta) {
+        if (deltaOfDelta == 0) {
+            write(0, 1);
+        } else if (fits(deltaOfDelta, 7)) {
+            write(0b10, 2);
+            write(deltaOfDelta, 7);
+        } else if (fits(deltaOfDelta, 12)) {
+            write(0b110, 3);
+            write(deltaOfDelta, 12);
+        } else if (fits(deltaOfDelta, 20)) {
+            write(0b1110, 4);
+            write(deltaOfDelta, 20);
+        } else {
+            write(0b1111, 4);
+            write(deltaOfDelta, 64);
+        }
+    }
+
+    private void writeXor(long xor) {
+        if (xor == 0) {
+            write(0, 1);
+            return;
+        }
+
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailing = Long.numberOfTrailingZeros(xor);
+
+        if (lastLeading >= 0 && leading >= lastLeading && trailing >= lastTrailing) {
+            // the meaningful bits fit into the window of the previous value
+            write(0b10, 2);
+            write(xor >>> lastTrailing, 64 - lastLeading - lastTrailing);
+        } else {
+            int meaningful = 64 - leading - trailing;
+            write(0b11, 2);
+            write(leading, 5);
+            write(meaningful == 64 ? 0 : meaningful, 6);
+            write(xor >>> trailing, meaningful);
+            lastLeading = leading;
+            lastTrailing = trailing;
+        }
+    }
+
+    private void write(long value, int bits) {
+        if (bitLength + bits > words.length * 64) {
+            words = Arrays.copyOf(words, words.length * 2);
+        }
+
+        int index = bitLength >>> 6;
+        int free = 64 - (bitLength & 63);
+        long masked = bits == 64 ? value : value & ((1L << bits) - 1);
+
+        if (bits <= free) {
+            words[index] |= masked << (free - bits);
+        } else {
+            words[index] |= masked >>> (bits - free);
+            words[index + 1] |= masked << (64 - bits + free);
+        }
+
+        bitLength += bits;
+    }
+
+    private static boolean fits(long value, int bits) {
+        long limit = 1L << (bits - 1);
+        return value >= -limit && value < limit;
+    }
+
+    private static final class Reader {
+        private final long[] words;
+
+        private int position;
+
+        private int leading;
+
+        private int trailing;
+
+        private Reader(long[] words) {
+            this.words = words;
+        }
+
+        private long readDeltaOfDelta() {
+            if (read(1) == 0) {
+                return 0;
+            } else if (read(1) == 0) {
+                return readSigned(7);
+            } else if (read(1) == 0) {
+                return readSigned(12);
+            } else if (read(1) == 0) {
+                return readSigned(20);
+            }
+            return read(64);
+        }
+
+        private long readXor() {
+            if (read(1) == 0) {
+                return 0;
+            }
+
+            if (read(1) == 1) {
+                leading = (int) read(5);
+                int meaningful = (int) read(6);
+                trailing = 64 - leading - (meaningful == 0 ? 64 : meaningful);
+            }
+
+            return read(64 - leading - trailing) << trailing;
+        }
+
+        private long readSigned(int bits) {
+            return read(bits) << (64 - bits) >> (64 - bits);
+        }
+
+        private long read(int bits) {
+            int index = position >>> 6;
+            int free = 64 - (position & 63);
+            long value;
+
+            if (bits <= free) {
+                value = words[index] >>> (free - bits);
+            } else {
+                value = words[index] << (bits - free) | words[index + 1] >>> (64 - bits + free);
+            }
+
+            position += bits;
+            return bits == 64 ? value : value & ((1L << bits) - 1);
+        }
+    }
+}
@@ -0,0 +1,727 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.history;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.objects.lot.Lot;
+import com.therepanic.funpay4j.objects.lot.LotCounter;
+import com.therepanic.funpay4j.objects.offer.PreviewOffer;
+
+/**
+ * Embedded store of time series, such as offer prices and lot counters
+ *
+ * <p>Points of every series are compressed in chunks with delta-of-delta timestamps and XOR-encoded
+ * values, so a steadily sampled series takes a few bits per point. Full chunks are appended to a
+ * single file and only their index is kept in memory. Points of the last chunk of a series are
+ * kept in memory until {@link #flush} appends them as a segment of the chunk. When the pending
+ * points of all series take more than {@code maxPendingBytes}, the series with the most pending
+ * points are written as segments first, so each segment holds as many points as memory allows.
+ * Once the chunk is full its segments are merged into a single chunk and superseded
+ *
+ * <p>The file is compacted when it is opened or flushed if superseded segments take most of it. A
+ * record torn by a crash is dropped when the file is opened
+ *
+ * <p>Timestamps are epoch milliseconds and must not decrease within a series
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+public final class TimeSeriesStore implements AutoCloseable {
+    /** Default maximum approximate size of points which are not written to the file yet */
+    public static final long DEFAULT_MAX_PENDING_BYTES = 4 * 1024 * 1024;
+
+    private static final int MAGIC = 0x46505453;
+
+    private static final byte VERSION = 2;
+
+    private static final int HEADER_SIZE = 5;
+
+    private static final int CHUNK_HEADER_SIZE = 8 + 8 + 4 + 4 + 1;
+
+    private static final int CHUNK_POINTS = 1024;
+
+    private static final int MAX_KEY_LENGTH = 0xFFFF;
+
+    private static final byte CHUNK = 0;
+
+    private static final byte SEGMENT = 1;
+
+    private final Path path;
+
+    private final long maxPendingBytes;
+
+    private FileChannel channel;
+
+    private final Map<String, Series> series = new HashMap<>();
+
+    /** Series with points which are not written to the file yet */
+    private final Map<String, Series> pendingSeries = new HashMap<>();
+
+    private long pendingBytes;
+
+    private long fileSize;
+
+    private long supersededBytes;
+
+    /**
+     * Creates a new TimeSeriesStore instance
+     *
+     * @param path path of the file, it is created if it does not exist
+     * @param maxPendingBytes maximum approximate size of points which are not written to the file
+     *     yet
+     * @throws IOException if the file can not be opened or it is not a time series file
+     */
+    public TimeSeriesStore(Path path, long maxPendingBytes) throws IOException {
+        if (maxPendingBytes < 1) {
+            throw new IllegalArgumentException("maxPendingBytes must be positive");
+        }
+
+        this.path = path;
+        this.maxPendingBytes = maxPendingBytes;
+        this.channel = open(path);
+
+        try {
+            load();
+            compactIfSuperseded();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a new TimeSeriesStore instance
+     *
+     * @param path path of the file, it is created if it does not exist
+     * @throws IOException if the file can not be opened or it is not a time series file
+     */
+    public TimeSeriesStore(Path path) throws IOException {
+        this(path, DEFAULT_MAX_PENDING_BYTES);
+    }
+
+    /**
+     * Get the key of the series of the offer price, written by {@link #record}
+     *
+     * @param offerId offer id
+     * @return series key
+     */
+    public static String offerPriceSeries(long offerId) {
+        return "offer:" + offerId;
+    }
+
+    /**
+     * Get the key of the series of the lot counter, written by {@link #record}
+     *
+     * @param lotId lot id
+     * @return series key
+     */
+    public static String lotCounterSeries(long lotId) {
+        return "lot:" + lotId;
+    }
+
+    /**
+     * Get the path of the file
+     *
+     * @return path
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Append prices of the lot offers and counters of the lot and its neighbours
+     *
+     * @param lot lot
+     * @param timestamp time at which the lot was read, in epoch milliseconds
+     * @throws IOException if a chunk can not be written
+     */
+    public synchronized void record(Lot lot, long timestamp) throws IOException {
+        for (PreviewOffer offer : lot.getPreviewOffers()) {
+            append(offerPriceSeries(offer.getOfferId()), timestamp, offer.getPrice());
+        }
+        for (LotCounter lotCounter : lot.getLotCounters()) {
+            append(lotCounterSeries(lotCounter.getLotId()), timestamp, lotCounter.getCounter());
+        }
+    }
+
+    /**
+     * Append the point to the series
+     *
+     * @param seriesKey series key
+     * @param timestamp time of the point in epoch milliseconds
+     * @param value value of the point
+     * @throws IOException if a chunk can not be written or its segments can not be read
+     * @throws IllegalArgumentException if the timestamp is before the last point of the series or
+     *     the series key is longer than 65535 bytes in UTF-8
+     */
+    public synchronized void append(String seriesKey, long timestamp, double value)
+            throws IOException {
+        Series target = series.get(seriesKey);
+
+        if (target == null) {
+            if (seriesKey.getBytes(StandardCharsets.UTF_8).length > MAX_KEY_LENGTH) {
+                throw new IllegalArgumentException(
+                        "Series key is longer than " + MAX_KEY_LENGTH + " bytes");
+            }
+            target = new Series();
+            series.put(seriesKey, target);
+        }
+
+        if (timestamp < target.lastTimestamp) {
+            throw new IllegalArgumentException(
+                    "Timestamp " + timestamp + " is before the last point of " + seriesKey);
+        }
+
+        Chunk pendingSegment = target.pendingSegment;
+        long sizeBefore = 0;
+        if (pendingSegment == null) {
+            pendingSegment = new Chunk();
+            target.pendingSegment = pendingSegment;
+            pendingSeries.put(seriesKey, target);
+        } else {
+            sizeBefore = pendingSegment.sizeInBytes();
+        }
+
+        pendingSegment.append(timestamp, value);
+        pendingBytes += pendingSegment.sizeInBytes() - sizeBefore;
+        target.lastTimestamp = timestamp;
+
+        if (target.segmentPoints + pendingSegment.count() == CHUNK_POINTS) {
+            seal(seriesKey, target);
+        } else if (pendingBytes > maxPendingBytes) {
+            writeLargestSegments();
+        }
+    }
+
+    /**
+     * Get the points of the series within the range
+     *
+     * @param seriesKey series key
+     * @param from first included timestamp
+     * @param to last included timestamp
+     * @return points ordered by time
+     * @throws IOException if chunks can not be read
+     */
+    public synchronized List<DataPoint> query(String seriesKey, long from, long to)
+            throws IOException {
+        Series target = series.get(seriesKey);
+        List<DataPoint> points = new ArrayList<>();
+
+        if (target == null) {
+            return points;
+        }
+
+        decode(target.sealedChunks, from, to, points);
+        decode(target.segments, from, to, points);
+
+        Chunk chunk = target.pendingSegment;
+        if (chunk != null && chunk.lastTimestamp() >= from && chunk.firstTimestamp() <= to) {
+            Chunk.decode(chunk.words(), chunk.count(), from, to, points);
+        }
+
+        return points;
+    }
+
+    /**
+     * Get the points of the series within the range combined into one point per interval
+     *
+     * @param seriesKey series key
+     * @param from first included timestamp
+     * @param to last included timestamp
+     * @param interval length of intervals, which are aligned to the epoch
+     * @param aggregation function which combines points of an interval
+     * @return one point per non-empty interval with the interval start as timestamp
+     * @throws IOException if chunks can not be read
+     */
+    public List<DataPoint> downsample(
+            String seriesKey, long from, long to, Duration interval, Aggregation aggregation)
+            throws IOException {
+        long intervalMillis = interval.toMillis();
+
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("interval must be at least one millisecond");
+        }
+
+        List<DataPoint> buckets = new ArrayList<>();
+        long bucketStart = 0;
+        double value = 0;
+        int count = 0;
+
+        for (DataPoint point : query(seriesKey, from, to)) {
+            long start = point.getTimestamp() - Math.floorMod(point.getTimestamp(), intervalMillis);
+
+            if (count > 0 && start != bucketStart) {
+                buckets.add(new DataPoint(bucketStart, finish(aggregation, value, count)));
+                count = 0;
+            }
+
+            if (count == 0) {
+                bucketStart = start;
+                value = point.getValue();
+            } else {
+                value = combine(aggregation, value, point.getValue());
+            }
+            count++;
+        }
+
+        if (count > 0) {
+            buckets.add(new DataPoint(bucketStart, finish(aggregation, value, count)));
+        }
+
+        return buckets;
+    }
+
+    /**
+     * Get the keys of all series
+     *
+     * @return unmodifiable series keys
+     */
+    public synchronized Set<String> getSeriesKeys() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(series.keySet()));
+    }
+
+    /**
+     * Write the points appended since the previous flush to the file, chunks which are not full
+     * stay open
+     *
+     * @throws IOException if segments can not be written
+     */
+    public synchronized void flush() throws IOException {
+        for (Map.Entry<String, Series> entry : new ArrayList<>(pendingSeries.entrySet())) {
+            writeSegment(entry.getKey(), entry.getValue());
+        }
+
+        channel.force(false);
+        compactIfSuperseded();
+    }
+
+    /**
+     * Flush the store and close the file
+     *
+     * @throws IOException if chunks can not be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /** Write the largest pending segments until half of the pending bytes are left */
+    private void writeLargestSegments() throws IOException {
+        List<Map.Entry<String, Series>> largest = new ArrayList<>(pendingSeries.entrySet());
+        largest.sort(
+                (first, second) ->
+                        Long.compare(
+                                second.getValue().pendingSegment.sizeInBytes(),
+                                first.getValue().pendingSegment.sizeInBytes()));
+
+        for (Map.Entry<String, Series> entry : largest) {
+            if (pendingBytes <= maxPendingBytes / 2) {
+                return;
+            }
+            writeSegment(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void writeSegment(String seriesKey, Series target) throws IOException {
+        Chunk pendingSegment = target.pendingSegment;
+
+        if (pendingSegment == null) {
+            return;
+        }
+
+        target.segments.add(writeChunk(seriesKey, SEGMENT, pendingSegment));
+        target.segmentPoints += pendingSegment.count();
+        removePending(seriesKey, target);
+    }
+
+    private void seal(String seriesKey, Series target) throws IOException {
+        Chunk chunk = target.pendingSegment;
+
+        if (chunk == null) {
+            return;
+        }
+
+        if (!target.segments.isEmpty()) {
+            // the segments are read once per chunk and merged with the pending points
+            List<DataPoint> points = new ArrayList<>(CHUNK_POINTS);
+            decode(target.segments, Long.MIN_VALUE, Long.MAX_VALUE, points);
+            Chunk.decode(chunk.words(), chunk.count(), Long.MIN_VALUE, Long.MAX_VALUE, points);
+
+            chunk = new Chunk();
+            for (DataPoint point : points) {
+                chunk.append(point.getTimestamp(), point.getValue());
+            }
+        }
+
+        target.sealedChunks.add(writeChunk(seriesKey, CHUNK, chunk));
+
+        int keyLength = seriesKey.getBytes(StandardCharsets.UTF_8).length;
+        for (ChunkRef segment : target.segments) {
+            supersededBytes += 2 + keyLength + CHUNK_HEADER_SIZE + segment.wordCount * 8L;
+        }
+        target.segments.clear();
+        target.segmentPoints = 0;
+        removePending(seriesKey, target);
+    }
+
+    private void removePending(String seriesKey, Series target) {
+        Chunk pendingSegment = target.pendingSegment;
+
+        if (pendingSegment != null) {
+            pendingBytes -= pendingSegment.sizeInBytes();
+            target.pendingSegment = null;
+            pendingSeries.remove(seriesKey);
+        }
+    }
+
+    private ChunkRef writeChunk(String seriesKey, byte kind, Chunk chunk) throws IOException {
+        ChunkRef chunkRef =
+                writeRecord(
+                        channel,
+                        fileSize,
+                        seriesKey.getBytes(StandardCharsets.UTF_8),
+                        kind,
+                        chunk.words(),
+                        chunk.count(),
+                        chunk.firstTimestamp(),
+                        chunk.lastTimestamp());
+        fileSize = chunkRef.end();
+        return chunkRef;
+    }
+
+    private void load() throws IOException {
+        long size = channel.size();
+
+        if (size == 0) {
+            writeHeader(channel);
+            fileSize = HEADER_SIZE;
+            return;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (size < HEADER_SIZE
+                || !readFully(header, 0)
+                || header.getInt(0) != MAGIC
+                || header.get(4) != VERSION) {
+            throw new IOException(path + " is not a time series file");
+        }
+
+        long position = HEADER_SIZE;
+        ByteBuffer keyLength = ByteBuffer.allocate(2);
+        ByteBuffer chunkHeader = ByteBuffer.allocate(CHUNK_HEADER_SIZE);
+
+        while (position < size) {
+            keyLength.clear();
+            if (!readFully(keyLength, position)) {
+                break;
+            }
+
+            ByteBuffer key = ByteBuffer.allocate(keyLength.getShort(0) & 0xFFFF);
+            chunkHeader.clear();
+            if (!readFully(key, position + 2)
+                    || !readFully(chunkHeader, position + 2 + key.capacity())) {
+                break;
+            }
+
+            int wordCount = chunkHeader.getInt(20);
+            byte kind = chunkHeader.get(24);
+            long wordsOffset = position + 2 + key.capacity() + CHUNK_HEADER_SIZE;
+            long end = wordsOffset + wordCount * 8L;
+            if (wordCount < 0 || end > size || (kind != CHUNK && kind != SEGMENT)) {
+                break;
+            }
+
+            String seriesKey = new String(key.array(), StandardCharsets.UTF_8);
+            Series target = series.computeIfAbsent(seriesKey, k -> new Series());
+            ChunkRef chunkRef =
+                    new ChunkRef(
+                            wordsOffset,
+                            wordCount,
+                            chunkHeader.getInt(16),
+                            chunkHeader.getLong(0),
+                            chunkHeader.getLong(8));
+
+            if (kind == SEGMENT) {
+                target.segments.add(chunkRef);
+                target.segmentPoints += chunkRef.count;
+            } else {
+                // the full chunk supersedes the segments written while it was open
+                for (ChunkRef segment : target.segments) {
+                    supersededBytes += 2 + key.capacity() + CHUNK_HEADER_SIZE;
+                    supersededBytes += segment.wordCount * 8L;
+                }
+                target.segments.clear();
+                target.segmentPoints = 0;
+                target.sealedChunks.add(chunkRef);
+            }
+            target.lastTimestamp = Math.max(target.lastTimestamp, chunkRef.lastTimestamp);
+
+            position = end;
+        }
+
+        if (position < size) {
+            // the last record was torn by a crash during its write
+            channel.truncate(position);
+        }
+        fileSize = position;
+    }
+
+    private void compactIfSuperseded() throws IOException {
+        if (supersededBytes > fileSize - HEADER_SIZE - supersededBytes) {
+            compact();
+        }
+    }
+
+    /** Rewrite the file without superseded segments */
+    private void compact() throws IOException {
+        Path compacted = path.resolveSibling(path.getFileName() + ".tmp");
+        List<ChunkRef> copies = new ArrayList<>();
+        long position = HEADER_SIZE;
+
+        try (FileChannel target = open(compacted)) {
+            target.truncate(0);
+            writeHeader(target);
+            for (Map.Entry<String, Series> entry : series.entrySet()) {
+                byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                Series source = entry.getValue();
+                position = copy(target, position, key, CHUNK, source.sealedChunks, copies);
+                position = copy(target, position, key, SEGMENT, source.segments, copies);
+            }
+            target.force(false);
+        }
+
+        channel.close();
+        try {
+            Files.move(
+                    compacted,
+                    path,
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            channel = open(path);
+        }
+
+        // the copies are in the order in which the series and their chunks were copied
+        int next = 0;
+        for (Series target : series.values()) {
+            for (int i = 0; i < target.sealedChunks.size(); i++) {
+                target.sealedChunks.set(i, copies.get(next++));
+            }
+            for (int i = 0; i < target.segments.size(); i++) {
+                target.segments.set(i, copies.get(next++));
+            }
+        }
+        fileSize = position;
+        supersededBytes = 0;
+    }
+
+    private long copy(
+            FileChannel target,
+            long position,
+            byte[] key,
+            byte kind,
+            List<ChunkRef> chunkRefs,
+            List<ChunkRef> copies)
+            throws IOException {
+        for (ChunkRef chunkRef : chunkRefs) {
+            ChunkRef copy =
+                    writeRecord(
+                            target,
+                            position,
+                            key,
+                            kind,
+                            readWords(chunkRef),
+                            chunkRef.count,
+                            chunkRef.firstTimestamp,
+                            chunkRef.lastTimestamp);
+            copies.add(copy);
+            position = copy.end();
+        }
+        return position;
+    }
+
+    private static ChunkRef writeRecord(
+            FileChannel target,
+            long position,
+            byte[] key,
+            byte kind,
+            long[] words,
+            int count,
+            long firstTimestamp,
+            long lastTimestamp)
+            throws IOException {
+        ByteBuffer buffer =
+                ByteBuffer.allocate(2 + key.length + CHUNK_HEADER_SIZE + words.length * 8);
+
+        buffer.putShort((short) key.length);
+        buffer.put(key);
+        buffer.putLong(firstTimestamp);
+        buffer.putLong(lastTimestamp);
+        buffer.putInt(count);
+        buffer.putInt(words.length);
+        buffer.put(kind);
+        buffer.asLongBuffer().put(words);
+        buffer.position(buffer.capacity());
+        buffer.flip();
+
+        writeFully(target, buffer, position);
+
+        return new ChunkRef(
+                position + 2 + key.length + CHUNK_HEADER_SIZE,
+                words.length,
+                count,
+                firstTimestamp,
+                lastTimestamp);
+    }
+
+    private static void writeHeader(FileChannel target) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).put(VERSION);
+        header.flip();
+        writeFully(target, header, 0);
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(
+                path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private void decode(List<ChunkRef> chunkRefs, long from, long to, List<DataPoint> points)
+            throws IOException {
+        for (ChunkRef chunkRef : chunkRefs) {
+            if (chunkRef.firstTimestamp > to) {
+                return;
+            }
+            if (chunkRef.lastTimestamp >= from) {
+                Chunk.decode(readWords(chunkRef), chunkRef.count, from, to, points);
+            }
+        }
+    }
+
+    private long[] readWords(ChunkRef chunkRef) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(chunkRef.wordCount * 8);
+
+        if (!readFully(buffer, chunkRef.wordsOffset)) {
+            throw new EOFException("Chunk at " + chunkRef.wordsOffset + " is truncated");
+        }
+
+        long[] words = new long[chunkRef.wordCount];
+        buffer.flip();
+        buffer.asLongBuffer().get(words);
+        return words;
+    }
+
+    private boolean readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeFully(FileChannel target, ByteBuffer buffer, long position)
+            throws IOException {
+        while (buffer.hasRemaining()) {
+            target.write(buffer, position + buffer.position());
+        }
+    }
+
+    private static double combine(Aggregation aggregation, double value, double next) {
+        switch (aggregation) {
+            case FIRST:
+                return value;
+            case LAST:
+                return next;
+            case MIN:
+                return Math.min(value, next);
+            case MAX:
+                return Math.max(value, next);
+            case AVG:
+                return value + next;
+            default:
+                throw new IllegalArgumentException("Unknown aggregation " + aggregation);
+        }
+    }
+
+    private static double finish(Aggregation aggregation, double value, int count) {
+        return aggregation == Aggregation.AVG ? value / count : value;
+    }
+
+    private static final class Series {
+        private final List<ChunkRef> sealedChunks = new ArrayList<>();
+
+        /** Segments of the chunk which is not full yet */
+        private final List<ChunkRef> segments = new ArrayList<>();
+
+        private int segmentPoints;
+
+        /** Points appended since the last segment was written */
+        private @Nullable Chunk pendingSegment;
+
+        private long lastTimestamp = Long.MIN_VALUE;
+    }
+
+    private static final class ChunkRef {
+        private final long wordsOffset;
+
+        private final int wordCount;
+
+        private final int count;
+
+        private final long firstTimestamp;
+
+        private final long lastTimestamp;
+
+        private ChunkRef(
+                long wordsOffset,
+                int wordCount,
+                int count,
+                long firstTimestamp,
+                long lastTimestamp) {
+            this.wordsOffset = wordsOffset;
+            this.wordCount = wordCount;
+            this.count = count;
+            this.firstTimestamp = firstTimestamp;
+            this.lastTimestamp = lastTimestamp;
+        }
+
+        private long end() {
+            return wordsOffset + wordCount * 8L;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.image;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * This implementation of OfferImageCache keeps image ids in memory and persists them to a file
+ *
+ * <p>Every change is appended to the file as a single line, so the cache survives restarts without
+ * rewriting the whole file. The file is compacted when it is loaded. Image ids older than the max
+ * age are considered stale and are uploaded again, since FunPay may drop images which are not used
+ * by any offer
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+public class FileOfferImageCache implements OfferImageCache {
+    /** Default age after which image ids are considered stale */
+    public static final Duration DEFAULT_MAX_AGE = Duration.ofDays(7);
+
+    private static final String INVALIDATED = "-";
+
+    private final Path file;
+
+    private final long maxAgeMillis;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /**
+     * Creates a new FileOfferImageCache instance, loading the entries stored in the file
+     *
+     * @param file file where entries are stored, created if it does not exist
+     * @param maxAge age after which image ids are considered stale
+     * @throws UncheckedIOException if the file can not be read or compacted
+     */
+    public FileOfferImageCache(Path file, Duration maxAge) {
+        if (maxAge.isNegative() || maxAge.isZero()) {
+            throw new IllegalArgumentException("maxAge must be positive");
+        }
+
+        this.file = file;
+        this.maxAgeMillis = maxAge.toMillis();
+
+        load();
+    }
+
+    /**
+     * Creates a new FileOfferImageCache instance, loading the entries stored in the file
+     *
+     * @param file file where entries are stored, created if it does not exist
+     * @throws UncheckedIOException if the file can not be read or compacted
+     */
+    public FileOfferImageCache(Path file) {
+        this(file, DEFAULT_MAX_AGE);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized @Nullable Long get(String contentHash) {
+        Entry entry = entries.get(contentHash);
+
+        if (entry == null) {
+            return null;
+        }
+        if (isStale(entry, System.currentTimeMillis())) {
+            invalidate(contentHash);
+            return null;
+        }
+
+        return entry.imageId;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void put(String contentHash, long imageId) {
+        long savedAt = System.currentTimeMillis();
+
+        entries.put(contentHash, new Entry(imageId, savedAt));
+        append(contentHash + " " + imageId + " " + savedAt);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void invalidate(String contentHash) {
+        if (entries.remove(contentHash) != null) {
+            append(contentHash + " " + INVALIDATED);
+        }
+    }
+
+    /**
+     * Get the number of cached image ids including stale ones
+     *
+     * @return number of cached image ids
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private boolean isStale(Entry entry, long now) {
+        return now - entry.savedAt >= maxAgeMillis;
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        long now = System.currentTimeMillis();
+        for (String line : lines) {
+            String[] parts = line.split(" ");
+
+            if (parts.length == 2 && INVALIDATED.equals(parts[1])) {
+                entries.remove(parts[0]);
+            } else if (parts.length == 3) {
+                try {
+                    Entry entry = new Entry(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+
+                    if (isStale(entry, now)) {
+                        entries.remove(parts[0]);
+                    } else {
+                        entries.put(parts[0], entry);
+                    }
+                } catch (NumberFormatException ignored) {
+                    // a line torn by a crash during append
+                }
+            }
+        }
+
+        if (lines.size() > entries.size()) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                writer.write(
+                        entry.getKey()
+                                + " "
+                                + entry.getValue().imageId
+                                + " "
+                                + entry.getValue().savedAt);
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void append(String line) {
+        try (BufferedWriter writer =
+                Files.newBufferedWriter(
+                        file,
+                        StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND)) {
+            writer.write(line);
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Entry {
+        private final long imageId;
+
+        private final long savedAt;
+
+        private Entry(long imageId, long savedAt) {
+            this.imageId = imageId;
+            this.savedAt = savedAt;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.image;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import com.therepanic.funpay4j.request.ImageSource;
+
+/**
+ * This image compressor is used to shrink images before they are uploaded
+ *
+ * <p>Images are scaled down to fit the max dimensions and re-encoded as JPEG. When a target size
+ * is set, the quality and then the dimensions are lowered until the image fits it. Images which can
+ * not be decoded, or which would become larger, are uploaded as is. Compression runs on a bounded
+ * pool, so many concurrent uploads do not use more than {@code parallelism} cores
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+public class ImageCompressor implements AutoCloseable {
+    private static final float MIN_QUALITY = 0.3f;
+
+    private static final float QUALITY_STEP = 0.85f;
+
+    private static final float SCALE_STEP = 0.8f;
+
+    private static final int MAX_ATTEMPTS = 16;
+
+    private final int maxWidth;
+
+    private final int maxHeight;
+
+    private final float quality;
+
+    private final long targetSize;
+
+    private final ExecutorService executorService;
+
+    /**
+     * Creates a new ImageCompressor instance
+     *
+     * @param maxWidth max width of the compressed image
+     * @param maxHeight max height of the compressed image
+     * @param quality JPEG quality from 0 to 1
+     * @param targetSize max size of the compressed image in bytes, 0 if there is no limit
+     * @param parallelism number of images compressed at the same time
+     */
+    public ImageCompressor(
+            int maxWidth, int maxHeight, float quality, long targetSize, int parallelism) {
+        if (maxWidth < 1 || maxHeight < 1) {
+            throw new IllegalArgumentException("maxWidth and maxHeight must be positive");
+        }
+        if (!(quality > 0 && quality <= 1)) {
+            throw new IllegalArgumentException("quality must be in (0, 1]");
+        }
+        if (targetSize < 0) {
+            throw new IllegalArgumentException("targetSize must not be negative");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+        this.quality = quality;
+        this.targetSize = targetSize;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executorService =
+                Executors.newFixedThreadPool(
+                        parallelism,
+                        runnable -> {
+                            Thread thread =
+                                    new Thread(
+                                            runnable,
+                                            "funpay4j-image-compressor-"
+                                                    + threadNumber.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+    }
+
+    /**
+     * Creates a new ImageCompressor instance without target size using all available cores
+     *
+     * @param maxWidth max width of the compressed image
+     * @param maxHeight max height of the compressed image
+     * @param quality JPEG quality from 0 to 1
+     */
+    public ImageCompressor(int maxWidth, int maxHeight, float quality) {
+        this(maxWidth, maxHeight, quality, 0, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Compress the image on the compressor pool
+     *
+     * @param image image source
+     * @return future of the compressed image
+     */
+    public CompletableFuture<ImageSource> compressAsync(ImageSource image) {
+        CompletableFuture<ImageSource> future = new CompletableFuture<>();
+
+        executorService.execute(
+                () -> {
+                    try {
+                        future.complete(ImageSource.of(compress(image.toByteArray())));
+                    } catch (IOException | RuntimeException e) {
+                        future.completeExceptionally(e);
+                    }
+                });
+
+        return future;
+    }
+
+    /** Stop the compressor pool */
+    @Override
+    public void close() {
+        executorService.shutdown();
+    }
+
+    private byte[] compress(byte[] original) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(original));
+
+        if (image == null) {
+            return original;
+        }
+
+        double scale =
+                Math.min(
+                        1.0,
+                        Math.min(
+                                (double) maxWidth / image.getWidth(),
+                                (double) maxHeight / image.getHeight()));
+        float currentQuality = quality;
+        byte[] compressed = encode(image, scale, currentQuality);
+
+        for (int attempt = 0;
+                targetSize > 0 && compressed.length > targetSize && attempt < MAX_ATTEMPTS;
+                attempt++) {
+            if (currentQuality * QUALITY_STEP >= MIN_QUALITY) {
+                currentQuality *= QUALITY_STEP;
+            } else {
+                scale *= SCALE_STEP;
+            }
+
+            compressed = encode(image, scale, currentQuality);
+        }
+
+        if (scale == 1.0 && compressed.length >= original.length) {
+            return original;
+        }
+
+        return compressed;
+    }
+
+    private static byte[] encode(BufferedImage image, double scale, float quality)
+            throws IOException {
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        BufferedImage rgbImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgbImage.createGraphics();
+        try {
+            graphics.setRenderingHint(
+                    RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(
+                    RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IOException("JPEG writer is not available");
+        }
+        ImageWriter writer = writers.next();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(outputStream)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+
+            writer.setOutput(imageOutputStream);
+            writer.write(null, new IIOImage(rgbImage, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.request.ImageSource;
+
+/**
+ * Cache of uploaded offer images by their content
+ *
+ * <p>Implementations must be thread-safe. Image ids belong to the account which uploaded the
+ * image, so a cache must not be shared across accounts, give every account its own cache instead
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+public interface OfferImageCache {
+    /**
+     * Get the image id of the uploaded image
+     *
+     * @param contentHash content hash of the image, see {@link #contentHash(byte[])}
+     * @return image id, null if the image was not uploaded or its id is stale
+     */
+    @Nullable Long get(String contentHash);
+
+    /**
+     * Remember the image id of the uploaded image
+     *
+     * @param contentHash content hash of the image, see {@link #contentHash(byte[])}
+     * @param imageId image id returned by FunPay
+     */
+    void put(String contentHash, long imageId);
+
+    /**
+     * Forget the image id of the image, so the image is uploaded again next time
+     *
+     * @param contentHash content hash of the image, see {@link #contentHash(byte[])}
+     */
+    void invalidate(String contentHash);
+
+    /**
+     * Compute the content hash of the image
+     *
+     * @param image image bytes
+     * @return lowercase hex SHA-256 of the image
+     */
+    static String contentHash(byte[] image) {
+        return ContentHashes.toHex(ContentHashes.newDigest().digest(image));
+    }
+
+    /**
+     * Compute the content hash of the image streaming it from the source
+     *
+     * @param image image source, must be repeatable to be uploaded afterwards
+     * @return lowercase hex SHA-256 of the image
+     * @throws IOException if the image can not be read
+     */
+    static String contentHash(ImageSource image) throws IOException {
+        MessageDigest digest = ContentHashes.newDigest();
+
+        try (InputStream inputStream = new DigestInputStream(image.openStream(), digest)) {
+            byte[] buffer = new byte[8192];
+            while (inputStream.read(buffer) != -1) {
+                // the digest is updated while reading
+            }
+        }
+
+        return ContentHashes.toHex(digest.digest());
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.objects.offer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * This object represents the result of saving a single offer of the bulk upsert
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+@Data
+@AllArgsConstructor
+@Builder
+public class UpsertOfferResult {
+    @Nullable private Long offerId;
+
+    private Status status;
+
+    @Nullable private Exception error;
+
+    /** Status of the saved offer */
+    public enum Status {
+        /** Offer was created */
+        CREATED,
+        /** Offer was edited */
+        UPDATED,
+        /** Offer was not sent because it did not change since it was last saved */
+        UNCHANGED,
+        /** Offer was not saved, see {@link #getError()} */
+        FAILED
+    }
+}
@@ -0,0 +1,464 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.pricing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import com.therepanic.funpay4j.objects.lot.Lot;
+import com.therepanic.funpay4j.objects.offer.PreviewOffer;
+
+/**
+ * Offers of a lot sorted by price, used to answer repricing questions without sorting offers
+ *
+ * <p>Offers are kept in parallel primitive arrays ordered by price and then by offer id, so the
+ * offer of any rank and price percentiles are read directly, and the rank of an offer or a price is
+ * found by binary search. Updating the book from a new snapshot of the lot only moves the changed
+ * offers and keeps the others in place
+ *
+ * <p>Price books are not thread-safe
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+public final class PriceBook {
+    private static final byte AUTO_DELIVERY = 1;
+
+    private static final byte PROMO = 2;
+
+    private static final byte SELLER_ONLINE = 4;
+
+    private static final Comparator<Entry> BY_PRICE =
+            Comparator.<Entry>comparingDouble(entry -> entry.price)
+                    .thenComparingLong(entry -> entry.offerId);
+
+    private static final Comparator<Entry> BY_OFFER_ID =
+            Comparator.comparingLong(entry -> entry.offerId);
+
+    // offers sorted by price, then by offer id
+    private long[] offerIds = new long[0];
+
+    private double[] prices = new double[0];
+
+    private long[] sellerIds = new long[0];
+
+    private byte[] flags = new byte[0];
+
+    // sorted offer ids with positions of the offers in the price order
+    private long[] sortedOfferIds = new long[0];
+
+    private int[] pricePositions = new int[0];
+
+    private int size;
+
+    /**
+     * Create the price book of the offers
+     *
+     * @param offers offers with unique ids
+     * @return price book
+     */
+    public static PriceBook of(Collection<PreviewOffer> offers) {
+        PriceBook priceBook = new PriceBook();
+        priceBook.update(offers);
+        return priceBook;
+    }
+
+    /**
+     * Create the price book of the lot
+     *
+     * @param lot lot
+     * @return price book
+     */
+    public static PriceBook of(Lot lot) {
+        return of(lot.getPreviewOffers());
+    }
+
+    /**
+     * Replace offers of the book with offers of the new snapshot of the lot
+     *
+     * @param lot new snapshot of the lot
+     * @return true if the book was changed
+     */
+    public boolean update(Lot lot) {
+        return update(lot.getPreviewOffers());
+    }
+
+    /**
+     * Replace offers of the book with the offers
+     *
+     * @param offers offers with unique ids
+     * @return true if the book was changed
+     */
+    public boolean update(Collection<PreviewOffer> offers) {
+        boolean[] kept = new boolean[size];
+        int keptCount = 0;
+        List<Entry> changed = new ArrayList<>();
+
+        for (PreviewOffer offer : offers) {
+            Entry entry = new Entry(offer);
+            int position = positionOf(entry.offerId);
+
+            if (position >= 0 && entry.matches(this, position)) {
+                if (!kept[position]) {
+                    kept[position] = true;
+                    keptCount++;
+                }
+            } else {
+                changed.add(entry);
+            }
+        }
+
+        if (changed.isEmpty() && keptCount == size) {
+            return false;
+        }
+
+        rebuild(kept, changed);
+        return true;
+    }
+
+    /**
+     * Add the offer or replace the offer with the same id
+     *
+     * @param offer offer
+     */
+    public void put(PreviewOffer offer) {
+        Entry entry = new Entry(offer);
+        int position = positionOf(entry.offerId);
+
+        if (position >= 0 && entry.matches(this, position)) {
+            return;
+        }
+
+        boolean[] kept = new boolean[size];
+        Arrays.fill(kept, true);
+
+        rebuild(kept, new ArrayList<>(Collections.singletonList(entry)));
+    }
+
+    /**
+     * Remove the offer
+     *
+     * @param offerId offer id
+     * @return true if the offer was in the book
+     */
+    public boolean remove(long offerId) {
+        int position = positionOf(offerId);
+
+        if (position < 0) {
+            return false;
+        }
+
+        boolean[] kept = new boolean[size];
+        Arrays.fill(kept, true);
+        kept[position] = false;
+
+        rebuild(kept, new ArrayList<>());
+        return true;
+    }
+
+    /**
+     * Get the number of offers
+     *
+     * @return number of offers
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the rank of the offer, the cheapest offer has rank zero
+     *
+     * @param offerId offer id
+     * @return rank of the offer, -1 if the offer is not in the book
+     */
+    public int getRank(long offerId) {
+        return positionOf(offerId);
+    }
+
+    /**
+     * Get the number of offers cheaper than the price, which is the rank an offer with this price
+     * would get
+     *
+     * @param price price
+     * @return number of offers with lower price
+     */
+    public int countCheaperThan(double price) {
+        int low = 0;
+        int high = size;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (Double.compare(prices[middle], price) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Get ids of the cheapest offers
+     *
+     * @param count maximum number of offers
+     * @return offer ids, cheapest first
+     */
+    public long[] getCheapestOfferIds(int count) {
+        return Arrays.copyOf(offerIds, Math.max(0, Math.min(count, size)));
+    }
+
+    /**
+     * Get the price below which the fraction of offers lies, using the nearest rank
+     *
+     * @param fraction fraction of offers from zero to one
+     * @return price, NaN if the book is empty
+     */
+    public double getPercentile(double fraction) {
+        if (!(fraction >= 0 && fraction <= 1)) {
+            throw new IllegalArgumentException("fraction must be between zero and one");
+        }
+        if (size == 0) {
+            return Double.NaN;
+        }
+
+        return prices[Math.max(0, (int) Math.ceil(fraction * size) - 1)];
+    }
+
+    /**
+     * Get the median price
+     *
+     * @return median price, NaN if the book is empty
+     */
+    public double getMedian() {
+        if (size == 0) {
+            return Double.NaN;
+        }
+
+        int middle = size / 2;
+        return size % 2 == 1 ? prices[middle] : (prices[middle - 1] + prices[middle]) / 2;
+    }
+
+    /**
+     * Get the id of the offer with the rank
+     *
+     * @param rank rank of the offer, the cheapest offer has rank zero
+     * @return offer id
+     */
+    public long getOfferId(int rank) {
+        checkRank(rank);
+        return offerIds[rank];
+    }
+
+    /**
+     * Get the price of the offer with the rank
+     *
+     * @param rank rank of the offer, the cheapest offer has rank zero
+     * @return price
+     */
+    public double getPrice(int rank) {
+        checkRank(rank);
+        return prices[rank];
+    }
+
+    /**
+     * Get the seller id of the offer with the rank
+     *
+     * @param rank rank of the offer, the cheapest offer has rank zero
+     * @return seller id
+     */
+    public long getSellerId(int rank) {
+        checkRank(rank);
+        return sellerIds[rank];
+    }
+
+    /**
+     * Check if the offer with the rank has auto delivery
+     *
+     * @param rank rank of the offer, the cheapest offer has rank zero
+     * @return true if the offer has auto delivery
+     */
+    public boolean isAutoDelivery(int rank) {
+        checkRank(rank);
+        return (flags[rank] & AUTO_DELIVERY) != 0;
+    }
+
+    /**
+     * Check if the offer with the rank is promoted
+     *
+     * @param rank rank of the offer, the cheapest offer has rank zero
+     * @return true if the offer is promoted
+     */
+    public boolean isPromo(int rank) {
+        checkRank(rank);
+        return (flags[rank] & PROMO) != 0;
+    }
+
+    /**
+     * Check if the seller of the offer with the rank is online
+     *
+     * @param rank rank of the offer, the cheapest offer has rank zero
+     * @return true if the seller is online
+     */
+    public boolean isSellerOnline(int rank) {
+        checkRank(rank);
+        return (flags[rank] & SELLER_ONLINE) != 0;
+    }
+
+    private int positionOf(long offerId) {
+        int index = Arrays.binarySearch(sortedOfferIds, 0, size, offerId);
+
+        return index < 0 ? -1 : pricePositions[index];
+    }
+
+    private void checkRank(int rank) {
+        if (rank < 0 || rank >= size) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " is out of " + size + " offers");
+        }
+    }
+
+    private void rebuild(boolean[] kept, List<Entry> changed) {
+        deduplicate(changed, kept);
+
+        int keptCount = 0;
+        for (boolean isKept : kept) {
+            if (isKept) {
+                keptCount++;
+            }
+        }
+
+        int newSize = keptCount + changed.size();
+        long[] newOfferIds = new long[newSize];
+        double[] newPrices = new double[newSize];
+        long[] newSellerIds = new long[newSize];
+        byte[] newFlags = new byte[newSize];
+        int[] movedPositions = new int[size];
+
+        changed.sort(BY_PRICE);
+        for (int i = 0, c = 0, n = 0; n < newSize; n++) {
+            while (i < size && !kept[i]) {
+                i++;
+            }
+
+            if (c < changed.size() && (i == size || changed.get(c).isCheaperThan(this, i))) {
+                Entry entry = changed.get(c++);
+                entry.position = n;
+                newOfferIds[n] = entry.offerId;
+                newPrices[n] = entry.price;
+                newSellerIds[n] = entry.sellerId;
+                newFlags[n] = entry.flags;
+            } else {
+                movedPositions[i] = n;
+                newOfferIds[n] = offerIds[i];
+                newPrices[n] = prices[i];
+                newSellerIds[n] = sellerIds[i];
+                newFlags[n] = flags[i];
+                i++;
+            }
+        }
+
+        long[] newSortedOfferIds = new long[newSize];
+        int[] newPricePositions = new int[newSize];
+
+        changed.sort(BY_OFFER_ID);
+        for (int j = 0, c = 0, n = 0; n < newSize; n++) {
+            while (j < size && !kept[pricePositions[j]]) {
+                j++;
+            }
+
+            if (c < changed.size() && (j == size || changed.get(c).offerId < sortedOfferIds[j])) {
+                Entry entry = changed.get(c++);
+                newSortedOfferIds[n] = entry.offerId;
+                newPricePositions[n] = entry.position;
+            } else {
+                newSortedOfferIds[n] = sortedOfferIds[j];
+                newPricePositions[n] = movedPositions[pricePositions[j]];
+                j++;
+            }
+        }
+
+        this.offerIds = newOfferIds;
+        this.prices = newPrices;
+        this.sellerIds = newSellerIds;
+        this.flags = newFlags;
+        this.sortedOfferIds = newSortedOfferIds;
+        this.pricePositions = newPricePositions;
+        this.size = newSize;
+    }
+
+    private void deduplicate(List<Entry> changed, boolean[] kept) {
+        // the last entry of an offer wins, and it replaces the kept offer with the same id
+        changed.sort(BY_OFFER_ID);
+
+        int unique = 0;
+        for (int i = 0; i < changed.size(); i++) {
+            if (i + 1 < changed.size() && changed.get(i + 1).offerId == changed.get(i).offerId) {
+                continue;
+            }
+
+            Entry entry = changed.get(i);
+            int position = positionOf(entry.offerId);
+            if (position >= 0) {
+                kept[position] = false;
+            }
+            changed.set(unique++, entry);
+        }
+
+        changed.subList(unique, changed.size()).clear();
+    }
+
+    private static final class Entry {
+        private final long offerId;
+
+        private final double price;
+
+        private final long sellerId;
+
+        private final byte flags;
+
+        private int position;
+
+        private Entry(PreviewOffer offer) {
+            this.offerId = offer.getOfferId();
+            this.price = offer.getPrice();
+            this.sellerId = offer.getSeller().getUserId();
+
+            int offerFlags = offer.isAutoDelivery() ? AUTO_DELIVERY : 0;
+            if (offer.isPromo()) {
+                offerFlags |= PROMO;
+            }
+            if (offer.getSeller().isOnline()) {
+                offerFlags |= SELLER_ONLINE;
+            }
+            this.flags = (byte) offerFlags;
+        }
+
+        private boolean matches(PriceBook priceBook, int position) {
+            return Double.compare(price, priceBook.prices[position]) == 0
+                    && sellerId == priceBook.sellerIds[position]
+                    && flags == priceBook.flags[position];
+        }
+
+        private boolean isCheaperThan(PriceBook priceBook, int position) {
+            int comparison = Double.compare(price, priceBook.prices[position]);
+
+            return comparison < 0 || comparison == 0 && offerId < priceBook.offerIds[position];
+        }
+    }
+}
@@ -0,0 +1,352 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.AuthorizedFunPayExecutor;
+import com.therepanic.funpay4j.FunPayExecutor;
+import com.therepanic.funpay4j.commands.lot.GetLot;
+import com.therepanic.funpay4j.commands.offer.RepriceOffer;
+import com.therepanic.funpay4j.exceptions.FunPayApiException;
+import com.therepanic.funpay4j.objects.lot.Lot;
+import com.therepanic.funpay4j.request.OfferTemplate;
+
+/**
+ * This repricer is used to keep offers of many accounts just below their competitors
+ *
+ * <p>Every cycle reads each lot with priced offers once, at most {@code maxConcurrentReads} lots
+ * at the same time, and computes the target price of every offer from the cheapest offer of other
+ * sellers in its lot. Offers of the sellers of priced offers are never treated as competitors.
+ * The target undercuts the competitor by the step of the rule, rounded down to hundredths, and is
+ * kept between the floor and ceiling prices. Each offer whose price differs from its target is
+ * saved once per cycle with {@link RepriceOffer}
+ *
+ * <p>Lots list prices buyers pay, which include the commission, while offers are saved with the
+ * price the seller gets. The ratio between the listed and the last saved price of the offer is used
+ * to convert the competitor price, so the target and the floor and ceiling prices of the rule are
+ * seller prices
+ *
+ * <p>Saves of an account are executed one after another, so the rate limit of the account
+ * executor, if any, is respected without occupying more than one thread per account. Lots are read
+ * through the read executor, which may be rate limited or attached to a shared read tier. Failed
+ * reads and saves are retried in the next cycle
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+public class Repricer implements AutoCloseable {
+    /** Default maximum number of lots and accounts processed at the same time */
+    public static final int DEFAULT_MAX_CONCURRENT_READS = 4;
+
+    private final FunPayExecutor readExecutor;
+
+    private final ExecutorService workerExecutor;
+
+    private final ScheduledExecutorService cycleExecutor;
+
+    private final ConcurrentMap<Long, Target> targets = new ConcurrentHashMap<>();
+
+    private final Map<Long, PriceBook> priceBooks = new HashMap<>();
+
+    private boolean started;
+
+    /**
+     * Creates a new Repricer instance
+     *
+     * @param readExecutor executor which will read lots
+     * @param maxConcurrentReads maximum number of lots and accounts processed at the same time
+     */
+    public Repricer(FunPayExecutor readExecutor, int maxConcurrentReads) {
+        if (maxConcurrentReads < 1) {
+            throw new IllegalArgumentException("maxConcurrentReads must be positive");
+        }
+
+        this.readExecutor = readExecutor;
+        this.workerExecutor =
+                Executors.newFixedThreadPool(
+                        maxConcurrentReads,
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "funpay4j-repricer-worker");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        this.cycleExecutor =
+                Executors.newSingleThreadScheduledExecutor(
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "funpay4j-repricer");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+    }
+
+    /**
+     * Creates a new Repricer instance
+     *
+     * @param readExecutor executor which will read lots
+     */
+    public Repricer(FunPayExecutor readExecutor) {
+        this(readExecutor, DEFAULT_MAX_CONCURRENT_READS);
+    }
+
+    /**
+     * Price the offer of the account by the rule, replacing the previous rule of the offer
+     *
+     * @param account executor of the account owning the offer
+     * @param rule rule of the offer
+     * @throws IllegalArgumentException if the offer of the rule has no lot id, offer id or price
+     */
+    public void addRule(AuthorizedFunPayExecutor account, RepricingRule rule) {
+        if (rule.getOffer().getLotId() == null
+                || rule.getOffer().getOfferId() == null
+                || rule.getOffer().getPrice() == null) {
+            throw new IllegalArgumentException(
+                    "Offer of the rule must have lot id, offer id and price");
+        }
+
+        targets.put(rule.getOffer().getOfferId(), new Target(account, rule));
+    }
+
+    /**
+     * Stop pricing the offer
+     *
+     * @param offerId offer id
+     * @return true if the offer had a rule
+     */
+    public boolean removeRule(long offerId) {
+        return targets.remove(offerId) != null;
+    }
+
+    /**
+     * Run cycles one after another with the delay between them
+     *
+     * @param delay delay between the end of a cycle and the start of the next one
+     * @throws IllegalStateException if the repricer is already started
+     */
+    public synchronized void start(Duration delay) {
+        if (started) {
+            throw new IllegalStateException("Repricer is already started");
+        }
+
+        started = true;
+        cycleExecutor.scheduleWithFixedDelay(
+                () -> {
+                    try {
+                        runCycle();
+                    } catch (RuntimeException e) {
+                        // the next cycle starts from fresh lots
+                    }
+                },
+                0,
+                delay.toNanos(),
+                TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Read the lots and save the offers whose price differs from the target price
+     *
+     * @return number of saved offers
+     */
+    public int runCycle() {
+        synchronized (priceBooks) {
+            Map<Long, List<Target>> targetsByLot = new HashMap<>();
+            for (Target target : targets.values()) {
+                targetsByLot.computeIfAbsent(target.lotId, lotId -> new ArrayList<>()).add(target);
+            }
+            priceBooks.keySet().retainAll(targetsByLot.keySet());
+
+            Map<Long, CompletableFuture<@Nullable Lot>> lots = new HashMap<>();
+            for (Long lotId : targetsByLot.keySet()) {
+                lots.put(lotId, CompletableFuture.supplyAsync(() -> read(lotId), workerExecutor));
+            }
+
+            Map<AuthorizedFunPayExecutor, List<Edit>> editsByAccount = new IdentityHashMap<>();
+            for (Map.Entry<Long, List<Target>> entry : targetsByLot.entrySet()) {
+                Lot lot = lots.get(entry.getKey()).join();
+                if (lot == null) {
+                    continue;
+                }
+
+                PriceBook priceBook = priceBooks.get(entry.getKey());
+                if (priceBook == null) {
+                    priceBook = PriceBook.of(lot);
+                    priceBooks.put(entry.getKey(), priceBook);
+                } else {
+                    priceBook.update(lot);
+                }
+
+                Set<Long> ownSellerIds = new HashSet<>();
+                for (Target target : entry.getValue()) {
+                    int rank = priceBook.getRank(target.offerId);
+                    if (rank >= 0) {
+                        ownSellerIds.add(priceBook.getSellerId(rank));
+                    }
+                }
+
+                for (Target target : entry.getValue()) {
+                    Double price = targetPrice(priceBook, ownSellerIds, target);
+                    if (price != null) {
+                        editsByAccount
+                                .computeIfAbsent(target.account, account -> new ArrayList<>())
+                                .add(new Edit(target, price));
+                    }
+                }
+            }
+
+            List<CompletableFuture<Integer>> saves = new ArrayList<>();
+            for (List<Edit> edits : editsByAccount.values()) {
+                saves.add(CompletableFuture.supplyAsync(() -> save(edits), workerExecutor));
+            }
+
+            int saved = 0;
+            for (CompletableFuture<Integer> save : saves) {
+                saved += save.join();
+            }
+            return saved;
+        }
+    }
+
+    /** Stop running cycles */
+    @Override
+    public void close() {
+        cycleExecutor.shutdownNow();
+        workerExecutor.shutdownNow();
+    }
+
+    private @Nullable Lot read(long lotId) {
+        try {
+            return readExecutor.execute(GetLot.builder().lotId(lotId).build());
+        } catch (FunPayApiException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static int save(List<Edit> edits) {
+        int saved = 0;
+
+        for (Edit edit : edits) {
+            Target target = edit.target;
+            try {
+                OfferTemplate template = target.template;
+                if (template == null) {
+                    template = target.account.createOfferTemplate(target.rule.getOffer());
+                    target.template = template;
+                }
+
+                target.account.execute(new RepriceOffer(template, edit.price, null));
+                target.savedPrice = edit.price;
+                saved++;
+            } catch (FunPayApiException | RuntimeException e) {
+                // the template is created again in case the offer has changed
+                target.template = null;
+            }
+        }
+
+        return saved;
+    }
+
+    private static @Nullable Double targetPrice(
+            PriceBook priceBook, Set<Long> ownSellerIds, Target target) {
+        int rank = priceBook.getRank(target.offerId);
+
+        if (rank < 0) {
+            // inactive offers are not listed in the lot
+            return null;
+        }
+
+        RepricingRule rule = target.rule;
+        Double ceilingPrice = rule.getCeilingPrice();
+        double savedPrice = target.savedPrice;
+        // listed prices include the commission, which is derived from the own offer
+        double commission = savedPrice > 0 ? priceBook.getPrice(rank) / savedPrice : 1;
+        double price = Double.NaN;
+
+        for (int i = 0; i < priceBook.size(); i++) {
+            if (!ownSellerIds.contains(priceBook.getSellerId(i))) {
+                price =
+                        BigDecimal.valueOf((priceBook.getPrice(i) - rule.getStep()) / commission)
+                                .setScale(2, RoundingMode.FLOOR)
+                                .doubleValue();
+                break;
+            }
+        }
+
+        if (Double.isNaN(price)) {
+            if (ceilingPrice == null) {
+                return null;
+            }
+            price = ceilingPrice;
+        }
+
+        price = Math.max(price, rule.getFloorPrice());
+        if (ceilingPrice != null) {
+            price = Math.min(price, ceilingPrice);
+        }
+
+        return Math.abs(price - savedPrice) < 0.005 ? null : price;
+    }
+
+    private static final class Target {
+        private final AuthorizedFunPayExecutor account;
+
+        private final RepricingRule rule;
+
+        private final long lotId;
+
+        private final long offerId;
+
+        private volatile @Nullable OfferTemplate template;
+
+        /** Price the offer was last saved with, without the commission */
+        private volatile double savedPrice;
+
+        private Target(AuthorizedFunPayExecutor account, RepricingRule rule) {
+            this.account = account;
+            this.rule = rule;
+            this.lotId = rule.getOffer().getLotId();
+            this.offerId = rule.getOffer().getOfferId();
+            this.savedPrice = rule.getOffer().getPrice();
+        }
+    }
+
+    private static final class Edit {
+        private final Target target;
+
+        private final double price;
+
+        private Edit(Target target, double price) {
+            this.target = target;
+            this.price = price;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.pricing;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.commands.offer.EditOffer;
+
+/**
+ * This object represents the rule by which {@link Repricer} prices the offer
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+@Data
+@AllArgsConstructor
+@Builder
+public class RepricingRule {
+    /** The offer as it is saved, with its lot id, offer id and current price */
+    private EditOffer offer;
+
+    /** Amount by which the listed price of the cheapest competitor is undercut */
+    private double step;
+
+    /** The lowest price the offer is saved with */
+    private double floorPrice;
+
+    /** Price used when the lot has no competitors, and the highest price the offer is saved with */
+    @Nullable private Double ceilingPrice;
+}
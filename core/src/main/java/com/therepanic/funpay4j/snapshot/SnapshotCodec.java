@@ -0,0 +1,511 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.snapshot;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.objects.lot.Lot;
+import com.therepanic.funpay4j.objects.lot.LotCounter;
+import com.therepanic.funpay4j.objects.offer.Offer;
+import com.therepanic.funpay4j.objects.offer.PreviewOffer;
+import com.therepanic.funpay4j.objects.transaction.Transaction;
+import com.therepanic.funpay4j.objects.transaction.TransactionStatus;
+import com.therepanic.funpay4j.objects.user.AdvancedSellerReview;
+import com.therepanic.funpay4j.objects.user.PreviewSeller;
+import com.therepanic.funpay4j.objects.user.Seller;
+import com.therepanic.funpay4j.objects.user.SellerReview;
+import com.therepanic.funpay4j.objects.user.User;
+
+/**
+ * Compact binary encoding of snapshot entries
+ *
+ * <p>Integers are written as zigzag varints, and nullable strings, lists and dates are prefixed by
+ * their length plus one, where zero means null
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+final class SnapshotCodec {
+    private static final byte LOT = 1;
+
+    private static final byte OFFER = 2;
+
+    private static final byte USER = 3;
+
+    private static final byte SELLER = 4;
+
+    private static final byte TRANSACTION = 5;
+
+    private static final TransactionStatus[] TRANSACTION_STATUSES = TransactionStatus.values();
+
+    private SnapshotCodec() {}
+
+    /**
+     * Check if the value can be stored in the snapshot
+     *
+     * @param value value
+     * @return true if the value is supported
+     */
+    static boolean isSupported(@Nullable Object value) {
+        return value instanceof Lot
+                || value instanceof Offer
+                || value instanceof User
+                || value instanceof Transaction;
+    }
+
+    static void writeEntry(DataOutputStream out, SnapshotEntry entry) throws IOException {
+        Object value = entry.getValue();
+
+        writeString(out, entry.getKey());
+        writeLong(out, entry.getFetchedAt());
+
+        if (value instanceof Lot) {
+            out.writeByte(LOT);
+            writeLot(out, (Lot) value);
+        } else if (value instanceof Offer) {
+            out.writeByte(OFFER);
+            writeOffer(out, (Offer) value);
+        } else if (value instanceof Seller) {
+            out.writeByte(SELLER);
+            writeUser(out, (User) value);
+            writeSeller(out, (Seller) value);
+        } else if (value instanceof User) {
+            out.writeByte(USER);
+            writeUser(out, (User) value);
+        } else if (value instanceof Transaction) {
+            out.writeByte(TRANSACTION);
+            writeTransaction(out, (Transaction) value);
+        } else {
+            throw new IllegalArgumentException(
+                    "Snapshot does not support " + value.getClass().getName());
+        }
+    }
+
+    static SnapshotEntry readEntry(ByteBuffer in) {
+        String key = readString(in);
+        long fetchedAt = readLong(in);
+        byte type = in.get();
+
+        Object value;
+        switch (type) {
+            case LOT:
+                value = readLot(in);
+                break;
+            case OFFER:
+                value = readOffer(in);
+                break;
+            case USER:
+                value = readUser(in, new User());
+                break;
+            case SELLER:
+                value = readSeller(in, (Seller) readUser(in, new Seller(0, 0, null, null)));
+                break;
+            case TRANSACTION:
+                value = readTransaction(in);
+                break;
+            default:
+                throw new IllegalStateException("Unknown snapshot entry type " + type);
+        }
+
+        return new SnapshotEntry(key, fetchedAt, value);
+    }
+
+    private static void writeLot(DataOutputStream out, Lot lot) throws IOException {
+        writeLong(out, lot.getId());
+        writeLong(out, lot.getGameId());
+        writeString(out, lot.getTitle());
+        writeString(out, lot.getDescription());
+
+        List<LotCounter> lotCounters = lot.getLotCounters();
+        writeSize(out, lotCounters);
+        if (lotCounters != null) {
+            for (LotCounter lotCounter : lotCounters) {
+                writeLong(out, lotCounter.getLotId());
+                writeString(out, lotCounter.getParam());
+                writeLong(out, lotCounter.getCounter());
+            }
+        }
+
+        writePreviewOffers(out, lot.getPreviewOffers());
+    }
+
+    private static Lot readLot(ByteBuffer in) {
+        long id = readLong(in);
+        long gameId = readLong(in);
+        String title = readString(in);
+        String description = readString(in);
+
+        List<LotCounter> lotCounters = null;
+        int size = readSize(in);
+        if (size >= 0) {
+            lotCounters = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                lotCounters.add(new LotCounter(readLong(in), readString(in), (int) readLong(in)));
+            }
+        }
+
+        return new Lot(id, gameId, title, description, lotCounters, readPreviewOffers(in));
+    }
+
+    private static void writeOffer(DataOutputStream out, Offer offer) throws IOException {
+        writeLong(out, offer.getId());
+        writeString(out, offer.getShortDescription());
+        writeString(out, offer.getDetailedDescription());
+
+        Map<String, String> parameters = offer.getParameters();
+        writeSize(out, parameters == null ? null : parameters.keySet());
+        if (parameters != null) {
+            for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+                writeString(out, parameter.getKey());
+                writeString(out, parameter.getValue());
+            }
+        }
+
+        out.writeDouble(offer.getPrice());
+        writeStrings(out, offer.getAttachmentLinks());
+        out.writeBoolean(offer.isAutoDelivery());
+        writePreviewSeller(out, offer.getSeller());
+    }
+
+    private static Offer readOffer(ByteBuffer in) {
+        long id = readLong(in);
+        String shortDescription = readString(in);
+        String detailedDescription = readString(in);
+
+        Map<String, String> parameters = null;
+        int size = readSize(in);
+        if (size >= 0) {
+            parameters = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                parameters.put(readString(in), readString(in));
+            }
+        }
+
+        return new Offer(
+                id,
+                shortDescription,
+                detailedDescription,
+                parameters,
+                in.getDouble(),
+                readStrings(in),
+                in.get() != 0,
+                readPreviewSeller(in));
+    }
+
+    private static void writeUser(DataOutputStream out, User user) throws IOException {
+        writeLong(out, user.getId());
+        writeString(out, user.getUsername());
+        writeString(out, user.getAvatarPhotoLink());
+        out.writeBoolean(user.isOnline());
+        writeStrings(out, user.getBadges());
+        writeDate(out, user.getLastSeenAt());
+        writeDate(out, user.getRegisteredAt());
+    }
+
+    private static User readUser(ByteBuffer in, User user) {
+        user.setId(readLong(in));
+        user.setUsername(readString(in));
+        user.setAvatarPhotoLink(readString(in));
+        user.setOnline(in.get() != 0);
+        user.setBadges(readStrings(in));
+        user.setLastSeenAt(readDate(in));
+        user.setRegisteredAt(readDate(in));
+        return user;
+    }
+
+    private static void writeSeller(DataOutputStream out, Seller seller) throws IOException {
+        out.writeDouble(seller.getRating());
+        writeLong(out, seller.getReviewCount());
+        writePreviewOffers(out, seller.getPreviewOffers());
+
+        List<SellerReview> lastReviews = seller.getLastReviews();
+        writeSize(out, lastReviews);
+        if (lastReviews != null) {
+            for (SellerReview sellerReview : lastReviews) {
+                writeSellerReview(out, sellerReview);
+            }
+        }
+    }
+
+    private static Seller readSeller(ByteBuffer in, Seller seller) {
+        seller.setRating(in.getDouble());
+        seller.setReviewCount((int) readLong(in));
+        seller.setPreviewOffers(readPreviewOffers(in));
+
+        int size = readSize(in);
+        if (size >= 0) {
+            List<SellerReview> lastReviews = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                lastReviews.add(readSellerReview(in));
+            }
+            seller.setLastReviews(lastReviews);
+        }
+        return seller;
+    }
+
+    private static void writeSellerReview(DataOutputStream out, SellerReview sellerReview)
+            throws IOException {
+        out.writeBoolean(sellerReview instanceof AdvancedSellerReview);
+        if (sellerReview instanceof AdvancedSellerReview) {
+            AdvancedSellerReview advancedSellerReview = (AdvancedSellerReview) sellerReview;
+            writeLong(out, advancedSellerReview.getSenderUserId());
+            writeString(out, advancedSellerReview.getSenderUsername());
+            writeString(out, advancedSellerReview.getSenderAvatarLink());
+            writeString(out, advancedSellerReview.getOrderId());
+            writeDate(out, advancedSellerReview.getCreatedAt());
+        }
+
+        writeString(out, sellerReview.getGameTitle());
+        out.writeDouble(sellerReview.getPrice());
+        writeString(out, sellerReview.getText());
+        writeLong(out, sellerReview.getStars());
+        writeString(out, sellerReview.getSellerReplyText());
+    }
+
+    private static SellerReview readSellerReview(ByteBuffer in) {
+        SellerReview sellerReview;
+        if (in.get() != 0) {
+            sellerReview =
+                    new AdvancedSellerReview(
+                            readLong(in),
+                            readString(in),
+                            readString(in),
+                            readString(in),
+                            readDate(in));
+        } else {
+            sellerReview = new SellerReview();
+        }
+
+        sellerReview.setGameTitle(readString(in));
+        sellerReview.setPrice(in.getDouble());
+        sellerReview.setText(readString(in));
+        sellerReview.setStars((int) readLong(in));
+        sellerReview.setSellerReplyText(readString(in));
+        return sellerReview;
+    }
+
+    private static void writeTransaction(DataOutputStream out, Transaction transaction)
+            throws IOException {
+        writeLong(out, transaction.getId());
+        writeString(out, transaction.getTitle());
+        out.writeDouble(transaction.getPrice());
+        writeLong(out, transaction.getStatus() == null ? -1 : transaction.getStatus().ordinal());
+        writeString(out, transaction.getPaymentNumber());
+        writeDate(out, transaction.getDate());
+    }
+
+    private static Transaction readTransaction(ByteBuffer in) {
+        long id = readLong(in);
+        String title = readString(in);
+        double price = in.getDouble();
+        int status = (int) readLong(in);
+
+        return new Transaction(
+                id,
+                title,
+                price,
+                status < 0 ? null : TRANSACTION_STATUSES[status],
+                readString(in),
+                readDate(in));
+    }
+
+    private static void writePreviewOffers(
+            DataOutputStream out, @Nullable List<PreviewOffer> previewOffers) throws IOException {
+        writeSize(out, previewOffers);
+        if (previewOffers == null) {
+            return;
+        }
+
+        for (PreviewOffer previewOffer : previewOffers) {
+            writeLong(out, previewOffer.getOfferId());
+            writeString(out, previewOffer.getShortDescription());
+            out.writeDouble(previewOffer.getPrice());
+            out.writeByte(
+                    (previewOffer.isAutoDelivery() ? 1 : 0) | (previewOffer.isPromo() ? 2 : 0));
+            writePreviewSeller(out, previewOffer.getSeller());
+        }
+    }
+
+    private static @Nullable List<PreviewOffer> readPreviewOffers(ByteBuffer in) {
+        int size = readSize(in);
+        if (size < 0) {
+            return null;
+        }
+
+        List<PreviewOffer> previewOffers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long offerId = readLong(in);
+            String shortDescription = readString(in);
+            double price = in.getDouble();
+            byte flags = in.get();
+
+            previewOffers.add(
+                    new PreviewOffer(
+                            offerId,
+                            shortDescription,
+                            price,
+                            (flags & 1) != 0,
+                            (flags & 2) != 0,
+                            readPreviewSeller(in)));
+        }
+        return previewOffers;
+    }
+
+    private static void writePreviewSeller(DataOutputStream out, @Nullable PreviewSeller seller)
+            throws IOException {
+        out.writeBoolean(seller != null);
+        if (seller == null) {
+            return;
+        }
+
+        writeLong(out, seller.getUserId());
+        writeString(out, seller.getUsername());
+        writeString(out, seller.getAvatarPhotoLink());
+        out.writeBoolean(seller.isOnline());
+        writeLong(out, seller.getReviewCount());
+    }
+
+    private static @Nullable PreviewSeller readPreviewSeller(ByteBuffer in) {
+        if (in.get() == 0) {
+            return null;
+        }
+
+        long userId = readLong(in);
+        String username = readString(in);
+        String avatarPhotoLink = readString(in);
+        boolean online = in.get() != 0;
+
+        PreviewSeller seller = new PreviewSeller((int) readLong(in));
+        seller.setUserId(userId);
+        seller.setUsername(username);
+        seller.setAvatarPhotoLink(avatarPhotoLink);
+        seller.setOnline(online);
+        return seller;
+    }
+
+    private static void writeStrings(DataOutputStream out, @Nullable List<String> strings)
+            throws IOException {
+        writeSize(out, strings);
+        if (strings != null) {
+            for (String string : strings) {
+                writeString(out, string);
+            }
+        }
+    }
+
+    private static @Nullable List<String> readStrings(ByteBuffer in) {
+        int size = readSize(in);
+        if (size < 0) {
+            return null;
+        }
+
+        List<String> strings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            strings.add(readString(in));
+        }
+        return strings;
+    }
+
+    private static void writeDate(DataOutputStream out, @Nullable Date date) throws IOException {
+        out.writeBoolean(date != null);
+        if (date != null) {
+            writeLong(out, date.getTime());
+        }
+    }
+
+    private static @Nullable Date readDate(ByteBuffer in) {
+        return in.get() == 0 ? null : new Date(readLong(in));
+    }
+
+    private static void writeSize(DataOutputStream out, @Nullable Iterable<?> values)
+            throws IOException {
+        if (values == null) {
+            writeVarint(out, 0);
+            return;
+        }
+
+        long size = 0;
+        for (Object ignored : values) {
+            size++;
+        }
+        writeVarint(out, size + 1);
+    }
+
+    private static int readSize(ByteBuffer in) {
+        return (int) readVarint(in) - 1;
+    }
+
+    private static void writeString(DataOutputStream out, @Nullable String string)
+            throws IOException {
+        if (string == null) {
+            writeVarint(out, 0);
+            return;
+        }
+
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length + 1L);
+        out.write(bytes);
+    }
+
+    private static @Nullable String readString(ByteBuffer in) {
+        int length = readSize(in);
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeLong(DataOutputStream out, long value) throws IOException {
+        writeVarint(out, (value << 1) ^ (value >> 63));
+    }
+
+    private static long readLong(ByteBuffer in) {
+        long value = readVarint(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint in snapshot");
+    }
+}
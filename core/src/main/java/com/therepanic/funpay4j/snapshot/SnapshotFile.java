@@ -0,0 +1,146 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * File storing snapshot of FunPay entities between restarts
+ *
+ * <p>Entities are stored in a compact binary encoding. The file is replaced atomically on every
+ * write, and it is memory-mapped for reading, so loading it costs little more than mapping it
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+public final class SnapshotFile {
+    private static final int MAGIC = 0x46505331;
+
+    private static final byte VERSION = 1;
+
+    private final Path path;
+
+    /**
+     * Creates a new SnapshotFile instance
+     *
+     * @param path path of the file, it is created on the first write
+     */
+    public SnapshotFile(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Get the path of the file
+     *
+     * @return path
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Check if the entity can be stored in the snapshot
+     *
+     * @param value entity
+     * @return true if the entity is a lot, offer, user or transaction
+     */
+    public static boolean isSupported(Object value) {
+        return SnapshotCodec.isSupported(value);
+    }
+
+    /**
+     * Replace the content of the file with the entries
+     *
+     * @param entries entries that will be written
+     * @throws IOException if the file can not be written
+     * @throws IllegalArgumentException if the entity of the entry is not supported
+     */
+    public void write(Collection<SnapshotEntry> entries) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out =
+                    new DataOutputStream(
+                            new BufferedOutputStream(Files.newOutputStream(temporary), 65536))) {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                out.writeInt(entries.size());
+                for (SnapshotEntry entry : entries) {
+                    SnapshotCodec.writeEntry(out, entry);
+                }
+            }
+
+            Files.move(
+                    temporary,
+                    path,
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Read all entries of the file
+     *
+     * @return entries, empty if the file does not exist
+     * @throws IOException if the file can not be read or is corrupted
+     */
+    public List<SnapshotEntry> read() throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException e) {
+            return Collections.emptyList();
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+                throw new IOException("File " + path + " is not a snapshot");
+            }
+
+            int size = buffer.getInt();
+            // every entry takes at least one byte, so a larger count is corrupted
+            if (size < 0 || size > buffer.remaining()) {
+                throw new IOException("Snapshot " + path + " is corrupted");
+            }
+
+            List<SnapshotEntry> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                entries.add(SnapshotCodec.readEntry(buffer));
+            }
+            return entries;
+        } catch (RuntimeException e) {
+            throw new IOException("Snapshot " + path + " is corrupted", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.stream;
+
+/**
+ * Java 8 compatible counterpart of {@code java.util.concurrent.Flow.Publisher}
+ *
+ * <p>The contract is the same as in Reactive Streams, so it can be adapted to {@code Flow} or
+ * {@code org.reactivestreams} by delegating each method one to one
+ *
+ * @param <T> type of published items
+ * @author therepanic
+ * @since 1.0.7
+ */
+@FunctionalInterface
+public interface FunPayPublisher<T> {
+    /**
+     * Subscribe the subscriber to this publisher
+     *
+     * @param subscriber subscriber which will receive the items
+     */
+    void subscribe(FunPaySubscriber<? super T> subscriber);
+}
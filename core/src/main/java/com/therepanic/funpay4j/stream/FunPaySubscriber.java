@@ -0,0 +1,48 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.stream;
+
+/**
+ * Java 8 compatible counterpart of {@code java.util.concurrent.Flow.Subscriber}
+ *
+ * @param <T> type of received items
+ * @author therepanic
+ * @since 1.0.7
+ */
+public interface FunPaySubscriber<T> {
+    /**
+     * Invoked once before any other signal
+     *
+     * @param subscription subscription through which items are requested
+     */
+    void onSubscribe(FunPaySubscription subscription);
+
+    /**
+     * Invoked with the next item, never more times than requested
+     *
+     * @param item next item
+     */
+    void onNext(T item);
+
+    /**
+     * Invoked when the stream terminated with an error
+     *
+     * @param throwable error that terminated the stream
+     */
+    void onError(Throwable throwable);
+
+    /** Invoked when the stream has no more items */
+    void onComplete();
+}
@@ -0,0 +1,33 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.stream;
+
+/**
+ * Java 8 compatible counterpart of {@code java.util.concurrent.Flow.Subscription}
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+public interface FunPaySubscription {
+    /**
+     * Request more items
+     *
+     * @param n number of items, must be positive
+     */
+    void request(long n);
+
+    /** Stop receiving items and abort the in-flight request if there is one */
+    void cancel();
+}
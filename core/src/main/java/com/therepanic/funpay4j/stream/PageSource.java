@@ -0,0 +1,89 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.stream;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongFunction;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.objects.ParsedPage;
+
+/**
+ * Source of pages for {@link PagedPublisher}
+ *
+ * <p>Cancelling a future returned by the source must abort the in-flight request
+ *
+ * @param <T> type of page items
+ * @author therepanic
+ * @since 1.0.7
+ */
+@FunctionalInterface
+public interface PageSource<T> {
+    /**
+     * Fetch the page
+     *
+     * @param continueArg continue token of the page, null for the first page
+     * @return future completed with the page
+     */
+    CompletableFuture<ParsedPage<T>> fetch(@Nullable String continueArg);
+
+    /**
+     * Creates a source where every page holds a single item fetched by id
+     *
+     * @param ids ids of items in the order they will be fetched
+     * @param fetcher function which fetches the item by id
+     * @param <T> type of items
+     * @return page source
+     */
+    static <T> PageSource<T> ofItems(List<Long> ids, LongFunction<CompletableFuture<T>> fetcher) {
+        return continueArg -> {
+            int index = continueArg == null ? 0 : Integer.parseInt(continueArg);
+
+            if (index >= ids.size()) {
+                return CompletableFuture.completedFuture(
+                        new ParsedPage<>(Collections.emptyList(), null));
+            }
+
+            String nextContinueArg = index + 1 < ids.size() ? String.valueOf(index + 1) : null;
+            CompletableFuture<T> itemFuture = fetcher.apply(ids.get(index));
+
+            // thenApply would return a future whose cancel does not reach the request
+            CompletableFuture<ParsedPage<T>> pageFuture =
+                    new CompletableFuture<ParsedPage<T>>() {
+                        @Override
+                        public boolean cancel(boolean mayInterruptIfRunning) {
+                            itemFuture.cancel(mayInterruptIfRunning);
+                            return super.cancel(mayInterruptIfRunning);
+                        }
+                    };
+
+            itemFuture.whenComplete(
+                    (item, throwable) -> {
+                        if (throwable != null) {
+                            pageFuture.completeExceptionally(throwable);
+                        } else {
+                            pageFuture.complete(
+                                    new ParsedPage<>(
+                                            Collections.singletonList(item), nextContinueArg));
+                        }
+                    });
+
+            return pageFuture;
+        };
+    }
+}
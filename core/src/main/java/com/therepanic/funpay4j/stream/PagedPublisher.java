@@ -0,0 +1,278 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.stream;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.objects.ParsedPage;
+
+/**
+ * This publisher emits items of a paginated FunPay list page by page
+ *
+ * <p>Pages are requested only when subscriber demand exceeds the buffered items, at most one
+ * page is in flight at a time, and no page is requested while {@code bufferSize} items are
+ * waiting, so a slow subscriber holds at most {@code bufferSize} plus one page in memory.
+ * Cancelling the subscription aborts the in-flight request. Every subscriber gets its own chain
+ * of pages starting from the first one
+ *
+ * @param <P> type of parsed page items
+ * @param <T> type of published items
+ * @author therepanic
+ * @since 1.0.7
+ */
+public class PagedPublisher<P, T> implements FunPayPublisher<T> {
+    /** Default number of items that may wait for subscriber demand */
+    public static final int DEFAULT_BUFFER_SIZE = 256;
+
+    private final PageSource<P> pageSource;
+
+    private final Function<P, T> mapper;
+
+    private final int maxPages;
+
+    private final int bufferSize;
+
+    /**
+     * Creates a new PagedPublisher instance
+     *
+     * @param pageSource source of pages
+     * @param mapper function converting page items into published items
+     * @param maxPages maximum number of pages that will be fetched
+     * @param bufferSize number of items after which no more pages are fetched until they are
+     *     consumed
+     */
+    public PagedPublisher(
+            PageSource<P> pageSource, Function<P, T> mapper, int maxPages, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+
+        this.pageSource = pageSource;
+        this.mapper = mapper;
+        this.maxPages = maxPages;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Creates a new PagedPublisher instance with default buffer size
+     *
+     * @param pageSource source of pages
+     * @param mapper function converting page items into published items
+     * @param maxPages maximum number of pages that will be fetched
+     */
+    public PagedPublisher(PageSource<P> pageSource, Function<P, T> mapper, int maxPages) {
+        this(pageSource, mapper, maxPages, DEFAULT_BUFFER_SIZE);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void subscribe(FunPaySubscriber<? super T> subscriber) {
+        subscriber.onSubscribe(new PagedSubscription(subscriber));
+    }
+
+    private final class PagedSubscription implements FunPaySubscription {
+        private final FunPaySubscriber<? super T> subscriber;
+
+        private final Queue<T> buffer = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger bufferedCount = new AtomicInteger();
+
+        private final AtomicLong requested = new AtomicLong();
+
+        // serializes signals to the subscriber, whoever increments it from zero drains
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile boolean cancelled;
+
+        private volatile boolean exhausted;
+
+        private volatile boolean failFast;
+
+        @Nullable private volatile Throwable error;
+
+        @Nullable private volatile CompletableFuture<ParsedPage<P>> inFlight;
+
+        @Nullable private volatile String continueArg;
+
+        private volatile int fetchedPages;
+
+        private PagedSubscription(FunPaySubscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Requested items count must be positive");
+                failFast = true;
+                cancelInFlight();
+                drain();
+                return;
+            }
+
+            for (; ; ) {
+                long current = requested.get();
+                long updated = current + n;
+                if (updated < 0) {
+                    updated = Long.MAX_VALUE;
+                }
+                if (requested.compareAndSet(current, updated)) {
+                    break;
+                }
+            }
+
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            cancelInFlight();
+            drain();
+        }
+
+        private void cancelInFlight() {
+            CompletableFuture<ParsedPage<P>> future = inFlight;
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+
+            for (; ; ) {
+                long currentRequested = requested.get();
+                long emitted = 0;
+
+                while (emitted != currentRequested && !cancelled && !failFast) {
+                    T item = buffer.poll();
+                    if (item == null) {
+                        break;
+                    }
+                    bufferedCount.decrementAndGet();
+                    subscriber.onNext(item);
+                    emitted++;
+                }
+
+                if (emitted != 0 && currentRequested != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+
+                if (cancelled) {
+                    buffer.clear();
+                    return;
+                }
+
+                boolean empty = buffer.isEmpty();
+                Throwable currentError = error;
+
+                if (currentError != null && (failFast || empty)) {
+                    cancelled = true;
+                    buffer.clear();
+                    subscriber.onError(currentError);
+                    return;
+                }
+
+                if (empty && exhausted && inFlight == null) {
+                    cancelled = true;
+                    subscriber.onComplete();
+                    return;
+                }
+
+                if (currentError == null && !exhausted && inFlight == null) {
+                    int buffered = bufferedCount.get();
+                    if (buffered < bufferSize && buffered < requested.get()) {
+                        fetchNextPage();
+
+                        if (error != null) {
+                            // the source failed before returning a future, report it right away
+                            continue;
+                        }
+                    }
+                }
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private void fetchNextPage() {
+            CompletableFuture<ParsedPage<P>> future;
+            try {
+                future = pageSource.fetch(continueArg);
+            } catch (RuntimeException e) {
+                error = e;
+                return;
+            }
+
+            inFlight = future;
+
+            // cancel may have happened before inFlight was visible to it
+            if (cancelled) {
+                future.cancel(true);
+            }
+
+            future.whenComplete(
+                    (page, throwable) -> {
+                        if (throwable != null) {
+                            if (!cancelled) {
+                                error = unwrap(throwable);
+                            }
+                        } else {
+                            try {
+                                for (P pageItem : page.getItems()) {
+                                    buffer.offer(mapper.apply(pageItem));
+                                    bufferedCount.incrementAndGet();
+                                }
+                            } catch (RuntimeException e) {
+                                error = e;
+                            }
+
+                            fetchedPages++;
+                            continueArg = page.getContinueArg();
+
+                            if (continueArg == null || fetchedPages >= maxPages) {
+                                exhausted = true;
+                            }
+                        }
+
+                        inFlight = null;
+                        drain();
+                    });
+        }
+
+        private Throwable unwrap(Throwable throwable) {
+            if (throwable instanceof CompletionException && throwable.getCause() != null) {
+                return throwable.getCause();
+            }
+            return throwable;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.stream;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.objects.ParsedPage;
+
+/**
+ * Fetches several page sources concurrently and merges their items into a single ordered list
+ *
+ * <p>Each source follows its own continue token chain, so the wall time is bounded by the longest
+ * partition rather than by the sum of all of them
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+public final class PartitionedPages {
+    private PartitionedPages() {}
+
+    /**
+     * Fetch every partition concurrently and merge them
+     *
+     * <p>Items of every partition must already be ordered by {@code order}. If any partition fails
+     * the other partitions are cancelled and the returned future completes exceptionally with the
+     * failure. Cancelling the returned future cancels all partitions
+     *
+     * @param partitions page sources of partitions
+     * @param maxPages maximum number of pages fetched from each partition
+     * @param order order of items in partitions and in the merged list
+     * @param <T> type of items
+     * @return future completed with the merged items
+     */
+    public static <T> CompletableFuture<List<T>> collect(
+            List<PageSource<T>> partitions, int maxPages, Comparator<? super T> order) {
+        List<Chain<T>> chains = new ArrayList<>(partitions.size());
+        CompletableFuture<?>[] chainResults = new CompletableFuture<?>[partitions.size()];
+
+        for (int i = 0; i < partitions.size(); i++) {
+            Chain<T> chain = new Chain<>(partitions.get(i), maxPages);
+            chains.add(chain);
+            chainResults[i] = chain.result;
+        }
+
+        CompletableFuture<List<T>> result =
+                new CompletableFuture<List<T>>() {
+                    @Override
+                    public boolean cancel(boolean mayInterruptIfRunning) {
+                        chains.forEach(Chain::cancel);
+                        return super.cancel(mayInterruptIfRunning);
+                    }
+                };
+
+        for (Chain<T> chain : chains) {
+            chain.result.whenComplete(
+                    (items, throwable) -> {
+                        if (throwable != null && result.completeExceptionally(unwrap(throwable))) {
+                            chains.forEach(Chain::cancel);
+                        }
+                    });
+        }
+
+        CompletableFuture.allOf(chainResults)
+                .whenComplete(
+                        (ignored, throwable) -> {
+                            if (throwable != null) return;
+
+                            List<List<T>> items = new ArrayList<>(chains.size());
+                            for (Chain<T> chain : chains) {
+                                items.add(chain.items);
+                            }
+                            result.complete(merge(items, order));
+                        });
+
+        for (Chain<T> chain : chains) {
+            chain.fetch(null);
+        }
+
+        return result;
+    }
+
+    /**
+     * Merge lists which are already ordered by {@code order}
+     *
+     * <p>Items which compare as equal are taken from the partition with the lower index first
+     *
+     * @param partitions ordered lists
+     * @param order order of items
+     * @param <T> type of items
+     * @return merged list
+     */
+    static <T> List<T> merge(List<List<T>> partitions, Comparator<? super T> order) {
+        int size = 0;
+        for (List<T> partition : partitions) {
+            size += partition.size();
+        }
+
+        List<T> merged = new ArrayList<>(size);
+        int[] positions = new int[partitions.size()];
+
+        // The number of partitions is small, so a linear scan of heads beats a heap
+        while (merged.size() < size) {
+            int best = -1;
+            T bestItem = null;
+
+            for (int i = 0; i < partitions.size(); i++) {
+                List<T> partition = partitions.get(i);
+
+                if (positions[i] == partition.size()) continue;
+
+                T item = partition.get(positions[i]);
+                if (best == -1 || order.compare(item, bestItem) < 0) {
+                    best = i;
+                    bestItem = item;
+                }
+            }
+
+            merged.add(bestItem);
+            positions[best]++;
+        }
+
+        return merged;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+
+    /** Continue token chain of a single partition */
+    private static final class Chain<T> {
+        private final PageSource<T> source;
+
+        private final int maxPages;
+
+        private final List<T> items = new ArrayList<>();
+
+        private final CompletableFuture<List<T>> result = new CompletableFuture<>();
+
+        private volatile @Nullable CompletableFuture<ParsedPage<T>> inFlight;
+
+        private int fetchedPages;
+
+        private Chain(PageSource<T> source, int maxPages) {
+            this.source = source;
+            this.maxPages = maxPages;
+        }
+
+        private void fetch(@Nullable String continueArg) {
+            if (result.isDone()) return;
+
+            if (fetchedPages >= maxPages) {
+                result.complete(items);
+                return;
+            }
+
+            CompletableFuture<ParsedPage<T>> page;
+            try {
+                page = source.fetch(continueArg);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+
+            inFlight = page;
+
+            page.whenComplete(
+                    (parsedPage, throwable) -> {
+                        if (throwable != null) {
+                            result.completeExceptionally(throwable);
+                            return;
+                        }
+
+                        items.addAll(parsedPage.getItems());
+                        fetchedPages++;
+
+                        if (parsedPage.getContinueArg() == null) {
+                            result.complete(items);
+                        } else {
+                            fetch(parsedPage.getContinueArg());
+                        }
+                    });
+        }
+
+        private void cancel() {
+            result.cancel(false);
+
+            CompletableFuture<ParsedPage<T>> page = inFlight;
+            if (page != null) {
+                page.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.watch;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.therepanic.funpay4j.objects.offer.PreviewOffer;
+import com.therepanic.funpay4j.objects.user.PreviewSeller;
+
+/**
+ * Diff of two successive snapshots of lot offers, matched by offer id in linear time
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+final class LotDiff {
+    private LotDiff() {}
+
+    /**
+     * Compare the snapshots and add their changes to the events
+     *
+     * @param lotId lot id
+     * @param previous offers of the previous snapshot
+     * @param current offers of the current snapshot
+     * @param events events to which changes are added, in the order of current offers followed by
+     *     removed offers
+     */
+    static void diff(
+            long lotId,
+            List<PreviewOffer> previous,
+            List<PreviewOffer> current,
+            List<LotEvent> events) {
+        Map<Long, PreviewOffer> previousById = new HashMap<>(previous.size() * 4 / 3 + 1);
+        Set<Long> onlineSellerIds = new HashSet<>();
+
+        for (PreviewOffer offer : previous) {
+            previousById.put(offer.getOfferId(), offer);
+            if (offer.getSeller().isOnline()) {
+                onlineSellerIds.add(offer.getSeller().getUserId());
+            }
+        }
+
+        for (PreviewOffer offer : current) {
+            PreviewOffer previousOffer = previousById.remove(offer.getOfferId());
+            PreviewSeller seller = offer.getSeller();
+
+            if (previousOffer == null) {
+                events.add(new OfferAdded(lotId, offer));
+            } else if (Double.compare(previousOffer.getPrice(), offer.getPrice()) != 0) {
+                events.add(new PriceChanged(lotId, offer, previousOffer.getPrice()));
+            }
+
+            // sellers new to the lot are reported by their offers, not as going online
+            if (previousOffer != null
+                    && seller.isOnline()
+                    && !previousOffer.getSeller().isOnline()
+                    && onlineSellerIds.add(seller.getUserId())) {
+                events.add(new SellerWentOnline(lotId, seller));
+            }
+        }
+
+        if (previousById.isEmpty()) {
+            return;
+        }
+
+        for (PreviewOffer offer : previous) {
+            if (previousById.containsKey(offer.getOfferId())) {
+                events.add(new OfferRemoved(lotId, offer));
+            }
+        }
+    }
+}
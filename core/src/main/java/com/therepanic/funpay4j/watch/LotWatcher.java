@@ -0,0 +1,263 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.watch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.jspecify.annotations.Nullable;
+
+import com.therepanic.funpay4j.FunPayExecutor;
+import com.therepanic.funpay4j.commands.lot.GetLot;
+import com.therepanic.funpay4j.exceptions.FunPayApiException;
+import com.therepanic.funpay4j.objects.lot.Lot;
+import com.therepanic.funpay4j.objects.offer.PreviewOffer;
+
+/**
+ * This lot watcher is used to poll many lots and report only changes of their offers
+ *
+ * <p>Every watched lot is polled with its own interval. The interval drops to the minimum when the
+ * lot changes and grows by half after every quiet or failed poll up to the maximum, so volatile
+ * lots are polled often and quiet ones rarely. Successive offers of the lot are compared by offer
+ * id and the changes are sent to the listeners as {@link OfferAdded}, {@link OfferRemoved}, {@link
+ * PriceChanged} and {@link SellerWentOnline} events. The first poll of the lot only remembers its
+ * offers
+ *
+ * <p>Lots are read through the executor, so its caching interceptor, if any, should not keep lots
+ * longer than the minimum interval
+ *
+ * @author therepanic
+ * @since 1.0.7
+ */
+public class LotWatcher implements AutoCloseable {
+    /** Default interval of polls of lots which have just changed */
+    public static final Duration DEFAULT_MIN_INTERVAL = Duration.ofSeconds(5);
+
+    /** Default interval of polls of quiet lots */
+    public static final Duration DEFAULT_MAX_INTERVAL = Duration.ofMinutes(5);
+
+    private static final double QUIET_GROWTH = 1.5;
+
+    private final FunPayExecutor executor;
+
+    private final ScheduledThreadPoolExecutor scheduledExecutor;
+
+    private final long minIntervalNanos;
+
+    private final long maxIntervalNanos;
+
+    private final ConcurrentMap<Long, Watch> watches = new ConcurrentHashMap<>();
+
+    private final CopyOnWriteArrayList<LotListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a new LotWatcher instance
+     *
+     * @param executor executor which will read lots
+     * @param maxConcurrentPolls maximum number of polls executed at the same time
+     * @param minInterval interval of polls of lots which have just changed
+     * @param maxInterval interval of polls of quiet lots
+     */
+    public LotWatcher(
+            FunPayExecutor executor,
+            int maxConcurrentPolls,
+            Duration minInterval,
+            Duration maxInterval) {
+        if (maxConcurrentPolls < 1) {
+            throw new IllegalArgumentException("maxConcurrentPolls must be positive");
+        }
+        if (minInterval.isNegative() || minInterval.isZero()) {
+            throw new IllegalArgumentException("minInterval must be positive");
+        }
+        if (maxInterval.compareTo(minInterval) < 0) {
+            throw new IllegalArgumentException("maxInterval must not be less than minInterval");
+        }
+
+        this.executor = executor;
+        this.minIntervalNanos = minInterval.toNanos();
+        this.maxIntervalNanos = maxInterval.toNanos();
+        this.scheduledExecutor =
+                new ScheduledThreadPoolExecutor(
+                        maxConcurrentPolls,
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "funpay4j-lot-watcher");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        this.scheduledExecutor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Creates a new LotWatcher instance
+     *
+     * @param executor executor which will read lots
+     * @param maxConcurrentPolls maximum number of polls executed at the same time
+     */
+    public LotWatcher(FunPayExecutor executor, int maxConcurrentPolls) {
+        this(executor, maxConcurrentPolls, DEFAULT_MIN_INTERVAL, DEFAULT_MAX_INTERVAL);
+    }
+
+    /**
+     * Add the listener of changes of all watched lots
+     *
+     * @param listener listener that will receive events
+     */
+    public void addListener(LotListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove the listener
+     *
+     * @param listener listener that will no longer receive events
+     * @return true if the listener was added
+     */
+    public boolean removeListener(LotListener listener) {
+        return listeners.remove(listener);
+    }
+
+    /**
+     * Start polling the lot now, watching an already watched lot does nothing
+     *
+     * @param lotId lot id
+     */
+    public void watch(long lotId) {
+        Watch watch = new Watch(lotId);
+
+        if (watches.putIfAbsent(lotId, watch) == null) {
+            watch.scheduleAfter(0);
+        }
+    }
+
+    /**
+     * Stop polling the lot
+     *
+     * @param lotId lot id
+     * @return true if the lot was watched
+     */
+    public boolean unwatch(long lotId) {
+        Watch watch = watches.remove(lotId);
+
+        if (watch == null) {
+            return false;
+        }
+
+        watch.cancel();
+        return true;
+    }
+
+    /**
+     * Get the current interval of polls of the lot
+     *
+     * @param lotId lot id
+     * @return interval, null if the lot is not watched
+     */
+    public @Nullable Duration getInterval(long lotId) {
+        Watch watch = watches.get(lotId);
+
+        return watch == null ? null : Duration.ofNanos(watch.intervalNanos);
+    }
+
+    /** Stop polling all lots */
+    @Override
+    public void close() {
+        scheduledExecutor.shutdownNow();
+        watches.clear();
+    }
+
+    private void publish(List<LotEvent> events) {
+        for (LotEvent event : events) {
+            for (LotListener listener : listeners) {
+                try {
+                    listener.onEvent(event);
+                } catch (RuntimeException e) {
+                    // a failing listener must not stop the others or the polling
+                }
+            }
+        }
+    }
+
+    private final class Watch implements Runnable {
+        private final long lotId;
+
+        private volatile long intervalNanos = minIntervalNanos;
+
+        private @Nullable List<PreviewOffer> offers;
+
+        private @Nullable ScheduledFuture<?> future;
+
+        private boolean cancelled;
+
+        private Watch(long lotId) {
+            this.lotId = lotId;
+        }
+
+        @Override
+        public void run() {
+            List<PreviewOffer> previousOffers = offers;
+            List<LotEvent> events = new ArrayList<>();
+
+            try {
+                Lot lot = executor.execute(GetLot.builder().lotId(lotId).build());
+                offers = lot.getPreviewOffers();
+                if (previousOffers == null) {
+                    scheduleAfter(intervalNanos);
+                    return;
+                }
+                LotDiff.diff(lotId, previousOffers, lot.getPreviewOffers(), events);
+            } catch (FunPayApiException | RuntimeException e) {
+                // failed polls back off like quiet ones, so missing lots are polled rarely
+            }
+
+            if (events.isEmpty()) {
+                intervalNanos = Math.min(maxIntervalNanos, (long) (intervalNanos * QUIET_GROWTH));
+            } else {
+                intervalNanos = minIntervalNanos;
+                if (!isCancelled()) {
+                    publish(events);
+                }
+            }
+
+            scheduleAfter(intervalNanos);
+        }
+
+        private synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        private synchronized void scheduleAfter(long delayNanos) {
+            if (cancelled || scheduledExecutor.isShutdown()) {
+                return;
+            }
+
+            future = scheduledExecutor.schedule(this, delayNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private synchronized void cancel() {
+            cancelled = true;
+
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+}
@@ -19,34 +19,62 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import com.therepanic.funpay4j.client.FunPayClient;
 import com.therepanic.funpay4j.commands.offer.CreateOffer;
 import com.therepanic.funpay4j.commands.offer.CreateOfferImage;
+import com.therepanic.funpay4j.commands.offer.CreateOfferImages;
 import com.therepanic.funpay4j.commands.offer.DeleteOffer;
+import com.therepanic.funpay4j.commands.offer.DeleteOffers;
 import com.therepanic.funpay4j.commands.offer.EditOffer;
 import com.therepanic.funpay4j.commands.offer.RaiseAllOffers;
+import com.therepanic.funpay4j.commands.offer.UpsertOffers;
 import com.therepanic.funpay4j.commands.order.GetOrder;
 import com.therepanic.funpay4j.commands.transaction.GetTransactions;
+import com.therepanic.funpay4j.commands.transaction.GetTransactionsHistory;
 import com.therepanic.funpay4j.commands.user.UpdateAvatar;
+import com.therepanic.funpay4j.exceptions.FunPayApiException;
 import com.therepanic.funpay4j.exceptions.InvalidGoldenKeyException;
 import com.therepanic.funpay4j.exceptions.offer.OfferAlreadyRaisedException;
+import com.therepanic.funpay4j.image.FileOfferImageCache;
+import com.therepanic.funpay4j.objects.offer.DeleteOfferResult;
+import com.therepanic.funpay4j.objects.offer.UpsertOfferResult;
 import com.therepanic.funpay4j.objects.order.Order;
 import com.therepanic.funpay4j.objects.transaction.Transaction;
+import com.therepanic.funpay4j.parser.JsoupFunPayParser;
+import com.therepanic.funpay4j.request.ImageSource;
+import com.therepanic.funpay4j.request.SaveOfferRequest;
 
 /**
  * @author therepanic
@@ -62,6 +90,7 @@ class AuthorizedFunPayExecutorTest {
     private static final String GET_TRANSACTIONS_HTML_RESPONSE_PATH =
             "html/client/getTransactionsResponse.html";
     private static final String GET_ORDER_HTML_RESPONSE_PATH = "html/client/getOrderResponse.html";
+    private static final String GET_LOT_HTML_RESPONSE_PATH = "html/client/getLotResponse.html";
 
     @BeforeEach
     void setUp() throws Exception {
@@ -245,6 +274,238 @@ class AuthorizedFunPayExecutorTest {
         assertNotEquals(currentPHPSESSID, funPayExecutor.getPHPSESSID());
     }
 
+    @Test
+    void testConcurrentDeleteOffersRefreshSessionOnce() throws Exception {
+        String htmlContent = readResource(GET_CSRF_TOKEN_AND_PHPSESSID_HTML_RESPONSE_PATH);
+        AtomicInteger sessionRequests = new AtomicInteger();
+
+        mockWebServer.setDispatcher(
+                new Dispatcher() {
+                    @Override
+                    public MockResponse dispatch(RecordedRequest request) {
+                        if (request.getPath().contains("/unknown/")) {
+                            sessionRequests.incrementAndGet();
+                            return new MockResponse()
+                                    .setBody(htmlContent)
+                                    .setHeader("Set-Cookie", "PHPSESSID=new;")
+                                    .setResponseCode(200);
+                        }
+                        if (request.getHeader("Cookie").contains("PHPSESSID=old")) {
+                            return new MockResponse()
+                                    .setResponseCode(400)
+                                    .setBody(
+                                            "{\"msg\": \"Обновите страницу и повторите попытку.\", \"error\": 1}");
+                        }
+                        return new MockResponse()
+                                .setResponseCode(200)
+                                .setBody("{\"done\":true,\"error\":false,\"errors\":[]}");
+                    }
+                });
+
+        ExecutorService executorService = Executors.newFixedThreadPool(20);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                long offerId = i;
+                futures.add(
+                        executorService.submit(
+                                () -> {
+                                    funPayExecutor.execute(
+                                            DeleteOffer.builder()
+                                                    .lotId(210L)
+                                                    .offerId(offerId)
+                                                    .build());
+                                    return null;
+                                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertEquals(1, sessionRequests.get());
+        assertEquals("new", funPayExecutor.getCsrfToken());
+        assertEquals("new", funPayExecutor.getPHPSESSID());
+    }
+
+    @Test
+    void testUpsertOffersSkipsUnchangedOffers() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+
+        EditOffer edit =
+                EditOffer.builder()
+                        .lotId(210L)
+                        .offerId(5543534L)
+                        .price(5.0)
+                        .amount(5)
+                        .shortDescriptionEn("test")
+                        .fields(new HashMap<>())
+                        .build();
+        EditOffer create =
+                EditOffer.builder()
+                        .lotId(210L)
+                        .price(10.0)
+                        .amount(1)
+                        .shortDescriptionEn("new")
+                        .build();
+
+        List<UpsertOfferResult> results =
+                funPayExecutor.execute(
+                        UpsertOffers.builder().offers(Arrays.asList(edit, create)).build());
+
+        assertEquals(UpsertOfferResult.Status.UPDATED, results.get(0).getStatus());
+        assertEquals(UpsertOfferResult.Status.CREATED, results.get(1).getStatus());
+        assertEquals(2, mockWebServer.getRequestCount());
+
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+
+        results =
+                funPayExecutor.execute(UpsertOffers.builder().offers(Arrays.asList(edit)).build());
+
+        assertEquals(UpsertOfferResult.Status.UNCHANGED, results.get(0).getStatus());
+        assertEquals(2, mockWebServer.getRequestCount());
+
+        edit.setPrice(6.0);
+        results =
+                funPayExecutor.execute(UpsertOffers.builder().offers(Arrays.asList(edit)).build());
+
+        assertEquals(UpsertOfferResult.Status.UPDATED, results.get(0).getStatus());
+        assertEquals(3, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void testUpsertOffersSkipsOffersSavedBeforeRestart(@TempDir Path tempDir) throws Exception {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+        Path fingerprints = tempDir.resolve("fingerprints.bin");
+
+        EditOffer edit =
+                EditOffer.builder()
+                        .lotId(210L)
+                        .offerId(5543534L)
+                        .price(5.0)
+                        .amount(5)
+                        .shortDescriptionEn("test")
+                        .build();
+
+        funPayExecutor.execute(UpsertOffers.builder().offers(Arrays.asList(edit)).build());
+        funPayExecutor.saveOfferFingerprints(fingerprints);
+
+        AuthorizedFunPayExecutor restarted =
+                new AuthorizedFunPayExecutor("example", mockWebServer.url("/").toString());
+        restarted.setPHPSESSID("old");
+        restarted.setCsrfToken("old");
+        restarted.loadOfferFingerprints(tempDir.resolve("missing.bin"));
+        restarted.loadOfferFingerprints(fingerprints);
+
+        List<UpsertOfferResult> results =
+                restarted.execute(UpsertOffers.builder().offers(Arrays.asList(edit)).build());
+
+        assertEquals(UpsertOfferResult.Status.UNCHANGED, results.get(0).getStatus());
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void testUpsertOffersReportsFailedOffers() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(403));
+
+        List<UpsertOfferResult> results =
+                funPayExecutor.execute(
+                        UpsertOffers.builder()
+                                .offers(
+                                        Arrays.asList(
+                                                EditOffer.builder()
+                                                        .lotId(210L)
+                                                        .offerId(5543534L)
+                                                        .price(5.0)
+                                                        .amount(5)
+                                                        .build()))
+                                .build());
+
+        assertEquals(UpsertOfferResult.Status.FAILED, results.get(0).getStatus());
+        assertTrue(results.get(0).getError() instanceof InvalidGoldenKeyException);
+    }
+
+    @Test
+    void testDeleteOffersReportsProgress() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+        }
+
+        List<Integer> completed = new CopyOnWriteArrayList<>();
+
+        List<DeleteOfferResult> results =
+                funPayExecutor.execute(
+                        DeleteOffers.builder()
+                                .lotId(210L)
+                                .offerIds(Arrays.asList(1L, 2L, 3L))
+                                .parallelism(3)
+                                .progressListener(
+                                        (result, done, total) -> {
+                                            assertEquals(3, total);
+                                            completed.add(done);
+                                        })
+                                .build());
+
+        assertEquals(3, results.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i + 1L, results.get(i).getOfferId());
+            assertTrue(results.get(i).isDeleted());
+        }
+        assertEquals(new HashSet<>(Arrays.asList(1, 2, 3)), new HashSet<>(completed));
+        assertEquals(3, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void testDeleteOffersRunsEveryOfferThroughInterceptors() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+        }
+
+        AtomicInteger deletions = new AtomicInteger();
+        funPayExecutor.addInterceptor(
+                chain -> {
+                    if (chain.command() instanceof DeleteOffer) {
+                        deletions.incrementAndGet();
+                    }
+                    return chain.proceed(chain.command());
+                });
+
+        funPayExecutor.execute(
+                DeleteOffers.builder().lotId(210L).offerIds(Arrays.asList(1L, 2L, 3L)).build());
+
+        assertEquals(3, deletions.get());
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        funPayExecutor.execute(
+                                DeleteOffers.builder()
+                                        .lotId(210L)
+                                        .offerIds(Arrays.asList(1L))
+                                        .parallelism(0)
+                                        .build()));
+    }
+
+    @Test
+    void testDeleteOffersOfUserInLot() throws Exception {
+        String htmlContent = readResource(GET_LOT_HTML_RESPONSE_PATH);
+
+        mockWebServer.enqueue(new MockResponse().setBody(htmlContent).setResponseCode(200));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+
+        List<DeleteOfferResult> results =
+                funPayExecutor.execute(DeleteOffers.builder().lotId(149L).userId(1879149L).build());
+
+        assertEquals(1, results.size());
+        assertEquals(33036049L, results.get(0).getOfferId());
+        assertTrue(results.get(0).isDeleted());
+        assertTrue(
+                mockWebServer.takeRequest().getPath().contains("/lots/149/"),
+                "lot page is parsed first");
+    }
+
     @Test
     void testAddOfferImage() throws Exception {
         Long expectedFileId = 114254551L;
@@ -260,6 +521,78 @@ class AuthorizedFunPayExecutorTest {
         assertEquals(expectedFileId, actualFileId);
     }
 
+    @Test
+    void testAddOfferImageUploadsSameContentOnce(@TempDir Path tempDir) throws Exception {
+        Long expectedFileId = 114254551L;
+
+        mockWebServer.enqueue(
+                new MockResponse()
+                        .setBody("{\"fileId\": " + expectedFileId + "}")
+                        .setResponseCode(200));
+
+        funPayExecutor.setOfferImageCache(new FileOfferImageCache(tempDir.resolve("images")));
+
+        Long firstFileId =
+                funPayExecutor.execute(CreateOfferImage.builder().image(new byte[] {1, 2}).build());
+        Long secondFileId =
+                funPayExecutor.execute(CreateOfferImage.builder().image(new byte[] {1, 2}).build());
+
+        assertEquals(expectedFileId, firstFileId);
+        assertEquals(expectedFileId, secondFileId);
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void testCreateOfferImagesReturnsIdsInOrderAndRetries() throws Exception {
+        AtomicInteger uploads = new AtomicInteger();
+        FunPayClient funPayClient =
+                new FunPayClient() {
+                    @Override
+                    public void updateAvatar(String goldenKey, byte[] newAvatar) {}
+
+                    @Override
+                    public void raiseAllOffers(String goldenKey, long gameId, long lotId) {}
+
+                    @Override
+                    public void saveOffer(
+                            String goldenKey,
+                            String csrfToken,
+                            String phpSessionId,
+                            SaveOfferRequest request) {}
+
+                    @Override
+                    public Long addOfferImage(String goldenKey, byte[] image)
+                            throws FunPayApiException {
+                        if (image[0] == 3 && uploads.getAndIncrement() == 0) {
+                            throw new FunPayApiException("Connection reset");
+                        }
+                        try {
+                            Thread.sleep(10L * (5 - image[0]));
+                        } catch (InterruptedException e) {
+                            throw new FunPayApiException(e.getLocalizedMessage());
+                        }
+                        return 100L + image[0];
+                    }
+                };
+        AuthorizedFunPayExecutor executor =
+                new AuthorizedFunPayExecutor(
+                        "example",
+                        new JsoupFunPayParser(
+                                new OkHttpClient(), mockWebServer.url("/").toString()),
+                        funPayClient);
+
+        List<ImageSource> images = new ArrayList<>();
+        for (byte i = 0; i < 5; i++) {
+            images.add(ImageSource.of(new byte[] {i}));
+        }
+
+        List<Long> imageIds =
+                executor.execute(CreateOfferImages.builder().images(images).parallelism(3).build());
+
+        assertEquals(Arrays.asList(100L, 101L, 102L, 103L, 104L), imageIds);
+        assertEquals(2, uploads.get());
+    }
+
     @Test
     void testGetTransactions() throws Exception {
         String htmlContent = readResource(GET_TRANSACTIONS_HTML_RESPONSE_PATH);
@@ -283,6 +616,35 @@ class AuthorizedFunPayExecutorTest {
         assertFalse(firstTransaction.getTitle().isEmpty());
     }
 
+    @Test
+    void testGetTransactionsHistory() throws Exception {
+        String htmlContent = readResource(GET_TRANSACTIONS_HTML_RESPONSE_PATH);
+        for (int i = 0; i < 4; i++) {
+            mockWebServer.enqueue(new MockResponse().setBody(htmlContent).setResponseCode(200));
+        }
+
+        List<Transaction> result =
+                funPayExecutor.execute(
+                        GetTransactionsHistory.builder().userId(123L).pages(1).build());
+
+        assertFalse(result.isEmpty());
+        assertEquals(0, result.size() % 4);
+        for (int i = 1; i < result.size(); i++) {
+            assertTrue(result.get(i - 1).getDate().compareTo(result.get(i).getDate()) >= 0);
+        }
+
+        Set<String> filters = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            String body = mockWebServer.takeRequest().getBody().readUtf8();
+            for (String filter : new String[] {"replenishment", "withdraw", "order", "other"}) {
+                if (body.contains("\r\n\r\n" + filter + "\r\n")) {
+                    filters.add(filter);
+                }
+            }
+        }
+        assertEquals(4, filters.size());
+    }
+
     @Test
     void testGetOrder() throws Exception {
         String orderId = "GFHMZY4Z";
@@ -0,0 +1,293 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.therepanic.funpay4j.commands.lot.GetLot;
+import com.therepanic.funpay4j.commands.offer.EditOffer;
+import com.therepanic.funpay4j.commands.offer.GetOffer;
+import com.therepanic.funpay4j.commands.user.GetUser;
+import com.therepanic.funpay4j.exceptions.lot.LotNotFoundException;
+import com.therepanic.funpay4j.objects.lot.Lot;
+import com.therepanic.funpay4j.objects.offer.Offer;
+import com.therepanic.funpay4j.objects.offer.PreviewOffer;
+import com.therepanic.funpay4j.objects.user.Seller;
+import com.therepanic.funpay4j.objects.user.User;
+import com.therepanic.funpay4j.snapshot.SnapshotFile;
+
+/**
+ * @author therepanic
+ * @since 1.0.7
+ */
+class CachingInterceptorTest {
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private final AtomicInteger backendCalls = new AtomicInteger();
+
+    private FunPayExecutor funPayExecutor;
+
+    @BeforeEach
+    void setUp() {
+        this.funPayExecutor = new FunPayExecutor("http://localhost/");
+    }
+
+    @Test
+    void testCachesResultsUntilTtlExpires() throws Exception {
+        CachingInterceptor cachingInterceptor = addCachingInterceptor(1024 * 1024);
+
+        Lot first = funPayExecutor.execute(GetLot.builder().lotId(149L).build());
+        Lot second = funPayExecutor.execute(GetLot.builder().lotId(149L).build());
+
+        assertSame(first, second);
+        assertEquals(1, backendCalls.get());
+
+        nanoTime.addAndGet(CachingInterceptor.DEFAULT_LOT_TTL.toNanos());
+
+        assertNotSame(first, funPayExecutor.execute(GetLot.builder().lotId(149L).build()));
+        assertEquals(2, backendCalls.get());
+
+        CachingInterceptor.Stats stats = cachingInterceptor.getStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(1, stats.getEvictionCount());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    void testServesStaleResultWhileRefreshing() throws Exception {
+        try (CachingInterceptor cachingInterceptor = addCachingInterceptor(1024 * 1024)) {
+            cachingInterceptor.setStaleTtl(GetLot.class, Duration.ofMinutes(1));
+            cachingInterceptor.setRefreshJitter(Duration.ZERO);
+
+            Lot first = funPayExecutor.execute(GetLot.builder().lotId(149L).build());
+
+            nanoTime.addAndGet(CachingInterceptor.DEFAULT_LOT_TTL.toNanos());
+
+            Lot refreshed;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            do {
+                refreshed = funPayExecutor.execute(GetLot.builder().lotId(149L).build());
+                Thread.sleep(10);
+            } while (refreshed == first && System.nanoTime() - deadline < 0);
+
+            assertNotSame(first, refreshed);
+            assertEquals(2, backendCalls.get());
+
+            nanoTime.addAndGet(
+                    CachingInterceptor.DEFAULT_LOT_TTL.toNanos() + Duration.ofMinutes(1).toNanos());
+
+            assertNotSame(refreshed, funPayExecutor.execute(GetLot.builder().lotId(149L).build()));
+            assertEquals(3, backendCalls.get());
+        }
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedByWeight() throws Exception {
+        long lotWeight = ObjectSizes.estimate(lot(1L, 0));
+        CachingInterceptor cachingInterceptor = addCachingInterceptor(lotWeight * 2 + 1);
+
+        funPayExecutor.execute(GetLot.builder().lotId(1L).build());
+        funPayExecutor.execute(GetLot.builder().lotId(2L).build());
+        funPayExecutor.execute(GetLot.builder().lotId(1L).build());
+        funPayExecutor.execute(GetLot.builder().lotId(3L).build());
+
+        assertEquals(3, backendCalls.get());
+        assertEquals(1, cachingInterceptor.getStats().getEvictionCount());
+        assertEquals(2, cachingInterceptor.getStats().getSize());
+
+        funPayExecutor.execute(GetLot.builder().lotId(1L).build());
+        funPayExecutor.execute(GetLot.builder().lotId(2L).build());
+
+        assertEquals(4, backendCalls.get());
+
+        // lot with many offers is heavier than the whole cache
+        funPayExecutor.execute(GetLot.builder().lotId(100L).build());
+        funPayExecutor.execute(GetLot.builder().lotId(100L).build());
+
+        assertEquals(6, backendCalls.get());
+    }
+
+    @Test
+    void testWritesInvalidateOffersAndLots() throws Exception {
+        CachingInterceptor cachingInterceptor = addCachingInterceptor(1024 * 1024);
+        cachingInterceptor.setTtl(GetOffer.class, Duration.ofHours(1));
+
+        funPayExecutor.execute(GetLot.builder().lotId(149L).build());
+        funPayExecutor.execute(GetOffer.builder().offerId(7L).build());
+        funPayExecutor.execute(GetOffer.builder().offerId(8L).build());
+        funPayExecutor.execute(EditOffer.builder().lotId(149L).offerId(7L).build());
+
+        funPayExecutor.execute(GetLot.builder().lotId(149L).build());
+        funPayExecutor.execute(GetOffer.builder().offerId(7L).build());
+        funPayExecutor.execute(GetOffer.builder().offerId(8L).build());
+
+        assertEquals(5, backendCalls.get());
+
+        cachingInterceptor.invalidateOffer(8L);
+        funPayExecutor.execute(GetOffer.builder().offerId(8L).build());
+
+        assertEquals(6, backendCalls.get());
+    }
+
+    @Test
+    void testRemembersNotFoundIds() throws Exception {
+        CachingInterceptor cachingInterceptor = addCachingInterceptor(1024 * 1024);
+
+        assertThrows(
+                LotNotFoundException.class,
+                () -> funPayExecutor.execute(GetLot.builder().lotId(1000L).build()));
+        assertThrows(
+                LotNotFoundException.class,
+                () -> funPayExecutor.execute(GetLot.builder().lotId(1000L).build()));
+
+        assertEquals(1, backendCalls.get());
+        assertEquals(1, cachingInterceptor.getStats().getNotFoundHitCount());
+        assertEquals(1, cachingInterceptor.getStats().getNotFoundCount());
+
+        nanoTime.addAndGet(CachingInterceptor.DEFAULT_NOT_FOUND_TTL.toNanos());
+
+        assertThrows(
+                LotNotFoundException.class,
+                () -> funPayExecutor.execute(GetLot.builder().lotId(1000L).build()));
+
+        assertEquals(2, backendCalls.get());
+
+        cachingInterceptor.invalidateLot(1000L);
+
+        assertThrows(
+                LotNotFoundException.class,
+                () -> funPayExecutor.execute(GetLot.builder().lotId(1000L).build()));
+
+        assertEquals(3, backendCalls.get());
+    }
+
+    @Test
+    void testSnapshotWarmsRestartedCache(@TempDir Path tempDir) throws Exception {
+        SnapshotFile snapshotFile = new SnapshotFile(tempDir.resolve("snapshot"));
+
+        CachingInterceptor cachingInterceptor = addCachingInterceptor(1024 * 1024);
+        cachingInterceptor.enableSnapshots(snapshotFile, Duration.ofHours(1));
+        assertThrows(
+                IllegalStateException.class,
+                () -> cachingInterceptor.enableSnapshots(snapshotFile, Duration.ofHours(1)));
+        Lot lot = funPayExecutor.execute(GetLot.builder().lotId(149L).build());
+        cachingInterceptor.close();
+
+        FunPayExecutor restartedExecutor = new FunPayExecutor("http://localhost/");
+        CachingInterceptor restartedInterceptor =
+                new CachingInterceptor(1024 * 1024, 1, nanoTime::get);
+        restartedInterceptor.loadSnapshot(snapshotFile);
+        restartedExecutor.addInterceptor(restartedInterceptor);
+        restartedExecutor.addInterceptor(
+                chain -> {
+                    backendCalls.incrementAndGet();
+                    return null;
+                });
+
+        assertEquals(lot, restartedExecutor.execute(GetLot.builder().lotId(149L).build()));
+        assertEquals(1, backendCalls.get());
+    }
+
+    @Test
+    void testDoesNotShareAuthorizedUsers() throws Exception {
+        CachingInterceptor cachingInterceptor =
+                new CachingInterceptor(1024 * 1024, 1, nanoTime::get);
+        AuthorizedFunPayExecutor authorizedExecutor =
+                new AuthorizedFunPayExecutor("example", "http://localhost/");
+        Seller seller = Seller.builder().id(2L).username("seller").build();
+        User user = User.builder().id(2L).username("user").build();
+
+        funPayExecutor.addInterceptor(cachingInterceptor);
+        funPayExecutor.addInterceptor(
+                chain -> {
+                    backendCalls.incrementAndGet();
+                    return seller;
+                });
+        authorizedExecutor.addInterceptor(cachingInterceptor);
+        authorizedExecutor.addInterceptor(
+                chain -> {
+                    backendCalls.incrementAndGet();
+                    return user;
+                });
+
+        assertSame(seller, funPayExecutor.execute(GetUser.builder().userId(2L).build()));
+        assertSame(user, authorizedExecutor.execute(GetUser.builder().userId(2L).build()));
+        assertSame(user, authorizedExecutor.execute(GetUser.builder().userId(2L).build()));
+        assertSame(seller, funPayExecutor.execute(GetUser.builder().userId(2L).build()));
+        assertEquals(3, backendCalls.get());
+    }
+
+    private CachingInterceptor addCachingInterceptor(long maxWeight) {
+        CachingInterceptor cachingInterceptor = new CachingInterceptor(maxWeight, 1, nanoTime::get);
+
+        funPayExecutor.addInterceptor(cachingInterceptor);
+        funPayExecutor.addInterceptor(
+                chain -> {
+                    if (chain.command() instanceof GetLot) {
+                        backendCalls.incrementAndGet();
+                        long lotId = ((GetLot) chain.command()).getLotId();
+                        if (lotId >= 1000) {
+                            throw new LotNotFoundException("Lot does not found");
+                        }
+                        return lot(lotId, lotId < 100 ? 0 : 100);
+                    } else if (chain.command() instanceof GetOffer) {
+                        backendCalls.incrementAndGet();
+                        return new Offer(
+                                ((GetOffer) chain.command()).getOfferId(),
+                                "short",
+                                "detailed",
+                                Collections.emptyMap(),
+                                10,
+                                Collections.emptyList(),
+                                false,
+                                null);
+                    }
+                    return null;
+                });
+
+        return cachingInterceptor;
+    }
+
+    private static Lot lot(long lotId, int offers) {
+        List<PreviewOffer> previewOffers = new ArrayList<>(offers);
+        for (int i = 0; i < offers; i++) {
+            previewOffers.add(new PreviewOffer(i, "offer " + i, 10, false, false, null));
+        }
+        return new Lot(
+                lotId,
+                41L,
+                "title",
+                "description",
+                Collections.emptyList(),
+                previewOffers);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.therepanic.funpay4j.commands.order.GetOrder;
+import com.therepanic.funpay4j.objects.order.Order;
+
+/**
+ * @author therepanic
+ * @since 1.0.7
+ */
+class FunPayAccountPoolTest {
+    private FunPayAccountPool funPayAccountPool;
+
+    private MockWebServer mockWebServer;
+
+    private static final String GET_ORDER_HTML_RESPONSE_PATH = "html/client/getOrderResponse.html";
+
+    @BeforeEach
+    void setUp() {
+        this.mockWebServer = new MockWebServer();
+        this.funPayAccountPool =
+                new FunPayAccountPool(this.mockWebServer.url("/").toString(), null);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void testExecuteRoutesCommandsByAccountId() throws Exception {
+        String htmlContent = readResource(GET_ORDER_HTML_RESPONSE_PATH);
+
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200).setBody(htmlContent));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200).setBody(htmlContent));
+
+        funPayAccountPool.addAccount("first", "first-key");
+        funPayAccountPool.addAccount("second", "second-key");
+
+        Order order =
+                funPayAccountPool.execute("second", GetOrder.builder().orderId("GFHMZY4Z").build());
+        funPayAccountPool.execute("first", GetOrder.builder().orderId("GFHMZY4Z").build());
+
+        assertNotNull(order);
+        assertTrue(mockWebServer.takeRequest().getHeader("Cookie").contains("second-key"));
+        assertTrue(mockWebServer.takeRequest().getHeader("Cookie").contains("first-key"));
+    }
+
+    @Test
+    void testAccountsShareParserAndClient() {
+        AuthorizedFunPayExecutor first = funPayAccountPool.addAccount("first", "first-key");
+        AuthorizedFunPayExecutor second = funPayAccountPool.addAccount("second", "second-key");
+
+        assertSame(first.funPayParser, second.funPayParser);
+        assertSame(first.funPayClient, second.funPayClient);
+        assertSame(second, funPayAccountPool.getAccount("second"));
+    }
+
+    @Test
+    void testUnknownAndDuplicateAccount() {
+        funPayAccountPool.addAccount("first", "first-key");
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> funPayAccountPool.addAccount("first", "other-key"));
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        funPayAccountPool.execute(
+                                "unknown", GetOrder.builder().orderId("GFHMZY4Z").build()));
+    }
+
+    @Test
+    void testInterceptorAppliesToEveryAccount() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        funPayAccountPool.addAccount("first", "first-key");
+        funPayAccountPool.addInterceptor(
+                chain -> {
+                    calls.incrementAndGet();
+                    return null;
+                });
+        funPayAccountPool.addAccount("second", "second-key");
+
+        funPayAccountPool.execute("first", GetOrder.builder().orderId("GFHMZY4Z").build());
+        funPayAccountPool.execute("second", GetOrder.builder().orderId("GFHMZY4Z").build());
+
+        assertEquals(2, calls.get());
+        assertEquals(0, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void testRateLimitIsPerAccount() throws Exception {
+        funPayAccountPool.addAccount("limited", "limited-key", 5, 1).addInterceptor(chain -> null);
+        funPayAccountPool.addAccount("unlimited", "unlimited-key").addInterceptor(chain -> null);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            funPayAccountPool.execute("unlimited", GetOrder.builder().orderId("GFHMZY4Z").build());
+        }
+        long unlimitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            funPayAccountPool.execute("limited", GetOrder.builder().orderId("GFHMZY4Z").build());
+        }
+        long limitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(unlimitedMillis < 200, "unlimited account took " + unlimitedMillis + "ms");
+        assertTrue(limitedMillis >= 350, "limited account took " + limitedMillis + "ms");
+    }
+
+    @Test
+    void testCommandsAnsweredByPoolInterceptorsTakeNoPermit() throws Exception {
+        funPayAccountPool.addAccount("limited", "limited-key", 1, 1);
+        // cache-like interceptor answering every command without proceeding
+        funPayAccountPool.addInterceptor(chain -> null);
+        funPayAccountPool.addAccount("later", "later-key", 1, 1);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            funPayAccountPool.execute("limited", GetOrder.builder().orderId("GFHMZY4Z").build());
+            funPayAccountPool.execute("later", GetOrder.builder().orderId("GFHMZY4Z").build());
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(millis < 500, "cached commands took " + millis + "ms");
+        assertEquals(0, mockWebServer.getRequestCount());
+    }
+
+    private static String readResource(String resourcePath) throws IOException {
+        try (InputStream is =
+                FunPayAccountPoolTest.class.getClassLoader().getResourceAsStream(resourcePath)) {
+            if (is == null) {
+                throw new FileNotFoundException("Resource not found: " + resourcePath);
+            }
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            byte[] data = new byte[4096];
+            int nRead;
+            while ((nRead = is.read(data, 0, data.length)) != -1) {
+                buffer.write(data, 0, nRead);
+            }
+            return new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
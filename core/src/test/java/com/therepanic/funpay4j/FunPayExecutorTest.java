@@ -18,6 +18,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayOutputStream;
@@ -25,7 +27,14 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
@@ -34,10 +43,13 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.therepanic.funpay4j.commands.Command;
 import com.therepanic.funpay4j.commands.game.GetPromoGames;
 import com.therepanic.funpay4j.commands.lot.GetLot;
 import com.therepanic.funpay4j.commands.offer.GetOffer;
+import com.therepanic.funpay4j.commands.order.GetOrder;
 import com.therepanic.funpay4j.commands.user.GetSellerReviews;
+import com.therepanic.funpay4j.commands.user.GetSellerReviewsHistory;
 import com.therepanic.funpay4j.commands.user.GetUser;
 import com.therepanic.funpay4j.objects.game.PromoGame;
 import com.therepanic.funpay4j.objects.lot.Lot;
@@ -45,6 +57,8 @@ import com.therepanic.funpay4j.objects.offer.Offer;
 import com.therepanic.funpay4j.objects.user.AdvancedSellerReview;
 import com.therepanic.funpay4j.objects.user.Seller;
 import com.therepanic.funpay4j.objects.user.SellerReview;
+import com.therepanic.funpay4j.stream.FunPaySubscriber;
+import com.therepanic.funpay4j.stream.FunPaySubscription;
 
 /**
  * @author therepanic
@@ -88,6 +102,59 @@ class FunPayExecutorTest {
         assertEquals(result.getGameId(), 41);
     }
 
+    @Test
+    void testInterceptorsWrapCommandsInOrder() throws Exception {
+        String htmlContent = readResource(GET_LOT_HTML_RESPONSE_PATH);
+
+        mockWebServer.enqueue(new MockResponse().setBody(htmlContent).setResponseCode(200));
+
+        List<String> calls = new ArrayList<>();
+        funPayExecutor.addInterceptor(
+                chain -> {
+                    calls.add("first " + chain.command().getClass().getSimpleName());
+                    return chain.proceed(chain.command());
+                });
+        funPayExecutor.addInterceptor(
+                chain -> {
+                    calls.add("second");
+                    return chain.proceed(chain.command());
+                });
+
+        Lot result = funPayExecutor.execute(GetLot.builder().lotId(149L).build());
+
+        assertNotNull(result);
+        assertEquals(Arrays.asList("first GetLot", "second"), calls);
+    }
+
+    @Test
+    void testInterceptorShortCircuitsCommand() throws Exception {
+        Lot cachedLot =
+                new Lot(
+                        149L,
+                        41L,
+                        "title",
+                        "description",
+                        Collections.emptyList(),
+                        Collections.emptyList());
+        funPayExecutor.addInterceptor(
+                chain ->
+                        chain.command() instanceof GetLot
+                                ? cachedLot
+                                : chain.proceed(chain.command()));
+
+        Command<Lot> command = GetLot.builder().lotId(149L).build();
+
+        assertSame(cachedLot, funPayExecutor.execute(command));
+        assertEquals(0, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void testExecuteUnsupportedCommand() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> funPayExecutor.execute(GetOrder.builder().orderId("GFHMZY4Z").build()));
+    }
+
     @Test
     void testGetPromoGames() throws Exception {
         String jsonContent = readResource(GET_PROMO_GAMES_JSON_RESPONSE_PATH);
@@ -161,6 +228,114 @@ class FunPayExecutorTest {
                         && !secondSellerReview.getSellerReplyText().isEmpty());
     }
 
+    @Test
+    void testGetSellerReviewsHistory() throws Exception {
+        String htmlContent = readResource(GET_SELLER_REVIEWS_HTML_RESPONSE_PATH);
+        for (int i = 0; i < 5; i++) {
+            mockWebServer.enqueue(new MockResponse().setBody(htmlContent).setResponseCode(200));
+        }
+
+        List<SellerReview> result =
+                funPayExecutor.execute(GetSellerReviewsHistory.builder().userId(2L).build());
+
+        assertEquals(10, result.size());
+        assertEquals(5, mockWebServer.getRequestCount());
+
+        // newest first, reviews without a date go last
+        for (int i = 1; i < result.size(); i++) {
+            Date previous = createdAt(result.get(i - 1));
+            Date current = createdAt(result.get(i));
+            if (previous == null) {
+                assertNull(current);
+            } else if (current != null) {
+                assertFalse(current.after(previous));
+            }
+        }
+    }
+
+    private static Date createdAt(SellerReview sellerReview) {
+        return sellerReview instanceof AdvancedSellerReview
+                ? ((AdvancedSellerReview) sellerReview).getCreatedAt()
+                : null;
+    }
+
+    @Test
+    void testPublishSellerReviews() throws Exception {
+        String htmlContent = readResource(GET_SELLER_REVIEWS_HTML_RESPONSE_PATH);
+
+        mockWebServer.enqueue(new MockResponse().setBody(htmlContent).setResponseCode(200));
+
+        List<SellerReview> result = new CopyOnWriteArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+
+        funPayExecutor
+                .publish(GetSellerReviews.builder().userId(2L).build())
+                .subscribe(
+                        new FunPaySubscriber<SellerReview>() {
+                            @Override
+                            public void onSubscribe(FunPaySubscription subscription) {
+                                subscription.request(Long.MAX_VALUE);
+                            }
+
+                            @Override
+                            public void onNext(SellerReview item) {
+                                result.add(item);
+                            }
+
+                            @Override
+                            public void onError(Throwable throwable) {}
+
+                            @Override
+                            public void onComplete() {
+                                completed.countDown();
+                            }
+                        });
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(2, result.size());
+        assertTrue(result.get(0) instanceof AdvancedSellerReview);
+    }
+
+    @Test
+    void testPublishSellerReviewsRespectsDemand() throws Exception {
+        String htmlContent = readResource(GET_SELLER_REVIEWS_HTML_RESPONSE_PATH);
+
+        mockWebServer.enqueue(new MockResponse().setBody(htmlContent).setResponseCode(200));
+
+        List<SellerReview> result = new CopyOnWriteArrayList<>();
+        CountDownLatch received = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(1);
+
+        funPayExecutor
+                .publish(GetSellerReviews.builder().userId(2L).build())
+                .subscribe(
+                        new FunPaySubscriber<SellerReview>() {
+                            @Override
+                            public void onSubscribe(FunPaySubscription subscription) {
+                                subscription.request(1);
+                            }
+
+                            @Override
+                            public void onNext(SellerReview item) {
+                                result.add(item);
+                                received.countDown();
+                            }
+
+                            @Override
+                            public void onError(Throwable throwable) {}
+
+                            @Override
+                            public void onComplete() {
+                                completed.countDown();
+                            }
+                        });
+
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        assertFalse(completed.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, result.size());
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
     private static String readResource(String resourcePath) throws IOException {
         try (InputStream is =
                 FunPayExecutorTest.class.getClassLoader().getResourceAsStream(resourcePath)) {
@@ -0,0 +1,97 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.therepanic.funpay4j.objects.transaction.ParsedTransaction;
+import com.therepanic.funpay4j.objects.transaction.ParsedTransactionStatus;
+import com.therepanic.funpay4j.objects.transaction.Transaction;
+import com.therepanic.funpay4j.objects.transaction.TransactionStatus;
+import com.therepanic.funpay4j.objects.transaction.TransactionType;
+
+/**
+ * @author therepanic
+ * @since 1.0.7
+ */
+class FunPayObjectMapperTest {
+    @Test
+    void testToTransaction() {
+        Date date = new Date();
+        Transaction transaction =
+                FunPayObjectMapper.toTransaction(
+                        new ParsedTransaction(
+                                1L, "title", -1.5, ParsedTransactionStatus.CANCELED, null, date));
+
+        assertEquals(1L, transaction.getId());
+        assertEquals("title", transaction.getTitle());
+        assertEquals(-1.5, transaction.getPrice());
+        assertEquals(TransactionStatus.CANCELED, transaction.getStatus());
+        assertNull(transaction.getPaymentNumber());
+        assertEquals(date, transaction.getDate());
+    }
+
+    @Test
+    void testEnumMappingCoversAllConstants() {
+        for (ParsedTransactionStatus status : ParsedTransactionStatus.values()) {
+            assertEquals(status.name(), FunPayObjectMapper.toTransactionStatus(status).name());
+        }
+        for (TransactionType type : TransactionType.values()) {
+            assertEquals(type.name(), FunPayObjectMapper.toParsedTransactionType(type).name());
+        }
+        assertNull(FunPayObjectMapper.toParsedTransactionType(null));
+    }
+
+    @Test
+    void testMapAllMatchesBuilderMapping() {
+        List<ParsedTransaction> parsedTransactions = new ArrayList<>();
+        Date date = new Date();
+        for (ParsedTransactionStatus status : ParsedTransactionStatus.values()) {
+            parsedTransactions.add(
+                    new ParsedTransaction(
+                            parsedTransactions.size(), "title", -1.5, status, "number", date));
+            parsedTransactions.add(
+                    new ParsedTransaction(
+                            parsedTransactions.size(), "title", 2.5, status, null, date));
+        }
+
+        List<Transaction> transactions =
+                FunPayObjectMapper.mapAll(parsedTransactions, FunPayObjectMapper::toTransaction);
+
+        assertEquals(parsedTransactions.size(), transactions.size());
+        for (int i = 0; i < parsedTransactions.size(); i++) {
+            assertEquals(toTransactionWithBuilder(parsedTransactions.get(i)), transactions.get(i));
+        }
+    }
+
+    /** Mapping as it was done before the mapper was introduced */
+    private static Transaction toTransactionWithBuilder(ParsedTransaction parsedTransaction) {
+        return Transaction.builder()
+                .id(parsedTransaction.getId())
+                .title(parsedTransaction.getTitle())
+                .status(TransactionStatus.valueOf(parsedTransaction.getStatus().name()))
+                .paymentNumber(parsedTransaction.getPaymentNumber())
+                .date(parsedTransaction.getDate())
+                .price(parsedTransaction.getPrice())
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.therepanic.funpay4j.objects.CsrfTokenAndPHPSESSID;
+
+/**
+ * @author therepanic
+ * @since 1.0.7
+ */
+class FunPaySessionTest {
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    @Test
+    void testProactiveRefreshDoesNotBlockCallers() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        FunPaySession session =
+                new FunPaySession(
+                        () -> {
+                            int load = loads.incrementAndGet();
+                            if (load > 1) {
+                                awaitRelease(release);
+                            }
+                            return new CsrfTokenAndPHPSESSID("csrf" + load, "session" + load);
+                        },
+                        Duration.ofHours(1),
+                        Duration.ofHours(1),
+                        refreshExecutor);
+
+        assertEquals("csrf1", session.get().getCsrfToken());
+
+        // the session is due for refresh, which blocks in the loader until released
+        assertEquals("csrf1", session.get().getCsrfToken());
+        assertEquals("csrf1", session.get().getCsrfToken());
+
+        release.countDown();
+        refreshExecutor.shutdown();
+        refreshExecutor.awaitTermination(5, TimeUnit.SECONDS);
+
+        assertEquals(2, loads.get());
+        assertEquals("csrf2", session.getCsrfToken());
+    }
+
+    private static void awaitRelease(CountDownLatch release) {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
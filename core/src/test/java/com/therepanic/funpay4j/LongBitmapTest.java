@@ -0,0 +1,54 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author therepanic
+ * @since 1.0.7
+ */
+class LongBitmapTest {
+    @Test
+    void testSparseAndDenseIds() {
+        LongBitmap bitmap = new LongBitmap();
+
+        for (long id = 33_000_000; id < 33_100_000; id++) {
+            assertTrue(bitmap.add(id));
+        }
+        assertTrue(bitmap.add(7));
+        assertTrue(bitmap.add(Long.MAX_VALUE));
+        assertFalse(bitmap.add(33_050_000));
+
+        assertEquals(100_002, bitmap.size());
+        assertTrue(bitmap.contains(33_000_000));
+        assertTrue(bitmap.contains(33_099_999));
+        assertTrue(bitmap.contains(Long.MAX_VALUE));
+        assertFalse(bitmap.contains(33_100_000));
+        assertFalse(bitmap.contains(8));
+
+        assertTrue(bitmap.remove(33_050_000));
+        assertTrue(bitmap.remove(7));
+        assertFalse(bitmap.remove(7));
+
+        assertEquals(100_000, bitmap.size());
+        assertFalse(bitmap.contains(33_050_000));
+        assertFalse(bitmap.contains(7));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.therepanic.funpay4j.commands.game.GetPromoGames;
+import com.therepanic.funpay4j.objects.game.PromoGame;
+import com.therepanic.funpay4j.objects.game.PromoGameCounter;
+
+/**
+ * @author therepanic
+ * @since 1.0.7
+ */
+class PromoGameIndexTest {
+    private static final PromoGame GENSHIN =
+            new PromoGame(
+                    1L,
+                    "Genshin Impact",
+                    Collections.singletonList(new PromoGameCounter(10L, "Аккаунты")));
+
+    private static final PromoGame GEN = new PromoGame(2L, "Gen", Collections.emptyList());
+
+    private static final PromoGame HONKAI =
+            new PromoGame(3L, "Honkai: Star Rail", Collections.emptyList());
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private final AtomicInteger crawlCalls = new AtomicInteger();
+
+    private FunPayExecutor funPayExecutor;
+
+    private PromoGameIndex promoGameIndex;
+
+    @BeforeEach
+    void setUp() {
+        this.funPayExecutor = new FunPayExecutor("http://localhost/");
+        this.promoGameIndex =
+                new PromoGameIndex(funPayExecutor, Duration.ofHours(1), nanoTime::get);
+        this.promoGameIndex.setSeedQueries(Arrays.asList("g", "h"));
+
+        funPayExecutor.addInterceptor(promoGameIndex);
+        funPayExecutor.addInterceptor(
+                chain -> {
+                    crawlCalls.incrementAndGet();
+                    String query = ((GetPromoGames) chain.command()).getQuery();
+                    return query.equals("g")
+                            ? Arrays.asList(GENSHIN, GEN)
+                            : Arrays.asList(HONKAI, GENSHIN);
+                });
+    }
+
+    @Test
+    void testSearchesLocally() throws Exception {
+        assertEquals(Arrays.asList(GEN, GENSHIN), promoGameIndex.search("gen", 10));
+        assertEquals(2, crawlCalls.get());
+        assertEquals(3, promoGameIndex.size());
+
+        assertEquals(Collections.singletonList(GENSHIN), promoGameIndex.search("shin imp", 10));
+        assertEquals(Collections.singletonList(GENSHIN), promoGameIndex.search("аккаунт", 10));
+        assertEquals(Collections.singletonList(HONKAI), promoGameIndex.search("star", 10));
+        assertEquals(
+                Collections.singletonList(HONKAI),
+                funPayExecutor.execute(GetPromoGames.builder().query("honkai").build()));
+        assertEquals(2, crawlCalls.get());
+    }
+
+    @Test
+    void testRebuildsStaleIndexInBackground() throws Exception {
+        promoGameIndex.refresh();
+        nanoTime.addAndGet(Duration.ofHours(1).toNanos());
+
+        List<PromoGame> games = promoGameIndex.search("gen", 1);
+
+        assertEquals(Collections.singletonList(GEN), games);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (crawlCalls.get() < 4 && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(4, crawlCalls.get());
+        promoGameIndex.close();
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author therepanic
+ * @since 1.0.7
+ */
+class RaiseSchedulerTest {
+    private AuthorizedFunPayExecutor funPayExecutor;
+
+    private RaiseScheduler raiseScheduler;
+
+    private MockWebServer mockWebServer;
+
+    @BeforeEach
+    void setUp() {
+        this.mockWebServer = new MockWebServer();
+        this.funPayExecutor =
+                new AuthorizedFunPayExecutor("example", this.mockWebServer.url("/").toString());
+        this.raiseScheduler = new RaiseScheduler(2, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        raiseScheduler.close();
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void testRaiseIsRescheduledAfterReportedWaitTime() throws Exception {
+        mockWebServer.enqueue(
+                new MockResponse()
+                        .setBody("{\"msg\": \"Подождите 1 секунду.\"}")
+                        .setResponseCode(200));
+        mockWebServer.enqueue(
+                new MockResponse()
+                        .setBody("{\"msg\": \"Предложения подняты\"}")
+                        .setResponseCode(200));
+
+        raiseScheduler.schedule(funPayExecutor, 41L, 149L);
+
+        RecordedRequest first = mockWebServer.takeRequest(5, TimeUnit.SECONDS);
+        long firstAt = System.nanoTime();
+        RecordedRequest second = mockWebServer.takeRequest(5, TimeUnit.SECONDS);
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - firstAt);
+
+        assertNotNull(first);
+        assertNotNull(second);
+        assertTrue(waitedMillis >= 900, "raised again after " + waitedMillis + "ms");
+
+        Instant after = Instant.now().plus(Duration.ofMinutes(59));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        Instant nextRaiseTime = raiseScheduler.getNextRaiseTime(funPayExecutor, 149L);
+        while ((nextRaiseTime == null || !nextRaiseTime.isAfter(after))
+                && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+            nextRaiseTime = raiseScheduler.getNextRaiseTime(funPayExecutor, 149L);
+        }
+
+        assertNotNull(nextRaiseTime);
+        assertTrue(nextRaiseTime.isAfter(Instant.now().plus(Duration.ofMinutes(59))));
+        assertNull(mockWebServer.takeRequest(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testRaiseAfterSuccessUsesLearnedCooldown() throws Exception {
+        raiseScheduler.close();
+        raiseScheduler = new RaiseScheduler(2, Duration.ofSeconds(1));
+        mockWebServer.enqueue(
+                new MockResponse()
+                        .setBody("{\"msg\": \"Предложения подняты\"}")
+                        .setResponseCode(200));
+        mockWebServer.enqueue(
+                new MockResponse()
+                        .setBody("{\"msg\": \"Подождите 1 секунду.\"}")
+                        .setResponseCode(200));
+        mockWebServer.enqueue(
+                new MockResponse()
+                        .setBody("{\"msg\": \"Предложения подняты\"}")
+                        .setResponseCode(200));
+
+        raiseScheduler.schedule(funPayExecutor, 41L, 149L);
+
+        assertNotNull(mockWebServer.takeRequest(5, TimeUnit.SECONDS));
+        assertNotNull(mockWebServer.takeRequest(5, TimeUnit.SECONDS));
+        assertNotNull(mockWebServer.takeRequest(5, TimeUnit.SECONDS));
+        Instant after = Instant.now().plus(Duration.ofMillis(1500));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        Instant nextRaiseTime = raiseScheduler.getNextRaiseTime(funPayExecutor, 149L);
+        while ((nextRaiseTime == null || !nextRaiseTime.isAfter(after))
+                && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+            nextRaiseTime = raiseScheduler.getNextRaiseTime(funPayExecutor, 149L);
+        }
+
+        // the cooldown is the retry delay plus the reported wait time, not the retry delay
+        assertNotNull(nextRaiseTime);
+        assertTrue(nextRaiseTime.isAfter(after), "next raise at " + nextRaiseTime);
+    }
+
+    @Test
+    void testInvalidGoldenKeyStopsRaising() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(403));
+
+        raiseScheduler.schedule(funPayExecutor, 41L, 149L);
+
+        assertNotNull(mockWebServer.takeRequest(5, TimeUnit.SECONDS));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (raiseScheduler.getNextRaiseTime(funPayExecutor, 149L) != null
+                && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+        }
+
+        assertNull(raiseScheduler.getNextRaiseTime(funPayExecutor, 149L));
+        assertFalse(raiseScheduler.cancel(funPayExecutor, 149L));
+    }
+
+    @Test
+    void testScheduleAfterCloseThrows() {
+        raiseScheduler.close();
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> raiseScheduler.schedule(funPayExecutor, 41L, 149L));
+        assertNull(raiseScheduler.getNextRaiseTime(funPayExecutor, 149L));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.therepanic.funpay4j.commands.lot.GetLot;
+import com.therepanic.funpay4j.commands.offer.EditOffer;
+import com.therepanic.funpay4j.commands.user.GetUser;
+import com.therepanic.funpay4j.objects.lot.Lot;
+
+/**
+ * @author therepanic
+ * @since 1.0.7
+ */
+class SharedReadTierTest {
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private final AtomicInteger publicCalls = new AtomicInteger();
+
+    private final AtomicInteger accountCalls = new AtomicInteger();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private volatile boolean blocking;
+
+    private SharedReadTier sharedReadTier;
+
+    @BeforeEach
+    void setUp() {
+        FunPayExecutor publicExecutor = new FunPayExecutor("http://localhost/");
+        this.sharedReadTier =
+                new SharedReadTier(
+                        publicExecutor, new CachingInterceptor(1024 * 1024, 1, nanoTime::get));
+        publicExecutor.addInterceptor(
+                chain -> {
+                    publicCalls.incrementAndGet();
+                    if (blocking) {
+                        awaitRelease();
+                    }
+                    long lotId = ((GetLot) chain.command()).getLotId();
+                    return new Lot(
+                            lotId,
+                            41L,
+                            "title",
+                            "description",
+                            Collections.emptyList(),
+                            Collections.emptyList());
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        sharedReadTier.close();
+    }
+
+    @Test
+    void testSharesPublicReadsBetweenExecutors() throws Exception {
+        AuthorizedFunPayExecutor first = attachAccount("first");
+        AuthorizedFunPayExecutor second = attachAccount("second");
+
+        Lot lot = first.execute(GetLot.builder().lotId(149L).build());
+
+        assertSame(lot, second.execute(GetLot.builder().lotId(149L).build()));
+        assertEquals(1, publicCalls.get());
+
+        first.execute(GetUser.builder().userId(1L).build());
+        second.execute(GetUser.builder().userId(1L).build());
+
+        assertEquals(2, accountCalls.get());
+        assertEquals(1, publicCalls.get());
+
+        first.execute(EditOffer.builder().lotId(149L).offerId(7L).build());
+        second.execute(GetLot.builder().lotId(149L).build());
+
+        assertEquals(2, publicCalls.get());
+    }
+
+    @Test
+    void testDeduplicatesConcurrentReads() throws Exception {
+        sharedReadTier.getCachingInterceptor().setTtl(GetLot.class, Duration.ZERO);
+        this.blocking = true;
+
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            AuthorizedFunPayExecutor executor = attachAccount("account" + i);
+            Thread reader =
+                    new Thread(
+                            () -> {
+                                try {
+                                    executor.execute(GetLot.builder().lotId(149L).build());
+                                } catch (Exception e) {
+                                    throw new IllegalStateException(e);
+                                }
+                            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!allWaiting(readers) && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertEquals(1, publicCalls.get());
+    }
+
+    private AuthorizedFunPayExecutor attachAccount(String goldenKey) {
+        AuthorizedFunPayExecutor executor =
+                new AuthorizedFunPayExecutor(goldenKey, "http://localhost/");
+
+        sharedReadTier.attach(executor);
+        executor.addInterceptor(
+                chain -> {
+                    accountCalls.incrementAndGet();
+                    return null;
+                });
+
+        return executor;
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean allWaiting(List<Thread> threads) {
+        for (Thread thread : threads) {
+            if (thread.getState() != Thread.State.WAITING) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author therepanic
+ * @since 1.0.7
+ */
+class TimeSeriesStoreTest {
+    private static final long START = 1699999800000L;
+
+    private static final long MINUTE = Duration.ofMinutes(1).toMillis();
+
+    @Test
+    void testStoresCompressedPointsBetweenRestarts(@TempDir Path tempDir) throws Exception {
+        Path path = tempDir.resolve("history");
+        List<DataPoint> expected = new ArrayList<>();
+
+        try (TimeSeriesStore store = new TimeSeriesStore(path)) {
+            for (int i = 0; i < 5000; i++) {
+                DataPoint point =
+                        new DataPoint(START + i * 5 * MINUTE + i % 3, 100 + i / 100 * 0.5);
+                store.append(TimeSeriesStore.offerPriceSeries(149L), point.getTimestamp(), 149);
+                store.append("price", point.getTimestamp(), point.getValue());
+                expected.add(point);
+            }
+        }
+
+        // far less than the 16 bytes of a raw point
+        assertTrue(Files.size(path) < 5000 * 2 * 4);
+
+        try (TimeSeriesStore store = new TimeSeriesStore(path)) {
+            assertEquals(expected, store.query("price", Long.MIN_VALUE, Long.MAX_VALUE));
+            assertEquals(
+                    expected.subList(1000, 1101),
+                    store.query(
+                            "price",
+                            expected.get(1000).getTimestamp(),
+                            expected.get(1100).getTimestamp()));
+            assertEquals(5000, store.query("offer:149", 0, Long.MAX_VALUE).size());
+
+            store.append("price", START + 5000 * 5 * MINUTE, 1);
+            assertEquals(5001, store.query("price", 0, Long.MAX_VALUE).size());
+        }
+    }
+
+    @Test
+    void testDownsamplesIntervals(@TempDir Path tempDir) throws Exception {
+        try (TimeSeriesStore store = new TimeSeriesStore(tempDir.resolve("history"))) {
+            store.append("lot:149", START, 10);
+            store.append("lot:149", START + MINUTE, 30);
+            store.append("lot:149", START + 2 * MINUTE, 20);
+            store.append("lot:149", START + 10 * MINUTE, 40);
+
+            assertEquals(
+                    Arrays.asList(new DataPoint(START, 20), new DataPoint(START + 10 * MINUTE, 40)),
+                    store.downsample(
+                            "lot:149", 0, Long.MAX_VALUE, Duration.ofMinutes(5), Aggregation.AVG));
+            assertEquals(
+                    Arrays.asList(new DataPoint(START, 30), new DataPoint(START + 10 * MINUTE, 40)),
+                    store.downsample(
+                            "lot:149", 0, Long.MAX_VALUE, Duration.ofMinutes(5), Aggregation.MAX));
+            assertThrows(IllegalArgumentException.class, () -> store.append("lot:149", START, 1));
+        }
+    }
+
+    @Test
+    void testFlushDoesNotLeaveSmallChunks(@TempDir Path tempDir) throws Exception {
+        Path flushed = tempDir.resolve("flushed");
+        Path unflushed = tempDir.resolve("unflushed");
+
+        try (TimeSeriesStore flushedStore = new TimeSeriesStore(flushed);
+                TimeSeriesStore unflushedStore = new TimeSeriesStore(unflushed)) {
+            for (int i = 0; i < 1024; i++) {
+                flushedStore.append("price", START + i * MINUTE, 100 + i % 5);
+                flushedStore.flush();
+                unflushedStore.append("price", START + i * MINUTE, 100 + i % 5);
+            }
+        }
+
+        // superseded segments are dropped when the file is opened
+        try (TimeSeriesStore store = new TimeSeriesStore(flushed)) {
+            assertEquals(1024, store.query("price", Long.MIN_VALUE, Long.MAX_VALUE).size());
+        }
+        assertEquals(Files.size(unflushed), Files.size(flushed));
+    }
+
+    @Test
+    void testWritesPendingPointsBeyondMemoryLimit(@TempDir Path tempDir) throws Exception {
+        Path path = tempDir.resolve("history");
+        List<DataPoint> expected = new ArrayList<>();
+
+        try (TimeSeriesStore store = new TimeSeriesStore(path, 1)) {
+            for (int i = 0; i < 10; i++) {
+                store.append("lot:149", START + i * MINUTE, i);
+                store.append("lot:150", START + i * MINUTE, -i);
+                expected.add(new DataPoint(START + i * MINUTE, i));
+            }
+
+            assertEquals(expected, store.query("lot:149", Long.MIN_VALUE, Long.MAX_VALUE));
+            assertEquals(10, store.query("lot:150", Long.MIN_VALUE, Long.MAX_VALUE).size());
+        }
+
+        try (TimeSeriesStore store = new TimeSeriesStore(path)) {
+            assertEquals(expected, store.query("lot:149", Long.MIN_VALUE, Long.MAX_VALUE));
+        }
+    }
+
+    @Test
+    void testManySeriesTakeFewBytesPerPoint(@TempDir Path tempDir) throws Exception {
+        Path path = tempDir.resolve("history");
+        int seriesCount = 3000;
+        int rounds = 100;
+
+        // every round appends one point to every series, as record does for a catalog of lots
+        try (TimeSeriesStore store = new TimeSeriesStore(path)) {
+            for (int round = 0; round < rounds; round++) {
+                for (int offerId = 0; offerId < seriesCount; offerId++) {
+                    store.append(
+                            TimeSeriesStore.offerPriceSeries(offerId),
+                            START + round * MINUTE,
+                            100 + offerId % 7);
+                }
+            }
+        }
+
+        assertTrue(Files.size(path) < seriesCount * rounds * 2L);
+
+        try (TimeSeriesStore store = new TimeSeriesStore(path)) {
+            assertEquals(
+                    rounds,
+                    store.query(TimeSeriesStore.offerPriceSeries(149L), 0, Long.MAX_VALUE).size());
+        }
+    }
+
+    @Test
+    void testRejectsTooLongSeriesKey(@TempDir Path tempDir) throws Exception {
+        char[] key = new char[65536];
+        Arrays.fill(key, 'a');
+
+        try (TimeSeriesStore store = new TimeSeriesStore(tempDir.resolve("history"))) {
+            assertThrows(
+                    IllegalArgumentException.class,
+                    () -> store.append(new String(key), START, 1));
+            assertTrue(store.getSeriesKeys().isEmpty());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.image;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author therepanic
+ * @since 1.0.7
+ */
+class FileOfferImageCacheTest {
+    @TempDir private Path tempDir;
+
+    @Test
+    void testEntriesSurviveReload() {
+        Path file = tempDir.resolve("images");
+        String first = OfferImageCache.contentHash(new byte[] {1});
+        String second = OfferImageCache.contentHash(new byte[] {2});
+
+        FileOfferImageCache cache = new FileOfferImageCache(file);
+        cache.put(first, 1L);
+        cache.put(second, 2L);
+        cache.put(first, 3L);
+        cache.invalidate(second);
+
+        FileOfferImageCache reloaded = new FileOfferImageCache(file);
+
+        assertEquals(Long.valueOf(3L), reloaded.get(first));
+        assertNull(reloaded.get(second));
+        assertEquals(1, reloaded.size());
+    }
+
+    @Test
+    void testLoadCompactsFile() throws Exception {
+        Path file = tempDir.resolve("images");
+        String hash = OfferImageCache.contentHash(new byte[] {1});
+
+        FileOfferImageCache cache = new FileOfferImageCache(file);
+        for (long imageId = 0; imageId < 10; imageId++) {
+            cache.put(hash, imageId);
+        }
+
+        new FileOfferImageCache(file);
+
+        assertEquals(1, Files.readAllLines(file, StandardCharsets.UTF_8).size());
+    }
+
+    @Test
+    void testStaleEntriesAreNotReturned() throws Exception {
+        Path file = tempDir.resolve("images");
+        String hash = OfferImageCache.contentHash(new byte[] {1});
+
+        FileOfferImageCache cache = new FileOfferImageCache(file, Duration.ofMillis(50));
+        cache.put(hash, 1L);
+
+        Thread.sleep(100);
+
+        assertNull(cache.get(hash));
+        assertEquals(0, new FileOfferImageCache(file).size());
+    }
+
+    @Test
+    void testContentHash() {
+        assertEquals(
+                "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+                OfferImageCache.contentHash(new byte[0]));
+    }
+}
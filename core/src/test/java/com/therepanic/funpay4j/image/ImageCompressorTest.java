@@ -0,0 +1,96 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.image;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.therepanic.funpay4j.request.ImageSource;
+
+/**
+ * @author therepanic
+ * @since 1.0.7
+ */
+class ImageCompressorTest {
+    private ImageCompressor imageCompressor;
+
+    @AfterEach
+    void tearDown() {
+        if (imageCompressor != null) {
+            imageCompressor.close();
+        }
+    }
+
+    @Test
+    void testCompressScalesDownToMaxDimensions() throws Exception {
+        imageCompressor = new ImageCompressor(400, 400, 0.8f);
+        byte[] png = png(1600, 800);
+
+        byte[] compressed = imageCompressor.compressAsync(ImageSource.of(png)).get().toByteArray();
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(compressed));
+
+        assertNotNull(image);
+        assertEquals(400, image.getWidth());
+        assertEquals(200, image.getHeight());
+        assertTrue(compressed.length < png.length);
+    }
+
+    @Test
+    void testCompressFitsTargetSize() throws Exception {
+        imageCompressor = new ImageCompressor(1600, 1600, 1.0f, 20_000, 2);
+
+        byte[] compressed =
+                imageCompressor.compressAsync(ImageSource.of(png(800, 800))).get().toByteArray();
+
+        assertTrue(compressed.length <= 20_000, "compressed to " + compressed.length + " bytes");
+    }
+
+    @Test
+    void testCompressKeepsUndecodableImage() throws Exception {
+        imageCompressor = new ImageCompressor(400, 400, 0.8f);
+        byte[] notImage = new byte[] {1, 2, 3};
+
+        byte[] result = imageCompressor.compressAsync(ImageSource.of(notImage)).get().toByteArray();
+
+        assertArrayEquals(notImage, result);
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt(0xFFFFFF));
+            }
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", outputStream);
+        return outputStream.toByteArray();
+    }
+}
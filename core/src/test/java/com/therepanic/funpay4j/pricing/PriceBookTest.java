@@ -0,0 +1,91 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.pricing;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import com.therepanic.funpay4j.objects.offer.PreviewOffer;
+import com.therepanic.funpay4j.objects.user.PreviewSeller;
+
+/**
+ * @author therepanic
+ * @since 1.0.7
+ */
+class PriceBookTest {
+    @Test
+    void testAnswersRankAndPercentileQueries() {
+        PriceBook priceBook =
+                PriceBook.of(
+                        Arrays.asList(
+                                offer(4L, 40, true),
+                                offer(1L, 10, false),
+                                offer(3L, 30, true),
+                                offer(2L, 20, true)));
+
+        assertEquals(4, priceBook.size());
+        assertArrayEquals(new long[] {1L, 2L}, priceBook.getCheapestOfferIds(2));
+        assertEquals(2, priceBook.getRank(3L));
+        assertEquals(-1, priceBook.getRank(5L));
+        assertEquals(2, priceBook.countCheaperThan(25));
+        assertEquals(1, priceBook.countCheaperThan(20));
+        assertEquals(25, priceBook.getMedian());
+        assertEquals(20, priceBook.getPercentile(0.5));
+        assertEquals(40, priceBook.getPercentile(1));
+        assertFalse(priceBook.isSellerOnline(0));
+        assertTrue(priceBook.isSellerOnline(1));
+        assertTrue(Double.isNaN(PriceBook.of(Collections.emptyList()).getMedian()));
+    }
+
+    @Test
+    void testUpdatesFromNewSnapshot() {
+        PriceBook priceBook = PriceBook.of(Arrays.asList(offer(1L, 10, true), offer(2L, 20, true)));
+
+        assertFalse(priceBook.update(Arrays.asList(offer(2L, 20, true), offer(1L, 10, true))));
+        assertTrue(
+                priceBook.update(
+                        Arrays.asList(
+                                offer(2L, 5, true), offer(3L, 15, true), offer(4L, 15, true))));
+
+        assertArrayEquals(new long[] {2L, 3L, 4L}, priceBook.getCheapestOfferIds(10));
+        assertEquals(-1, priceBook.getRank(1L));
+
+        priceBook.put(offer(3L, 25, false));
+        assertTrue(priceBook.remove(2L));
+        assertFalse(priceBook.remove(2L));
+
+        assertArrayEquals(new long[] {4L, 3L}, priceBook.getCheapestOfferIds(10));
+        assertEquals(1, priceBook.getRank(3L));
+        assertEquals(25, priceBook.getPrice(1));
+    }
+
+    private static PreviewOffer offer(long offerId, double price, boolean online) {
+        PreviewSeller seller =
+                PreviewSeller.builder()
+                        .userId(offerId * 10)
+                        .username("seller")
+                        .isOnline(online)
+                        .reviewCount(0)
+                        .build();
+        return new PreviewOffer(offerId, "offer " + offerId, price, false, false, seller);
+    }
+}
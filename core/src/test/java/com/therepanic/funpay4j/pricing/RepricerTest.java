@@ -0,0 +1,171 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.pricing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.therepanic.funpay4j.AuthorizedFunPayExecutor;
+import com.therepanic.funpay4j.FunPayExecutor;
+import com.therepanic.funpay4j.commands.lot.GetLot;
+import com.therepanic.funpay4j.commands.offer.EditOffer;
+import com.therepanic.funpay4j.commands.offer.RepriceOffer;
+import com.therepanic.funpay4j.objects.lot.Lot;
+import com.therepanic.funpay4j.objects.offer.PreviewOffer;
+import com.therepanic.funpay4j.objects.user.PreviewSeller;
+
+/**
+ * @author therepanic
+ * @since 1.0.7
+ */
+class RepricerTest {
+    private final Map<Long, List<PreviewOffer>> lots = new ConcurrentHashMap<>();
+
+    private final Map<Long, Double> savedPrices = new ConcurrentHashMap<>();
+
+    private final AtomicInteger reads = new AtomicInteger();
+
+    private AuthorizedFunPayExecutor account;
+
+    private Repricer repricer;
+
+    @BeforeEach
+    void setUp() {
+        FunPayExecutor readExecutor = new FunPayExecutor("http://localhost/");
+        readExecutor.addInterceptor(
+                chain -> {
+                    reads.incrementAndGet();
+                    long lotId = ((GetLot) chain.command()).getLotId();
+                    return new Lot(
+                            lotId,
+                            41L,
+                            "title",
+                            "description",
+                            Collections.emptyList(),
+                            lots.get(lotId));
+                });
+
+        this.account = new AuthorizedFunPayExecutor("example", "http://localhost/");
+        this.account.addInterceptor(
+                chain -> {
+                    RepriceOffer repriceOffer = (RepriceOffer) chain.command();
+                    savedPrices.put(
+                            repriceOffer.getTemplate().getRequest().getOfferId(),
+                            repriceOffer.getPrice());
+                    return null;
+                });
+
+        this.repricer = new Repricer(readExecutor, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repricer.close();
+    }
+
+    @Test
+    void testUndercutsCompetitorsWithinFloor() {
+        lots.put(
+                149L,
+                Arrays.asList(
+                        offer(2L, 90, 7L),
+                        offer(3L, 100.5, 8L),
+                        offer(1L, 120, 7L),
+                        offer(4L, 150, 9L)));
+        lots.put(150L, Arrays.asList(offer(6L, 50, 8L), offer(5L, 70, 7L)));
+
+        repricer.addRule(account, rule(149L, 1L, 120, 80, null));
+        repricer.addRule(account, rule(149L, 2L, 90, 80, null));
+        repricer.addRule(account, rule(150L, 5L, 70, 60, null));
+
+        assertEquals(3, repricer.runCycle());
+        assertEquals(2, reads.get());
+        assertEquals(99.5, savedPrices.get(1L));
+        assertEquals(99.5, savedPrices.get(2L));
+        assertEquals(60.0, savedPrices.get(5L));
+
+        lots.put(
+                149L,
+                Arrays.asList(
+                        offer(2L, 99.5, 7L),
+                        offer(1L, 99.5, 7L),
+                        offer(3L, 100.5, 8L),
+                        offer(4L, 150, 9L)));
+        lots.put(150L, Arrays.asList(offer(6L, 50, 8L), offer(5L, 60, 7L)));
+
+        assertEquals(0, repricer.runCycle());
+        assertEquals(4, reads.get());
+    }
+
+    @Test
+    void testUsesCeilingWithoutCompetitors() {
+        lots.put(149L, Collections.singletonList(offer(1L, 120, 7L)));
+
+        repricer.addRule(account, rule(149L, 1L, 120, 80, 200.0));
+
+        assertEquals(1, repricer.runCycle());
+        assertEquals(200.0, savedPrices.get(1L));
+    }
+
+    @Test
+    void testComparesListedPricesWithCommission() {
+        // the offer is saved for 100 and listed for 110 with the commission
+        lots.put(149L, Arrays.asList(offer(3L, 105.6, 8L), offer(1L, 110, 7L)));
+
+        repricer.addRule(account, rule(149L, 1L, 100, 50, null));
+
+        assertEquals(1, repricer.runCycle());
+        assertEquals(95.09, savedPrices.get(1L));
+
+        lots.put(149L, Arrays.asList(offer(1L, 104.599, 7L), offer(3L, 105.6, 8L)));
+
+        assertEquals(0, repricer.runCycle());
+    }
+
+    private static RepricingRule rule(
+            long lotId, long offerId, double price, double floorPrice, Double ceilingPrice) {
+        EditOffer offer =
+                EditOffer.builder()
+                        .lotId(lotId)
+                        .offerId(offerId)
+                        .shortDescriptionEn("offer")
+                        .isActive(true)
+                        .price(price)
+                        .amount(1)
+                        .build();
+        return new RepricingRule(offer, 1, floorPrice, ceilingPrice);
+    }
+
+    private static PreviewOffer offer(long offerId, double price, long sellerId) {
+        PreviewSeller seller =
+                PreviewSeller.builder()
+                        .userId(sellerId)
+                        .username("seller" + sellerId)
+                        .isOnline(true)
+                        .reviewCount(0)
+                        .build();
+        return new PreviewOffer(offerId, "offer " + offerId, price, false, false, seller);
+    }
+}
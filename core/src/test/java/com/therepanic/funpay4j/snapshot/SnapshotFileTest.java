@@ -0,0 +1,129 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.therepanic.funpay4j.objects.lot.Lot;
+import com.therepanic.funpay4j.objects.lot.LotCounter;
+import com.therepanic.funpay4j.objects.offer.Offer;
+import com.therepanic.funpay4j.objects.offer.PreviewOffer;
+import com.therepanic.funpay4j.objects.transaction.Transaction;
+import com.therepanic.funpay4j.objects.transaction.TransactionStatus;
+import com.therepanic.funpay4j.objects.user.AdvancedSellerReview;
+import com.therepanic.funpay4j.objects.user.PreviewSeller;
+import com.therepanic.funpay4j.objects.user.Seller;
+import com.therepanic.funpay4j.objects.user.SellerReview;
+import com.therepanic.funpay4j.objects.user.User;
+
+/**
+ * @author therepanic
+ * @since 1.0.7
+ */
+class SnapshotFileTest {
+    @TempDir private Path tempDir;
+
+    @Test
+    void testEntriesSurviveRoundTrip() throws Exception {
+        PreviewSeller previewSeller = new PreviewSeller(12);
+        previewSeller.setUserId(1879149L);
+        previewSeller.setUsername("seller");
+        previewSeller.setOnline(true);
+
+        PreviewOffer previewOffer =
+                new PreviewOffer(33036049L, "Аккаунт", 149.5, true, false, previewSeller);
+        Lot lot =
+                new Lot(
+                        149L,
+                        41L,
+                        "title",
+                        null,
+                        Collections.singletonList(new LotCounter(149L, "param", 3)),
+                        Collections.singletonList(previewOffer));
+        Offer offer =
+                new Offer(
+                        33036049L,
+                        "short",
+                        "detailed",
+                        Collections.singletonMap("Сервер", "EU"),
+                        149.5,
+                        Collections.emptyList(),
+                        false,
+                        null);
+
+        AdvancedSellerReview review =
+                new AdvancedSellerReview(5L, "buyer", null, "GFHMZY4Z", new Date(1000));
+        review.setGameTitle("game");
+        review.setStars(5);
+        Seller seller =
+                new Seller(
+                        4.9,
+                        12,
+                        Collections.singletonList(previewOffer),
+                        Arrays.asList(review, new SellerReview()));
+        seller.setId(1879149L);
+        seller.setUsername("seller");
+        seller.setBadges(Collections.singletonList("badge"));
+        seller.setRegisteredAt(new Date(2000));
+
+        User user =
+                new User(7L, "user", null, false, Collections.emptyList(), null, new Date(3000));
+        Transaction transaction =
+                new Transaction(
+                        9L, "title", -10, TransactionStatus.COMPLETED, null, new Date(4000));
+
+        List<SnapshotEntry> entries =
+                Arrays.asList(
+                        new SnapshotEntry("lot:149", 1L, lot),
+                        new SnapshotEntry("offer:33036049", 2L, offer),
+                        new SnapshotEntry("user:1879149", 3L, seller),
+                        new SnapshotEntry("user:7", 4L, user),
+                        new SnapshotEntry("transaction:9", 5L, transaction));
+
+        SnapshotFile snapshotFile = new SnapshotFile(tempDir.resolve("cache/snapshot"));
+        snapshotFile.write(entries);
+
+        assertEquals(entries, new SnapshotFile(snapshotFile.getPath()).read());
+    }
+
+    @Test
+    void testMissingAndCorruptedFile() throws Exception {
+        Path path = tempDir.resolve("snapshot");
+
+        assertTrue(new SnapshotFile(path).read().isEmpty());
+
+        Files.write(path, new byte[] {1, 2, 3});
+
+        assertThrows(IOException.class, () -> new SnapshotFile(path).read());
+
+        // valid header with a huge entry count
+        Files.write(path, new byte[] {0x46, 0x50, 0x53, 0x31, 1, 0x7F, -1, -1, -1});
+
+        assertThrows(IOException.class, () -> new SnapshotFile(path).read());
+    }
+}
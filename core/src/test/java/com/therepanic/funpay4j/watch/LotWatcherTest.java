@@ -0,0 +1,132 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.therepanic.funpay4j.watch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.therepanic.funpay4j.FunPayExecutor;
+import com.therepanic.funpay4j.objects.lot.Lot;
+import com.therepanic.funpay4j.objects.offer.PreviewOffer;
+import com.therepanic.funpay4j.objects.user.PreviewSeller;
+
+/**
+ * @author therepanic
+ * @since 1.0.7
+ */
+class LotWatcherTest {
+    private static final Duration MIN_INTERVAL = Duration.ofMillis(10);
+
+    private final AtomicInteger polls = new AtomicInteger();
+
+    private final BlockingQueue<LotEvent> events = new LinkedBlockingQueue<>();
+
+    private List<List<PreviewOffer>> snapshots;
+
+    private LotWatcher lotWatcher;
+
+    @BeforeEach
+    void setUp() {
+        FunPayExecutor funPayExecutor = new FunPayExecutor("http://localhost/");
+        funPayExecutor.addInterceptor(
+                chain -> {
+                    int poll = polls.getAndIncrement();
+                    List<PreviewOffer> offers = snapshots.get(Math.min(poll, snapshots.size() - 1));
+                    return new Lot(
+                            149L,
+                            41L,
+                            "title",
+                            "description",
+                            Collections.emptyList(),
+                            offers);
+                });
+
+        this.lotWatcher = new LotWatcher(funPayExecutor, 1, MIN_INTERVAL, Duration.ofSeconds(1));
+        this.lotWatcher.addListener(events::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lotWatcher.close();
+    }
+
+    @Test
+    void testReportsOfferChanges() throws Exception {
+        PreviewOffer first = offer(1L, 100, 7L, false);
+        PreviewOffer second = offer(2L, 200, 8L, true);
+        PreviewOffer third = offer(3L, 300, 9L, true);
+        this.snapshots =
+                Arrays.asList(
+                        Arrays.asList(first, second),
+                        Arrays.asList(offer(1L, 90, 7L, true), third));
+
+        lotWatcher.watch(149L);
+
+        PriceChanged priceChanged = (PriceChanged) events.poll(5, TimeUnit.SECONDS);
+        SellerWentOnline sellerWentOnline = (SellerWentOnline) events.poll(5, TimeUnit.SECONDS);
+        OfferAdded offerAdded = (OfferAdded) events.poll(5, TimeUnit.SECONDS);
+        OfferRemoved offerRemoved = (OfferRemoved) events.poll(5, TimeUnit.SECONDS);
+
+        assertEquals(100, priceChanged.getPreviousPrice());
+        assertEquals(90, priceChanged.getOffer().getPrice());
+        assertEquals(7L, sellerWentOnline.getSeller().getUserId());
+        assertEquals(third, offerAdded.getOffer());
+        assertEquals(second, offerRemoved.getOffer());
+        assertEquals(149L, offerRemoved.getLotId());
+    }
+
+    @Test
+    void testQuietLotIsPolledLessOften() throws Exception {
+        this.snapshots =
+                Collections.singletonList(Collections.singletonList(offer(1L, 100, 7L, true)));
+
+        lotWatcher.watch(149L);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (polls.get() < 5 && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(lotWatcher.getInterval(149L).compareTo(MIN_INTERVAL) > 0);
+        assertTrue(events.isEmpty());
+        assertTrue(lotWatcher.unwatch(149L));
+        assertNull(lotWatcher.getInterval(149L));
+    }
+
+    private static PreviewOffer offer(long offerId, double price, long sellerId, boolean online) {
+        PreviewSeller seller =
+                PreviewSeller.builder()
+                        .userId(sellerId)
+                        .username("seller" + sellerId)
+                        .isOnline(online)
+                        .reviewCount(0)
+                        .build();
+        return new PreviewOffer(offerId, "offer " + offerId, price, false, false, seller);
+    }
+}